@@ -0,0 +1,94 @@
+package guzev.petproj.benchmarks;
+
+import guzev.petproj.bl.aspects.ExceptionLoggingAspect;
+import guzev.petproj.bl.services.impl.ArticleServiceImpl;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.pl.controllers.ArticleController;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h3>Spring AOP overhead on {@link ArticleController#readById(String)}.</h3>
+ * The same controller over an in-memory repository is called directly, through a proxy with views aspect
+ * and through a proxy with all aspects that match it, as in the application.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleControllerBenchmark {
+
+    private static final int ARTICLES = 1024;
+
+    private InMemoryStubs.Views views;
+
+    private String[] ids;
+
+    private int next;
+
+    private ArticleController controller;
+
+    private ArticleController viewsProxy;
+
+    private ArticleController proxy;
+
+    @Setup
+    public void setup() {
+        views = new InMemoryStubs.Views(1000, 65536);
+
+        final Publisher publisher = InMemoryStubs.publisher("test-publisher");
+        final Map<String, Article> articles = new HashMap<>();
+        ids = new String[ARTICLES];
+        for (int i = 0; i < ARTICLES; i++) {
+            ids[i] = new ObjectId().toHexString();
+            articles.put(ids[i], InMemoryStubs.article(ids[i], publisher));
+        }
+
+        controller = new ArticleController(new ArticleServiceImpl(
+                InMemoryStubs.articleRepository(articles::get), null, null, null, null));
+        viewsProxy = proxy(views.aspect);
+        proxy = proxy(views.aspect, new ExceptionLoggingAspect());
+    }
+
+    @TearDown
+    public void cleanup() {
+        views.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<Article> direct() {
+        return controller.readById(nextId());
+    }
+
+    @Benchmark
+    public ResponseEntity<Article> viewsAspect() {
+        return viewsProxy.readById(nextId());
+    }
+
+    @Benchmark
+    public ResponseEntity<Article> allAspects() {
+        return proxy.readById(nextId());
+    }
+
+    private String nextId() {
+        return ids[next++ & (ARTICLES - 1)];
+    }
+
+    private ArticleController proxy(Object... aspects) {
+        final AspectJProxyFactory proxyFactory = new AspectJProxyFactory(controller);
+        proxyFactory.setProxyTargetClass(true);
+        for (Object aspect : aspects)
+            proxyFactory.addAspect(aspect);
+
+        return proxyFactory.getProxy();
+    }
+
+}
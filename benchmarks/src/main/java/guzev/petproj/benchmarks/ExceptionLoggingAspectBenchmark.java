@@ -0,0 +1,69 @@
+package guzev.petproj.benchmarks;
+
+import guzev.petproj.bl.aspects.ExceptionLoggingAspect;
+import guzev.petproj.bl.services.impl.ArticleServiceImpl;
+import guzev.petproj.pl.controllers.ArticleController;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h3>Error message building of {@link ExceptionLoggingAspect}.</h3>
+ * Proxied controller rethrows a preallocated exception of the repository, so exception creation is not measured.
+ * Excluded exception returns before the message is built, logged one builds it and is dropped by the logger
+ * (see logback.xml), so the difference between them is the cost of message building.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionLoggingAspectBenchmark {
+
+    private static final String ID = "64a0c3f2e4b0a1b2c3d4e5f6";
+
+    private ArticleController excludedFailure;
+
+    private ArticleController loggedFailure;
+
+    @Setup
+    public void setup() {
+        excludedFailure = proxy(new NoSuchElementException());
+        loggedFailure = proxy(new DataAccessResourceFailureException("Timed out while waiting for a server"));
+    }
+
+    @Benchmark
+    public Object excludedException() {
+        return readById(excludedFailure);
+    }
+
+    @Benchmark
+    public Object loggedException() {
+        return readById(loggedFailure);
+    }
+
+    private static Object readById(ArticleController controller) {
+        try {
+            return controller.readById(ID);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static ArticleController proxy(RuntimeException failure) {
+        final ArticleController controller = new ArticleController(new ArticleServiceImpl(
+                InMemoryStubs.articleRepository(id -> {
+                    throw failure;
+                }), null, null, null, null));
+
+        final AspectJProxyFactory proxyFactory = new AspectJProxyFactory(controller);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ExceptionLoggingAspect());
+
+        return proxyFactory.getProxy();
+    }
+
+}
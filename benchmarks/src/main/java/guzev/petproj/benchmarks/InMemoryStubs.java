@@ -0,0 +1,115 @@
+package guzev.petproj.benchmarks;
+
+import guzev.petproj.bl.aspects.statistical.ViewsAspect;
+import guzev.petproj.bl.stats.StatsUpdater;
+import guzev.petproj.bl.stats.ViewsJournal;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.repositories.ArticleRepository;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * <h3>Components of the application wired without Spring context and database.</h3>
+ * Writes to db are dropped, reads are served from memory, so benchmarks run offline.*/
+final class InMemoryStubs {
+
+    private InMemoryStubs() {}
+
+    static Publisher publisher(String name) {
+        return new Publisher(name, "https://" + name + ".com", "test-redactor", "+10000000000", "test-address");
+    }
+
+    static Article article(String id, Publisher publisher) {
+        final Article article = new Article("Article " + id, "Content of article " + id + ". ".repeat(20));
+        setField(article, "id", id);
+        article.setPublisher(publisher);
+        return article;
+    }
+
+    /**
+     * @param articles function that returns article by id, <b>null</b> if there is no such article.
+     * @return repository that only reads articles by id, other methods are not supported.
+     */
+    static ArticleRepository articleRepository(Function<String, Article> articles) {
+        return (ArticleRepository) Proxy.newProxyInstance(ArticleRepository.class.getClassLoader(),
+                new Class<?>[]{ArticleRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(articles.apply((String) args[0]));
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryArticleRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static void setField(Object target, String name, Object value) {
+        final Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    /**
+     * {@link ViewsAspect} with a real journal in a temporary directory, flushes run on a scheduler thread
+     * and are written nowhere.*/
+    static final class Views implements AutoCloseable {
+
+        final ViewsAspect aspect;
+
+        private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+        private final ViewsJournal journal = new ViewsJournal();
+
+        private final Path directory;
+
+        Views(long flushThreshold, int journalCapacity) {
+            try {
+                directory = Files.createTempDirectory("views-benchmark");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            setField(journal, "path", directory.resolve("views.journal"));
+            setField(journal, "capacity", journalCapacity);
+            journal.open();
+
+            scheduler.setThreadNamePrefix("views-flush-");
+            scheduler.initialize();
+
+            aspect = new ViewsAspect(new StatsUpdater(null) {
+                @Override
+                public void increaseViews(Class<?> entityClass, Collection<Map.Entry<String, Long>> views) {
+                    //db write is not measured
+                }
+            }, scheduler, journal);
+            setField(aspect, "flushThreshold", flushThreshold);
+            setField(aspect, "batchSize", 500);
+        }
+
+        @Override
+        public void close() {
+            aspect.flush();
+            scheduler.shutdown();
+            journal.close();
+
+            try (var files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+}
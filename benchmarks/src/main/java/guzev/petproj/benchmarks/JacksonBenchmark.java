@@ -0,0 +1,74 @@
+package guzev.petproj.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h3>Jackson serialization of response bodies.</h3>
+ * Mapper is built the same way as the one of Spring MVC message converters.
+ * A page holds articles of one publisher, each of them embeds the publisher.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonBenchmark {
+
+    //page.result.size
+    private static final int PAGE_SIZE = 5;
+
+    private ObjectMapper objectMapper;
+
+    private Publisher publisher;
+
+    private Article article;
+
+    private List<Article> page;
+
+    private byte[] articleJson;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        publisher = InMemoryStubs.publisher("test-publisher");
+        article = InMemoryStubs.article(new ObjectId().toHexString(), publisher);
+
+        page = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++)
+            page.add(InMemoryStubs.article(new ObjectId().toHexString(), publisher));
+
+        articleJson = objectMapper.writeValueAsBytes(new Article(article.getTitle(), article.getContent()));
+    }
+
+    @Benchmark
+    public byte[] writePublisher() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(publisher);
+    }
+
+    @Benchmark
+    public byte[] writeArticle() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(article);
+    }
+
+    @Benchmark
+    public byte[] writeArticlesPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Article readArticle() throws Exception {
+        return objectMapper.readValue(articleJson, Article.class);
+    }
+
+}
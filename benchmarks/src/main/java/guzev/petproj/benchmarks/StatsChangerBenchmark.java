@@ -0,0 +1,53 @@
+package guzev.petproj.benchmarks;
+
+import guzev.petproj.bl.stats.ArticleStatsChanger;
+import guzev.petproj.bl.stats.PublisherStatsChanger;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h3>Copying of entities by stats changers.</h3>
+ * A changer copies every field of the entity before one statistic is changed.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatsChangerBenchmark {
+
+    private Publisher publisher;
+
+    private Article article;
+
+    @Setup
+    public void setup() {
+        publisher = InMemoryStubs.publisher("test-publisher");
+        article = InMemoryStubs.article("64a0c3f2e4b0a1b2c3d4e5f6", publisher);
+    }
+
+    @Benchmark
+    public Publisher publisherViews() {
+        final PublisherStatsChanger changer = new PublisherStatsChanger(publisher);
+        changer.increaseViews(1L);
+        return changer;
+    }
+
+    @Benchmark
+    public Publisher publisherMailsSent() {
+        final PublisherStatsChanger changer = new PublisherStatsChanger(publisher);
+        changer.increaseMailsSent(100);
+        return changer;
+    }
+
+    @Benchmark
+    public Article articleViews() {
+        final ArticleStatsChanger changer = new ArticleStatsChanger(article);
+        changer.increaseViews(1L);
+        return changer;
+    }
+
+}
@@ -0,0 +1,107 @@
+package guzev.petproj.benchmarks;
+
+import guzev.petproj.bl.concurrency.ThreadMode;
+import guzev.petproj.bl.services.impl.ArticleServiceImpl;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.pl.controllers.ArticleController;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h3>Request handling on platform and virtual threads under blocking db load.</h3>
+ * Each invocation handles {@code requests} concurrent {@link ArticleController#readById(String)} calls on an executor
+ * of {@link ThreadMode}, as Tomcat does. Platform threads are bounded by {@code maxThreads}, as Tomcat pool is.
+ * The repository blocks like Mongo driver does: it takes one of {@code connections} pooled connections
+ * and waits {@code dbMillis} for the reply.
+ * <p>Virtual threads need Java 21 runtime, on older ones {@code VIRTUAL} falls back to the bounded platform pool.</p>*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int ARTICLES = 1024;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private ThreadMode mode;
+
+    @Param({"1000", "10000"})
+    private int requests;
+
+    //server.tomcat.threads.max default
+    @Param({"200"})
+    private int maxThreads;
+
+    //mongo driver maxPoolSize default and a pool larger than tomcat
+    @Param({"100", "1000"})
+    private int connections;
+
+    @Param({"5"})
+    private int dbMillis;
+
+    private String[] ids;
+
+    private ArticleController controller;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        final Publisher publisher = InMemoryStubs.publisher("test-publisher");
+        final Map<String, Article> articles = new HashMap<>();
+        ids = new String[ARTICLES];
+        for (int i = 0; i < ARTICLES; i++) {
+            ids[i] = new ObjectId().toHexString();
+            articles.put(ids[i], InMemoryStubs.article(ids[i], publisher));
+        }
+
+        final Semaphore connectionPool = new Semaphore(connections);
+        controller = new ArticleController(new ArticleServiceImpl(InMemoryStubs.articleRepository(id -> {
+            connectionPool.acquireUninterruptibly();
+            try {
+                Thread.sleep(dbMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                connectionPool.release();
+            }
+            return articles.get(id);
+        }), null, null, null, null));
+
+        executor = mode.newExecutor("benchmark-", maxThreads);
+    }
+
+    @TearDown
+    public void cleanup() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public int blockingRequests() throws Exception {
+        final List<Future<?>> futures = new ArrayList<>(requests);
+
+        for (int i = 0; i < requests; i++) {
+            final String id = ids[i & (ARTICLES - 1)];
+            futures.add(executor.submit(() -> controller.readById(id)));
+        }
+
+        for (Future<?> future : futures)
+            future.get();
+
+        return futures.size();
+    }
+
+}
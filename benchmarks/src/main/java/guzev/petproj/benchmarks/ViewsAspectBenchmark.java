@@ -0,0 +1,71 @@
+package guzev.petproj.benchmarks;
+
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h3>Views counting of read articles.</h3>
+ * Each call counts one view: it is appended to the journal and added to the buffer, buffered views are
+ * flushed in background by the threshold. {@code articles} sets how many distinct articles are read,
+ * a single one is the worst case of contention on one counter.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ViewsAspectBenchmark {
+
+    @Param({"1", "1024"})
+    private int articles;
+
+    private InMemoryStubs.Views views;
+
+    private ResponseEntity<Article>[] responses;
+
+    @State(Scope.Thread)
+    public static class Reader {
+
+        private int next = ThreadLocalRandom.current().nextInt(1 << 16);
+
+        ResponseEntity<Article> next(ResponseEntity<Article>[] responses) {
+            return responses[next++ % responses.length];
+        }
+    }
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        //production defaults
+        views = new InMemoryStubs.Views(1000, 65536);
+
+        final Publisher publisher = InMemoryStubs.publisher("test-publisher");
+        responses = new ResponseEntity[articles];
+        for (int i = 0; i < articles; i++)
+            responses[i] = ResponseEntity.ok(InMemoryStubs.article(new ObjectId().toHexString(), publisher));
+    }
+
+    @TearDown
+    public void cleanup() {
+        views.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void singleReader(Reader reader) {
+        views.aspect.afterArticleReadBy(reader.next(responses));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void concurrentReaders(Reader reader) {
+        views.aspect.afterArticleReadBy(reader.next(responses));
+    }
+
+}
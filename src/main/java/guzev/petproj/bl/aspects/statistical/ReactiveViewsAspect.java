@@ -0,0 +1,51 @@
+package guzev.petproj.bl.aspects.statistical;
+
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * <h3>Aspect that counts views of resources read by reactive controllers.</h3>
+ * View is counted when the resource is emitted, views are buffered and written to db by {@link ViewsAspect}.*/
+@Aspect
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveViewsAspect {
+
+    private final ViewsAspect viewsAspect;
+
+    @Pointcut("execution(public * guzev.petproj.pl.controllers.reactive.*.readBy*(..))")
+    private void reactiveReadByPointcut() {}
+
+    @Pointcut("execution(public reactor.core.publisher.Mono<guzev.petproj.dao.entities.Publisher> *(..))")
+    private void returnPublisherMono() {}
+
+    @Pointcut("execution(public reactor.core.publisher.Mono<guzev.petproj.dao.entities.Article> *(..))")
+    private void returnArticleMono() {}
+
+
+    @Around("reactiveReadByPointcut() && returnPublisherMono()")
+    @SuppressWarnings("unchecked")
+    public Object aroundPublisherReadBy(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+
+        return ((Mono<Publisher>) proceedingJoinPoint.proceed())
+                .doOnNext(viewsAspect::countView);
+    }
+
+    @Around("reactiveReadByPointcut() && returnArticleMono()")
+    @SuppressWarnings("unchecked")
+    public Object aroundArticleReadBy(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+
+        return ((Mono<Article>) proceedingJoinPoint.proceed())
+                .doOnNext(viewsAspect::countView);
+    }
+
+}
@@ -1,39 +1,77 @@
 package guzev.petproj.bl.aspects.statistical;
 
-import guzev.petproj.bl.stats.ArticleStatsChanger;
-import guzev.petproj.bl.stats.PublisherStatsChanger;
+import guzev.petproj.bl.stats.StatsUpdater;
+import guzev.petproj.bl.stats.ViewsJournal;
 import guzev.petproj.dao.entities.Article;
 import guzev.petproj.dao.entities.Publisher;
-import guzev.petproj.dao.repositories.ArticleRepository;
-import guzev.petproj.dao.repositories.PublisherRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * <h3>Aspect that response for updating statistical information about views of a specific resource.</h3>
- * To optimize interaction with database aspect write changes to db only when difference in views
- * reaches <b>{@code stats.views.step}</b> value <i>(from application.properties)</i>.*/
+ * To optimize interaction with database aspect only buffers views in memory. Buffered views are written
+ * to db by bulk <b>{@code $inc}</b> operations every <b>{@code stats.views.flush.interval}</b> milliseconds
+ * or as soon as <b>{@code stats.views.flush.threshold}</b> views are pending <i>(from application.properties)</i>.
+ * Pending views are also written on application shutdown.
+ * <p>Each view is appended to {@link ViewsJournal} as well, views that were not written because of a crash
+ * are replayed on startup. A full journal requests a flush just like the threshold.</p>*/
 
 @Aspect
 @Component
 @RequiredArgsConstructor
 public class ViewsAspect {
 
-    private final PublisherRepository publisherRepo;
+    private static final Logger logger = LoggerFactory.getLogger(ViewsAspect.class);
 
-    private final ArticleRepository articleRepo;
+    private final StatsUpdater statsUpdater;
 
-    private final Map<Publisher, ViewsDifference> publishersMap = new HashMap<>();
-    private final Map<Article, ViewsDifference> articlesMap = new HashMap<>();
+    private final TaskScheduler taskScheduler;
+
+    private final ViewsJournal journal;
+
+    private final ViewsCounter publishersViews = new ViewsCounter(1, Publisher.class);
+    private final ViewsCounter articlesViews = new ViewsCounter(2, Article.class);
+
+    private final LongAdder pendingViews = new LongAdder();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /**
+     * Views are counted under read lock, so journal segment is sealed together with drained views.*/
+    private final StampedLock journalLock = new StampedLock();
+
+    /**
+     * Flushes write to db while holding it, a monitor would pin the carrier of a virtual thread.*/
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Value("${stats.views.flush.threshold}")
+    private long flushThreshold;
+
+    @Value("${stats.views.flush.batch-size}")
+    private int batchSize;
 
     @Pointcut("execution(public * guzev.petproj.pl.controllers.*.readBy*(..))")
     private void readByPointcut() {}
@@ -49,76 +87,176 @@ public class ViewsAspect {
             returning = "publisher")
     public void afterPublisherReadBy(ResponseEntity<Publisher> publisher) {
 
-        if (increaseViews(publisher.getBody(), publishersMap)) {
-            PublisherStatsChanger updatedPublisher = new PublisherStatsChanger(publisher.getBody());
-
-            synchronized (publishersMap) {
-                Long count = publishersMap.remove(publisher.getBody())
-                        .getViews();
-                updatedPublisher.increaseViews(count);
-            }
-
-            publisherRepo.save(updatedPublisher);
-        }
+        countView(publisher.getBody());
     }
 
     @AfterReturning(value = "readByPointcut() && returnArticleResponseEntity()",
             returning = "article")
     public void afterArticleReadBy(ResponseEntity<Article> article) {
 
-        if (increaseViews(article.getBody(), articlesMap)) {
+        countView(article.getBody());
+    }
+
+    /**
+     * Buffers a view of publisher, also used by {@link ReactiveViewsAspect}.*/
+    void countView(Publisher publisher) {
+        if (publisher != null && publisher.getName() != null)
+            increaseViews(publisher.getName(), publishersViews);
+    }
+
+    /**
+     * Buffers a view of article, also used by {@link ReactiveViewsAspect}.*/
+    void countView(Article article) {
+        if (article != null && article.getId() != null)
+            increaseViews(article.getId(), articlesViews);
+    }
+
+    /**
+     * Moves views left in journal by previous run to the buffer.*/
+    @PostConstruct
+    public void replayJournal() {
+        journal.replay((tag, id, count) -> {
+            final ViewsCounter viewsCounter = tag == publishersViews.tag ? publishersViews : articlesViews;
+            increaseViews(id, count, viewsCounter);
+        });
+    }
+
+    /**
+     * Writes all pending views to db: one bulk operation per collection
+     * (split by <b>{@code stats.views.flush.batch-size}</b>).
+     * Journal records of written views are dropped afterwards.*/
+    @Scheduled(fixedDelayString = "${stats.views.flush.interval}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
 
-            ArticleStatsChanger updatedArticle = new ArticleStatsChanger(article.getBody());
+            final Map<String, Long> publishersDifferences;
+            final Map<String, Long> articlesDifferences;
 
-            synchronized (articlesMap) {
-                Long count = articlesMap.remove(article.getBody())
-                        .getViews();
-                updatedArticle.increaseViews(count);
+            final long stamp = journalLock.writeLock();
+            try {
+                journal.rotate();
+                publishersDifferences = publishersViews.drain();
+                articlesDifferences = articlesViews.drain();
+            } finally {
+                journalLock.unlockWrite(stamp);
             }
 
-            articleRepo.save(updatedArticle);
+            flush(publishersDifferences, publishersViews);
+            flush(articlesDifferences, articlesViews);
+
+            journal.truncateSealed();
+        } finally {
+            flushLock.unlock();
         }
     }
 
-    /**
-     * @return <b>true</b> means that views difference between database stored and
-     * application data reached <b>{@code stats.views.step}</b> value <i>(from application.properties)</i>.
-     */
-    private <O> boolean increaseViews(O statsObject, Map<O, ViewsDifference> viewsDifferenceMap) {
-        ViewsDifference viewsDifference;
-
-        if (viewsDifferenceMap.containsKey(statsObject)) {
-            viewsDifference = viewsDifferenceMap.get(statsObject);
-        } else {
-            viewsDifference = new ViewsDifference();
-            viewsDifferenceMap.put(statsObject, viewsDifference);
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    private void increaseViews(String id, ViewsCounter viewsCounter) {
+        increaseViews(id, 1L, viewsCounter);
+    }
+
+    private void increaseViews(String id, long count, ViewsCounter viewsCounter) {
+        final boolean journaled;
+
+        final long stamp = journalLock.readLock();
+        try {
+            journaled = journal.append(viewsCounter.tag, id, count);
+            viewsCounter.increaseViews(id, count);
+        } finally {
+            journalLock.unlockRead(stamp);
         }
 
-        return viewsDifference.increaseViews();
+        pendingViews.add(count);
+
+        if ((!journaled || pendingViews.sum() >= flushThreshold) && flushRequested.compareAndSet(false, true))
+            taskScheduler.schedule(this::flush, Instant.now());
     }
 
-    @Value("${stats.views.step}")
-    private void setStep(Long viewsStep) {
-        ViewsDifference.step = viewsStep;
+    private void flush(Map<String, Long> drained, ViewsCounter viewsCounter) {
+        final Class<?> entityClass = viewsCounter.entityClass;
+        final List<Map.Entry<String, Long>> differences = new ArrayList<>(drained.entrySet());
+
+        for (int from = 0; from < differences.size(); from += batchSize) {
+            final List<Map.Entry<String, Long>> batch = differences.subList(from, Math.min(from + batchSize, differences.size()));
+
+            batch.forEach(difference -> pendingViews.add(-difference.getValue()));
+
+            try {
+                statsUpdater.increaseViews(entityClass, batch);
+            } catch (RuntimeException e) {
+                //keep views for the next flush, they are journaled again as sealed segment is dropped
+                batch.forEach(difference -> increaseViews(difference.getKey(), difference.getValue(), viewsCounter));
+                logger.warn("Cannot write {} views, will retry on next flush: {}", entityClass.getSimpleName(), e.getMessage());
+            }
+        }
     }
 
-    private static class ViewsDifference {
+    /**
+     * Views buffer keyed by document id. Counters are lock-free and are removed from the buffer
+     * once they stay idle for a whole flush, so the buffer only holds recently read documents.
+     * Must be drained by one thread at a time.*/
+    private static class ViewsCounter {
+
+        /**
+         * Value of a counter that is being removed, it can't be increased anymore.*/
+        private static final long RETIRED = Long.MIN_VALUE;
+
+        private final ConcurrentMap<String, AtomicLong> views = new ConcurrentHashMap<>();
+
+        /**
+         * Journal tag of the collection.*/
+        private final int tag;
+
+        private final Class<?> entityClass;
 
-        private static Long step;
+        private ViewsCounter(int tag, Class<?> entityClass) {
+            this.tag = tag;
+            this.entityClass = entityClass;
+        }
+
+        public void increaseViews(String id, long count) {
+            while (true) {
+                final AtomicLong counter = counter(id);
 
-        private final AtomicLong views;
+                long current = counter.get();
+                while (current != RETIRED) {
+                    if (counter.compareAndSet(current, current + count))
+                        return;
+                    current = counter.get();
+                }
 
-        public ViewsDifference() {
-            this.views = new AtomicLong(0L);
+                //counter was retired by drain, help to remove it and take a new one
+                views.remove(id, counter);
+            }
         }
 
-        public Long getViews() {
-            return this.views.get();
+        /**
+         * @return views gathered since previous drain by document id.
+         */
+        public Map<String, Long> drain() {
+            final Map<String, Long> differences = new HashMap<>();
+
+            views.forEach((id, counter) -> {
+                long count = counter.getAndSet(0L);
+
+                if (count > 0)
+                    differences.put(id, count);
+                else if (counter.compareAndSet(0L, RETIRED))
+                    views.remove(id, counter);
+            });
+
+            return differences;
         }
 
-        //returns true if goal is reached
-        public boolean increaseViews() {
-            return this.views.addAndGet(1L) >= step;
+        private AtomicLong counter(String id) {
+            AtomicLong counter = views.get(id);
+            return counter != null ? counter : views.computeIfAbsent(id, key -> new AtomicLong());
         }
     }
 
@@ -0,0 +1,235 @@
+package guzev.petproj.bl.cache;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * <h3>Component that evicts local cache entries changed by other application instances.</h3>
+ * Listens to <b>{@code publisher}</b>, <b>{@code subscriber}</b> and <b>{@code article}</b> change stream
+ * and evicts updated, replaced and deleted documents from the matching cache. Updates of statistical
+ * properties only are ignored, so views counting doesn't invalidate hot entries.
+ * <p>Resume token of the last seen event is saved to <b>{@code resume_token}</b> collection every
+ * <b>{@code cache.invalidation.token.flush.interval}</b> ms, so a restarted instance continues where it stopped.
+ * Every instance keeps its own token under <b>{@code cache.invalidation.instance.id}</b>, which must be unique
+ * and stable across restarts of the instance.
+ * If the token is no longer in the oplog all caches are cleared and listening starts from now.</p>
+ * Change streams require a replica set, listener is enabled by <b>{@code cache.invalidation.enabled}</b>
+ * <i>(from application.properties)</i>.
+ * */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private static final String TOKEN_COLLECTION = "resume_token";
+    private static final String TOKEN_ID_PREFIX = "cache-invalidation:";
+
+    private static final Map<String, String> COLLECTION_CACHES = Map.of(
+            "publisher", "publishers",
+            "subscriber", "subscribers",
+            "article", "articles");
+
+    private static final Set<String> STATISTICAL_FIELDS = Set.of("views", "mailsSent");
+
+    //ChangeStreamHistoryLost, ChangeStreamFatalError
+    private static final Set<Integer> HISTORY_LOST_CODES = Set.of(286, 280);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final CacheManager cacheManager;
+
+    @Value("${cache.invalidation.retry.delay}")
+    private long retryDelay;
+
+    @Value("${cache.invalidation.instance.id}")
+    private String instanceId;
+
+    private volatile BsonDocument resumeToken;
+
+    private volatile BsonDocument savedToken;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    @PostConstruct
+    public void start() {
+        resumeToken = savedToken = loadToken();
+        running = true;
+
+        listener = new CustomizableThreadFactory("cache-invalidation-").newThread(this::listen);
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        listener.join(TimeUnit.SECONDS.toMillis(5));
+        saveToken();
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.token.flush.interval}")
+    public void saveToken() {
+        final BsonDocument token = resumeToken;
+
+        if (token == null || token.equals(savedToken))
+            return;
+
+        mongoTemplate.upsert(query(where("_id").is(tokenId())),
+                new Update().set("token", token.toJson()).set("savedAt", Instant.now()),
+                TOKEN_COLLECTION);
+        savedToken = token;
+    }
+
+    private void listen() {
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openCursor()) {
+                while (running) {
+                    final ChangeStreamDocument<Document> event = cursor.tryNext();
+
+                    if (event != null)
+                        handle(event);
+
+                    //post batch token moves forward even if there are no events in watched collections
+                    if (cursor.getResumeToken() != null)
+                        resumeToken = cursor.getResumeToken();
+                }
+            } catch (MongoCommandException e) {
+                if (HISTORY_LOST_CODES.contains(e.getErrorCode())) {
+                    logger.warn("Cache invalidation events were lost, all caches are cleared.", e);
+                    resumeToken = null;
+                    clearCaches();
+                } else
+                    pause(e);
+            } catch (MongoException e) {
+                pause(e);
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor() {
+        final ChangeStreamIterable<Document> changeStream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", COLLECTION_CACHES.keySet()))))
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+
+        return (resumeToken == null ? changeStream : changeStream.resumeAfter(resumeToken))
+                .cursor();
+    }
+
+    /**
+     * Evicts changed document from its cache.*/
+    void handle(ChangeStreamDocument<Document> event) {
+
+        switch (event.getOperationType()) {
+            case UPDATE:
+                if (isStatisticalUpdate(event.getUpdateDescription()))
+                    break;
+                //otherwise evicted as replaced
+            case REPLACE:
+            case DELETE:
+                final Cache cache = cacheOf(event.getNamespace().getCollectionName());
+                final String key = cacheKey(event.getDocumentKey());
+
+                if (cache != null && key != null)
+                    cache.evict(key);
+                break;
+            case DROP:
+            case RENAME:
+            case DROP_DATABASE:
+            case INVALIDATE:
+                clearCaches();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private Cache cacheOf(String collectionName) {
+        final String cacheName = COLLECTION_CACHES.get(collectionName);
+        return cacheName == null ? null : cacheManager.getCache(cacheName);
+    }
+
+    private static String cacheKey(BsonDocument documentKey) {
+        final BsonValue id = documentKey == null ? null : documentKey.get("_id");
+
+        if (id == null)
+            return null;
+
+        if (id.isObjectId())
+            return id.asObjectId().getValue().toHexString();
+
+        return id.isString() ? id.asString().getValue() : null;
+    }
+
+    private static boolean isStatisticalUpdate(UpdateDescription description) {
+        return description != null
+                && description.getUpdatedFields() != null
+                && (description.getRemovedFields() == null || description.getRemovedFields().isEmpty())
+                && STATISTICAL_FIELDS.containsAll(description.getUpdatedFields().keySet());
+    }
+
+    private void clearCaches() {
+        COLLECTION_CACHES.values().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .forEach(Cache::clear);
+    }
+
+    private BsonDocument loadToken() {
+        final Document document = mongoTemplate.findById(tokenId(), Document.class, TOKEN_COLLECTION);
+
+        return document == null ? null : BsonDocument.parse(document.getString("token"));
+    }
+
+    private String tokenId() {
+        return TOKEN_ID_PREFIX + instanceId;
+    }
+
+    private void pause(MongoException e) {
+        logger.warn("Cache invalidation change stream failed, it is reopened in {} ms.", retryDelay, e);
+
+        try {
+            Thread.sleep(retryDelay);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package guzev.petproj.bl.concurrency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h3>Kind of threads that run blocking work: request handling, notifications and stats writes.</h3>
+ * Selected by <b>{@code threads.mode}</b> <i>(from application.properties)</i>:
+ * <ul>
+ *     <li><b>{@code platform}</b> - pooled platform threads;</li>
+ *     <li><b>{@code virtual}</b> - virtual threads, a thread per task. Requires Java 21 runtime,
+ *     pooled platform threads are used on older ones.</li>
+ * </ul>
+ * Virtual threads are created reflectively, so the project still compiles for Java 17.*/
+public enum ThreadMode {
+
+    PLATFORM {
+        @Override
+        public ThreadFactory threadFactory(String prefix) {
+            return new CustomizableThreadFactory(prefix);
+        }
+
+        @Override
+        public ExecutorService newExecutor(String prefix, int maxThreads) {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory(prefix));
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    },
+
+    VIRTUAL {
+        @Override
+        public ThreadFactory threadFactory(String prefix) {
+            if (VirtualThreads.BUILDER == null) {
+                logger.warn("Virtual threads are not supported by Java {}, platform threads are used instead.",
+                        Runtime.version().feature());
+                return PLATFORM.threadFactory(prefix);
+            }
+
+            try {
+                final Object builder = VirtualThreads.NAME.invoke(VirtualThreads.BUILDER.invoke(), prefix, 0L);
+                return (ThreadFactory) VirtualThreads.FACTORY.invoke(builder);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot create virtual thread factory", e);
+            }
+        }
+
+        @Override
+        public ExecutorService newExecutor(String prefix, int maxThreads) {
+            if (VirtualThreads.PER_TASK_EXECUTOR == null)
+                return PLATFORM.newExecutor(prefix, maxThreads);
+
+            try {
+                return (ExecutorService) VirtualThreads.PER_TASK_EXECUTOR.invoke(threadFactory(prefix));
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot create thread per task executor", e);
+            }
+        }
+    };
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadMode.class);
+
+    /**
+     * @param prefix name prefix of created threads.
+     */
+    public abstract ThreadFactory threadFactory(String prefix);
+
+    /**
+     * @param maxThreads limit of platform threads, tasks above it wait in a queue. Virtual threads are not limited,
+     *                   a new one is started for each task.
+     * @return executor that runs tasks on threads of the mode.
+     */
+    public abstract ExecutorService newExecutor(String prefix, int maxThreads);
+
+    /**
+     * @return <b>true</b> if runtime supports virtual threads.
+     */
+    public static boolean virtualThreadsSupported() {
+        return VirtualThreads.BUILDER != null;
+    }
+
+    /**
+     * Handles of Java 21 API, <b>null</b> on older runtimes.*/
+    private static final class VirtualThreads {
+
+        private static final MethodHandle BUILDER;
+        private static final MethodHandle NAME;
+        private static final MethodHandle FACTORY;
+        private static final MethodHandle PER_TASK_EXECUTOR;
+
+        static {
+            MethodHandle builder = null, name = null, factory = null, perTaskExecutor = null;
+
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                final Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+
+                builder = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+                name = lookup.findVirtual(virtualBuilderClass, "name",
+                        MethodType.methodType(virtualBuilderClass, String.class, long.class));
+                factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+                perTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                        MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+            } catch (ReflectiveOperationException e) {
+                builder = null;
+            }
+
+            BUILDER = builder;
+            NAME = name;
+            FACTORY = factory;
+            PER_TASK_EXECUTOR = perTaskExecutor;
+        }
+    }
+
+}
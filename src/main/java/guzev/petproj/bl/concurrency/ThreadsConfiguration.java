@@ -0,0 +1,55 @@
+package guzev.petproj.bl.concurrency;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * <h3>Configuration of threads that run blocking work by <b>{@code threads.mode}</b>.</h3>
+ * Scheduled tasks (stats flushes, outbox polling) always run on threads of the selected mode.
+ * In <b>{@code virtual}</b> mode Tomcat handles each request on a new virtual thread instead of its pool.
+ * If the runtime doesn't support virtual threads, Tomcat keeps its own pool bounded by {@code server.tomcat.threads.max}.*/
+@Configuration
+public class ThreadsConfiguration {
+
+    @Bean
+    public TaskSchedulerCustomizer threadModeTaskSchedulerCustomizer(@Value("${threads.mode}") ThreadMode threadMode) {
+        return taskScheduler -> taskScheduler.setThreadFactory(threadMode.threadFactory("scheduling-"));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnClass(ProtocolHandler.class)
+    @ConditionalOnProperty(name = "threads.mode", havingValue = "virtual")
+    @Conditional(VirtualThreadsSupportedCondition.class)
+    public ExecutorService tomcatRequestExecutor(@Value("${server.tomcat.threads.max:200}") int maxThreads) {
+        return ThreadMode.VIRTUAL.newExecutor("tomcat-handler-", maxThreads);
+    }
+
+    @Bean
+    @ConditionalOnClass(ProtocolHandler.class)
+    @ConditionalOnProperty(name = "threads.mode", havingValue = "virtual")
+    @Conditional(VirtualThreadsSupportedCondition.class)
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer(ExecutorService tomcatRequestExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(tomcatRequestExecutor);
+    }
+
+    static class VirtualThreadsSupportedCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return ThreadMode.virtualThreadsSupported();
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+package guzev.petproj.bl.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import guzev.petproj.bl.imports.ImportReport.LineResult;
+import guzev.petproj.bl.imports.ImportReport.Status;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * <h3>Component that imports articles of a publisher from NDJSON stream.</h3>
+ * Every line holds one article, only its title and content are read. Lines are read one by one and
+ * inserted by unordered bulk writes of <b>{@code articles.import.batch-size}</b> articles
+ * <i>(from application.properties)</i>, so the stream is never held in memory as a whole.
+ * <p>Duplicates are not checked by queries, they are rejected by the unique title and publisher index
+ * and the rest of the batch is still inserted.</p>
+ * */
+@Component
+@RequiredArgsConstructor
+public class ArticleImporter {
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${articles.import.batch-size}")
+    private int batchSize;
+
+    /**
+     * @param onCreated called for every inserted article.
+     * @throws UncheckedIOException if the stream can't be read, batches inserted before stay in db.
+     */
+    public ImportReport importArticles(Publisher publisher, InputStream ndjson, Consumer<Article> onCreated) {
+        final ObjectReader reader = objectMapper.readerFor(Article.class);
+        final List<LineResult> results = new ArrayList<>();
+        final Batch batch = new Batch();
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+
+            while ((line = lines.readLine()) != null) {
+                number++;
+
+                if (line.isBlank())
+                    continue;
+
+                try {
+                    final Article parsed = reader.readValue(line);
+
+                    //other non-object values are rejected by the reader
+                    if (parsed == null) {
+                        results.add(new LineResult(number, Status.INVALID, null, "Line is not a JSON object."));
+                        continue;
+                    }
+
+                    final Article article = new Article(parsed.getTitle(), parsed.getContent());
+                    article.setId(new ObjectId().toHexString());
+                    article.setPublisher(publisher);
+
+                    batch.add(number, article);
+                } catch (JsonProcessingException e) {
+                    results.add(new LineResult(number, Status.INVALID, null, e.getOriginalMessage()));
+                }
+
+                if (batch.articles.size() == batchSize)
+                    insert(batch, results, onCreated);
+            }
+
+            insert(batch, results, onCreated);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read imported articles", e);
+        }
+
+        return ImportReport.of(results);
+    }
+
+    private void insert(Batch batch, List<LineResult> results, Consumer<Article> onCreated) {
+        if (batch.articles.isEmpty())
+            return;
+
+        final Map<Integer, BulkWriteError> errors = new HashMap<>();
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Article.class)
+                    .insert(batch.articles)
+                    .execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> errors.put(error.getIndex(), error));
+        }
+
+        for (int i = 0; i < batch.articles.size(); i++) {
+            final Article article = batch.articles.get(i);
+            final int line = batch.lines.get(i);
+            final BulkWriteError error = errors.get(i);
+
+            if (error == null) {
+                results.add(new LineResult(line, Status.CREATED, article.getId(), null));
+                onCreated.accept(article);
+            } else if (error.getCode() == DUPLICATE_KEY_ERROR) {
+                results.add(new LineResult(line, Status.DUPLICATE, null, "An article with entered title already exists in system."));
+            } else {
+                results.add(new LineResult(line, Status.FAILED, null, error.getMessage()));
+            }
+        }
+
+        batch.clear();
+    }
+
+    /**
+     * Articles to insert with numbers of their lines.*/
+    private static class Batch {
+
+        private final List<Article> articles = new ArrayList<>();
+
+        private final List<Integer> lines = new ArrayList<>();
+
+        private void add(int line, Article article) {
+            lines.add(line);
+            articles.add(article);
+        }
+
+        private void clear() {
+            articles.clear();
+            lines.clear();
+        }
+    }
+
+}
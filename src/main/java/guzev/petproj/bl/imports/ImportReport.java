@@ -0,0 +1,35 @@
+package guzev.petproj.bl.imports;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <h3>Result of a bulk import.</h3>
+ * @param lines result of every non-blank line, in line order.
+ * */
+public record ImportReport(int created, int duplicates, int invalid, int failed, List<LineResult> lines) {
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    /**
+     * @param line number of the line, starting from one.
+     * @param id id of created document, <b>null</b> if not created.
+     * @param message reason why document is not created, <b>null</b> if created.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record LineResult(int line, Status status, String id, String message) {}
+
+    public static ImportReport of(List<LineResult> lines) {
+        final int[] counts = new int[Status.values().length];
+        lines.forEach(line -> counts[line.status().ordinal()]++);
+
+        return new ImportReport(counts[Status.CREATED.ordinal()], counts[Status.DUPLICATE.ordinal()],
+                counts[Status.INVALID.ordinal()], counts[Status.FAILED.ordinal()],
+                lines.stream().sorted(Comparator.comparingInt(LineResult::line)).toList());
+    }
+
+}
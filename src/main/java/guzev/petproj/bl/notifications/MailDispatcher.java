@@ -0,0 +1,168 @@
+package guzev.petproj.bl.notifications;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * <h3>Component that sends one letter to a large number of recipients.</h3>
+ * Letter is built once and sent over a single mailing server connection in chunks of
+ * <b>{@code notifications.mail.chunk.size}</b> recipients <i>(from application.properties)</i>.
+ * Recipients are passed only in the SMTP envelope, so they don't see each other addresses.
+ * Malformed addresses and addresses rejected by mailing server are logged and skipped.
+ * */
+@Component
+@RequiredArgsConstructor
+public class MailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private static final String SENDER = "PetProj";
+
+    private static final String DEFAULT_PROTOCOL = "smtp";
+
+    private final JavaMailSenderImpl mailSender;
+
+    @Value("${notifications.mail.chunk.size}")
+    private int chunkSize;
+
+    /**
+     * Listener of delivery progress, called after every sent chunk.
+     * An exception thrown by the listener stops sending to the rest of recipients.*/
+    @FunctionalInterface
+    public interface Progress {
+
+        Progress NONE = (lastRecipient, recipients) -> {};
+
+        /**
+         * @param lastRecipient last recipient taken to the chunk (including skipped ones).
+         * @param recipients number of recipients the chunk was sent to.
+         */
+        void chunkSent(String lastRecipient, int recipients);
+    }
+
+    /**
+     * @return number of recipients the letter was sent to.
+     */
+    public int send(String subject, String messageText, Iterator<String> recipients) {
+        return send(subject, messageText, recipients, Progress.NONE);
+    }
+
+    /**
+     * Sends letter reporting progress, so a failed delivery can be resumed after the last sent chunk.
+     * @return number of recipients the letter was sent to.
+     */
+    public int send(String subject, String messageText, Iterator<String> recipients, Progress progress) {
+        if (!recipients.hasNext())
+            return 0;
+
+        int sent = 0;
+
+        try {
+            final MimeMessage message = createMessage(subject, messageText);
+
+            try (Transport transport = connect()) {
+                final Address[] chunk = new Address[chunkSize];
+
+                while (recipients.hasNext()) {
+                    int size = 0;
+                    String lastRecipient = null;
+                    while (size < chunkSize && recipients.hasNext()) {
+                        lastRecipient = recipients.next();
+                        final Address address = parse(lastRecipient);
+                        if (address != null)
+                            chunk[size++] = address;
+                    }
+
+                    final int chunkSent = size == 0 ? 0
+                            : sendChunk(transport, message, size == chunkSize ? chunk : copyOf(chunk, size));
+                    sent += chunkSent;
+                    progress.chunkSent(lastRecipient, chunkSent);
+                }
+            }
+        } catch (MessagingException e) {
+            throw new RuntimeException("Cannot send emails (sent to " + sent + " recipients):" + e.getMessage());
+        }
+
+        return sent;
+    }
+
+    private MimeMessage createMessage(String subject, String messageText) throws MessagingException {
+        final MimeMessage message = mailSender.createMimeMessage();
+        final MimeMessageHelper helper = new MimeMessageHelper(message, "utf-8");
+
+        helper.setFrom(SENDER);
+        helper.setSubject(subject);
+        helper.setText(messageText, true);
+        message.saveChanges();
+
+        return message;
+    }
+
+    private Transport connect() throws MessagingException {
+        final Transport transport = mailSender.getSession().getTransport(
+                Objects.requireNonNullElse(mailSender.getProtocol(), DEFAULT_PROTOCOL));
+
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+
+        return transport;
+    }
+
+    /**
+     * Recipients rejected by mailing server are logged and skipped, the chunk is sent again to the rest of them.
+     * @return number of recipients the chunk was sent to.
+     */
+    private static int sendChunk(Transport transport, MimeMessage message, Address[] chunk) throws MessagingException {
+        try {
+            transport.sendMessage(message, chunk);
+            return chunk.length;
+        } catch (SendFailedException e) {
+            final Address[] invalid = e.getInvalidAddresses();
+
+            if (invalid == null || invalid.length == 0)
+                throw e;
+
+            logger.warn("Recipients {} are skipped, they are rejected by mailing server: {}", Arrays.toString(invalid), e.getMessage());
+
+            final Address[] validSent = e.getValidSentAddresses();
+            final Address[] validUnsent = e.getValidUnsentAddresses();
+
+            return (validSent == null ? 0 : validSent.length)
+                    + (validUnsent == null || validUnsent.length == 0 ? 0 : sendChunk(transport, message, validUnsent));
+        }
+    }
+
+    /**
+     * @return address of recipient, <b>null</b> if it is malformed, so one bad address doesn't fail the whole letter.
+     */
+    private static Address parse(String recipient) {
+        try {
+            return new InternetAddress(recipient);
+        } catch (AddressException e) {
+            logger.warn("Recipient '{}' is skipped, address is malformed: {}", recipient, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Address[] copyOf(Address[] chunk, int size) {
+        final Address[] result = new Address[size];
+        System.arraycopy(chunk, 0, result, 0, size);
+        return result;
+    }
+
+}
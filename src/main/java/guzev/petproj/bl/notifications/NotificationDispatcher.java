@@ -0,0 +1,184 @@
+package guzev.petproj.bl.notifications;
+
+import guzev.petproj.bl.concurrency.ThreadMode;
+import guzev.petproj.bl.services.PublisherService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h3>Component that sends subscribers notifications in background.</h3>
+ * Notifications are put to a bounded queue and sent by a pool of <b>{@code notifications.pool.size}</b> workers,
+ * so callers don't wait for mailing server. When <b>{@code notifications.queue.capacity}</b> is reached
+ * <b>{@code notifications.rejection.policy}</b> is applied <i>(from application.properties)</i>:
+ * <ul>
+ *     <li><b>{@code caller-runs}</b> - notification is sent by the calling thread, it slows down producers;</li>
+ *     <li><b>{@code discard}</b> - notification is dropped and counted.</li>
+ * </ul>
+ * Workers are threads of <b>{@code threads.mode}</b>, pool size still bounds concurrent mailing either way.
+ * Queue depth, workers and rejections are published as <b>{@code notifications}</b> metrics.
+ * */
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final PublisherService publisherService;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notifications.pool.size}")
+    private int poolSize;
+
+    @Value("${notifications.queue.capacity}")
+    private int queueCapacity;
+
+    @Value("${notifications.rejection.policy}")
+    private RejectionPolicy rejectionPolicy;
+
+    @Value("${notifications.shutdown.timeout}")
+    private long shutdownTimeout;
+
+    @Value("${threads.mode}")
+    private ThreadMode threadMode;
+
+    private ThreadPoolExecutor executor;
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        rejectedCounter = Counter.builder("notifications.rejected")
+                .description("Notifications that were not queued because the queue was full")
+                .register(meterRegistry);
+
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadMode.threadFactory("notification-"),
+                (task, executor) -> {
+                    rejectedCounter.increment();
+                    rejectionPolicy.handle(task, executor);
+                });
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "notifications");
+    }
+
+    /**
+     * Queues notification of publisher subscribers, returns immediately.
+     * @return future completed with number of notified subscribers when mails are sent.
+     * It is completed with {@link RejectedExecutionException} if notification is discarded or dispatcher is shut down.
+     */
+    public CompletableFuture<Integer> dispatch(String publisherName, String messageText) {
+        return dispatch(publisherName, messageText, null, MailDispatcher.Progress.NONE);
+    }
+
+    /**
+     * Queues notification of subscribers after <b>{@code lastRecipient}</b>, returns immediately.
+     * @see PublisherService#notifySubscribers(String, String, String, MailDispatcher.Progress)
+     * @see #dispatch(String, String)
+     */
+    public CompletableFuture<Integer> dispatch(String publisherName, String messageText, String lastRecipient,
+                                               MailDispatcher.Progress progress) {
+        final NotificationTask task = new NotificationTask(publisherName, messageText, lastRecipient, progress);
+
+        executor.execute(task);
+
+        return task.result;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getRemainingCapacity() {
+        return executor.getQueue().remainingCapacity();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+
+        if (!executor.awaitTermination(shutdownTimeout, TimeUnit.SECONDS)) {
+            List<Runnable> dropped = executor.shutdownNow();
+            dropped.forEach(task -> reject(task, "Notification was not sent before shutdown"));
+            logger.warn("{} notifications were not sent before shutdown", dropped.size());
+        }
+    }
+
+    public enum RejectionPolicy {
+
+        CALLER_RUNS {
+            @Override
+            void handle(Runnable task, ThreadPoolExecutor executor) {
+                if (executor.isShutdown())
+                    reject(task, "Notification dispatcher is shut down");
+                else
+                    task.run();
+            }
+        },
+
+        DISCARD {
+            @Override
+            void handle(Runnable task, ThreadPoolExecutor executor) {
+                logger.warn("Notifications queue is full, notification is discarded");
+                reject(task, "Notifications queue is full");
+            }
+        };
+
+        abstract void handle(Runnable task, ThreadPoolExecutor executor);
+    }
+
+    /**
+     * Completes future of a task that won't run, so the caller doesn't wait for it.*/
+    private static void reject(Runnable task, String message) {
+        if (task instanceof NotificationTask notificationTask)
+            notificationTask.result.completeExceptionally(new RejectedExecutionException(message));
+    }
+
+    /**
+     * Notification of publisher subscribers with the future of its result.*/
+    private class NotificationTask implements Runnable {
+
+        private final String publisherName;
+
+        private final String messageText;
+
+        private final String lastRecipient;
+
+        private final MailDispatcher.Progress progress;
+
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        private NotificationTask(String publisherName, String messageText, String lastRecipient, MailDispatcher.Progress progress) {
+            this.publisherName = publisherName;
+            this.messageText = messageText;
+            this.lastRecipient = lastRecipient;
+            this.progress = progress;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result.complete(publisherService.notifySubscribers(publisherName, messageText, lastRecipient, progress));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package guzev.petproj.bl.notifications;
+
+/**
+ * <h3>Texts of notifications sent to subscribers.</h3>*/
+public final class NotificationMessages {
+
+    private NotificationMessages() {}
+
+    public static String articlePublication(String publisherName, String articleTitle) {
+        return String.format("<h1 style=\"text-align: center; font: 3.5rem Garamond, Times New Roman;\"><i>New Publication</i></h1>\n" +
+                "    <hr>\n" +
+                "    <p style=\"text-align: justify; font: 2rem Georgia, sans-serif; margin-left: 10px;\">\n" +
+                "        <b>%s</b>\n" +
+                "        has released a new article:\n" +
+                "        <i>\"%s\"</i>\n" +
+                "    </p>", publisherName, articleTitle);
+    }
+
+    public static String articlesImport(String publisherName, int count) {
+        return String.format("<h1 style=\"text-align: center; font: 3.5rem Garamond, Times New Roman;\"><i>New Publications</i></h1>\n" +
+                "    <hr>\n" +
+                "    <p style=\"text-align: justify; font: 2rem Georgia, sans-serif; margin-left: 10px;\">\n" +
+                "        <b>%s</b>\n" +
+                "        has released %d new articles.\n" +
+                "    </p>", publisherName, count);
+    }
+
+}
@@ -0,0 +1,182 @@
+package guzev.petproj.bl.notifications;
+
+import guzev.petproj.dao.entities.Notification;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionException;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * <h3>Component that stores subscribers notifications in db and delivers them.</h3>
+ * Notifications are written to <b>{@code notification}</b> collection and polled every
+ * <b>{@code notifications.outbox.poll.interval}</b> milliseconds <i>(from application.properties)</i>.
+ * A polled record is claimed for <b>{@code notifications.outbox.lease}</b> seconds and sent by
+ * {@link NotificationDispatcher} workers, so several application instances can poll the same collection.
+ * Failed deliveries are retried with exponential backoff until <b>{@code notifications.outbox.max.attempts}</b>
+ * is reached, records of crashed workers are claimed again when the lease expires.
+ * Last notified subscriber is stored after every sent chunk, a retry continues after it.
+ * <p>The lease is renewed with every stored chunk. A worker updates the record only while it holds the claim
+ * (the record is in progress with the claimed number of attempts), a worker that lost it stops sending.</p>
+ * */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutbox.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final NotificationDispatcher notificationDispatcher;
+
+    @Value("${notifications.outbox.batch.size}")
+    private int batchSize;
+
+    @Value("${notifications.outbox.lease}")
+    private long lease;
+
+    @Value("${notifications.outbox.max.attempts}")
+    private int maxAttempts;
+
+    @Value("${notifications.outbox.backoff.initial}")
+    private long initialBackoff;
+
+    @Value("${notifications.outbox.backoff.max}")
+    private long maxBackoff;
+
+    /**
+     * Stores notification to be sent by workers.*/
+    public Notification enqueue(String publisherName, String messageText) {
+        return mongoTemplate.insert(new Notification(publisherName, messageText, Instant.now()));
+    }
+
+    /**
+     * Claims due notifications and hands them to {@link NotificationDispatcher} workers.*/
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll.interval}")
+    public void poll() {
+        int claimed = 0;
+        Notification notification;
+
+        while (claimed < batchSize && notificationDispatcher.getRemainingCapacity() > 0
+                && (notification = claim()) != null) {
+            deliver(notification);
+            claimed++;
+        }
+    }
+
+    private Notification claim() {
+        final Instant now = Instant.now();
+        final Query dueQuery = query(where("status").in(List.of(Notification.Status.PENDING, Notification.Status.IN_PROGRESS))
+                .and("nextAttemptAt").lte(now))
+                .with(Sort.by("nextAttemptAt"));
+
+        return mongoTemplate.findAndModify(dueQuery,
+                new Update()
+                        .set("status", Notification.Status.IN_PROGRESS)
+                        .set("nextAttemptAt", now.plusSeconds(lease))
+                        .inc("attempts", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Notification.class);
+    }
+
+    private void deliver(Notification notification) {
+        //progress is stored after every chunk, so a retry doesn't mail notified subscribers again
+        notificationDispatcher.dispatch(notification.getPublisherName(), notification.getMessageText(),
+                        notification.getLastRecipient(), (lastRecipient, recipients) -> {
+                            final boolean claimed = update(notification, new Update()
+                                    .set("lastRecipient", lastRecipient)
+                                    .inc("recipients", recipients)
+                                    .set("nextAttemptAt", Instant.now().plusSeconds(lease)));
+
+                            if (!claimed)
+                                throw new IllegalStateException("Notification " + notification.getId()
+                                        + " was claimed by another worker");
+                        })
+                .whenComplete((recipients, exception) -> {
+                    if (exception == null)
+                        markSent(notification);
+                    else
+                        markFailed(notification, exception instanceof CompletionException ? exception.getCause() : exception);
+                });
+    }
+
+    private void markSent(Notification notification) {
+        final boolean claimed = update(notification, new Update()
+                .set("status", Notification.Status.SENT)
+                .set("sentAt", Instant.now())
+                .unset("nextAttemptAt"));
+
+        if (!claimed)
+            logClaimLost(notification);
+    }
+
+    private void markFailed(Notification notification, Throwable exception) {
+        //publisher was deleted, there is no one to notify
+        final boolean retryable = !(exception instanceof NoSuchElementException);
+
+        if (retryable && notification.getAttempts() < maxAttempts) {
+            final Instant nextAttemptAt = Instant.now().plus(backoff(notification.getAttempts()));
+
+            if (!update(notification, new Update()
+                    .set("status", Notification.Status.PENDING)
+                    .set("nextAttemptAt", nextAttemptAt)
+                    .set("lastError", String.valueOf(exception.getMessage())))) {
+                logClaimLost(notification);
+                return;
+            }
+            logger.warn("Cannot notify subscribers of publisher '{}' (attempt {}), retry at {}: {}",
+                    notification.getPublisherName(), notification.getAttempts(), nextAttemptAt, exception.getMessage());
+        } else {
+            if (!update(notification, new Update()
+                    .set("status", Notification.Status.FAILED)
+                    .set("lastError", String.valueOf(exception.getMessage()))
+                    .unset("nextAttemptAt"))) {
+                logClaimLost(notification);
+                return;
+            }
+            logger.error("Notification of publisher '{}' subscribers failed after {} attempts",
+                    notification.getPublisherName(), notification.getAttempts(), exception);
+        }
+    }
+
+    /**
+     * @return delay before next attempt: initial backoff doubled for every failed attempt.
+     */
+    Duration backoff(int attempts) {
+        final long delay = initialBackoff << Math.min(attempts - 1, 30);
+        return Duration.ofSeconds(delay <= 0 ? maxBackoff : Math.min(delay, maxBackoff));
+    }
+
+    /**
+     * Updates the record if it's still claimed by this worker, a record claimed again has more attempts.
+     * @return <b>false</b> if the claim was lost.
+     */
+    private boolean update(Notification notification, Update update) {
+        final Query claimed = query(where("_id").is(notification.getId())
+                .and("status").is(Notification.Status.IN_PROGRESS)
+                .and("attempts").is(notification.getAttempts()));
+
+        return mongoTemplate.updateFirst(claimed, update, Notification.class).getMatchedCount() > 0;
+    }
+
+    private static void logClaimLost(Notification notification) {
+        logger.warn("Notification of publisher '{}' subscribers was claimed by another worker after its lease expired",
+                notification.getPublisherName());
+    }
+
+}
@@ -0,0 +1,79 @@
+package guzev.petproj.bl.pagination;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <h3>Page of results read after a cursor (keyset pagination).</h3>
+ * Cursor is an opaque token that holds sort key of the last returned element. Next page is read by a range
+ * query on that key, so it costs the same regardless of its depth and no count query is needed.
+ * @param content page elements.
+ * @param next cursor to read next page with, <b>null</b> if there are no more elements.
+ * */
+public record CursorPage<T>(List<T> content, String next) {
+
+    /**
+     * @param slice elements sorted by key, read after the cursor.
+     * @param key function that returns sort key of an element.
+     */
+    public static <T> CursorPage<T> of(Slice<T> slice, Function<T, String> key) {
+        final List<T> content = slice.getContent();
+
+        return new CursorPage<>(content,
+                slice.hasNext() && !content.isEmpty() ? encode(key.apply(content.get(content.size() - 1))) : null);
+    }
+
+    /**
+     * @param elements up to <b>{@code size + 1}</b> elements sorted by key, read after the cursor.
+     * Extra element only marks that there is a next page, it is not included in the content.
+     * @param key function that returns sort key of an element.
+     */
+    public static <T> CursorPage<T> of(List<T> elements, int size, Function<T, String> key) {
+        if (size < 1)
+            throw new IllegalArgumentException("Page size must not be less than one");
+
+        if (elements.size() <= size)
+            return new CursorPage<>(elements, null);
+
+        final List<T> content = elements.subList(0, size);
+        return new CursorPage<>(content, encode(key.apply(content.get(size - 1))));
+    }
+
+    public static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return sort key held by cursor, <b>null</b> if cursor is empty (first page).
+     * @throws InvalidCursorException if cursor is malformed.
+     */
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return null;
+
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * Decodes cursor that holds {@code _id} of a document, it must be a valid {@link ObjectId}.
+     * @see #decode(String)
+     */
+    public static String decodeObjectId(String cursor) {
+        final String id = decode(cursor);
+
+        if (id != null && !ObjectId.isValid(id))
+            throw new InvalidCursorException(cursor);
+
+        return id;
+    }
+
+}
@@ -0,0 +1,10 @@
+package guzev.petproj.bl.pagination;
+
+/**
+ * <h3>Exception thrown when a page cursor can't be read.</h3>*/
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid page cursor: " + cursor);
+    }
+}
@@ -0,0 +1,12 @@
+package guzev.petproj.bl.projections;
+
+import java.util.Set;
+
+/**
+ * <h3>Exception thrown when unknown fields are requested.</h3>*/
+public class InvalidFieldsException extends IllegalArgumentException {
+
+    public InvalidFieldsException(String field, Set<String> knownFields) {
+        super("Unknown field: " + field + ", available fields: " + String.join(",", knownFields));
+    }
+}
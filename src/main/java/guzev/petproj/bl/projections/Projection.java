@@ -0,0 +1,106 @@
+package guzev.petproj.bl.projections;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * <h3>Fields of an entity that can be requested by clients (sparse fieldsets).</h3>
+ * Requested fields are read from db by a field projection and only they are serialized.
+ * @param <T> entity type.
+ * */
+public final class Projection<T> {
+
+    private final Map<String, Function<T, ?>> accessors;
+
+    private final Set<String> defaults;
+
+    /**
+     * @param fields known fields, in order of serialized properties.
+     * @param defaults names of fields returned when client doesn't request any.
+     */
+    public Projection(List<Field<T>> fields, Set<String> defaults) {
+        final Map<String, Function<T, ?>> accessors = new LinkedHashMap<>();
+        fields.forEach(field -> accessors.put(field.name(), field.accessor()));
+
+        if (!accessors.keySet().containsAll(defaults))
+            throw new IllegalArgumentException("Default fields must be known fields");
+
+        this.accessors = Collections.unmodifiableMap(accessors);
+        this.defaults = Collections.unmodifiableSet(new LinkedHashSet<>(defaults));
+    }
+
+    /**
+     * @param name name of entity property, it is also the name of db field to read.
+     */
+    public static <T> Field<T> field(String name, Function<T, ?> accessor) {
+        return new Field<>(name, accessor);
+    }
+
+    /**
+     * @param fields comma separated field names, <b>null</b> or blank to select default fields.
+     * @throws InvalidFieldsException if a field is unknown.
+     */
+    public Selection select(String fields) {
+        if (fields == null || fields.isBlank())
+            return new Selection(defaults);
+
+        final Set<String> selected = new LinkedHashSet<>();
+
+        for (String field : fields.split(",")) {
+            final String name = field.trim();
+
+            if (!accessors.containsKey(name))
+                throw new InvalidFieldsException(name, accessors.keySet());
+
+            selected.add(name);
+        }
+
+        return new Selection(Collections.unmodifiableSet(selected));
+    }
+
+    public record Field<T>(String name, Function<T, ?> accessor) {}
+
+    /**
+     * Selected fields of the projection.*/
+    public final class Selection {
+
+        private final Set<String> fields;
+
+        private Selection(Set<String> fields) {
+            this.fields = fields;
+        }
+
+        /**
+         * @return selected field names, to be read from db.
+         */
+        public Set<String> fields() {
+            return fields;
+        }
+
+        /**
+         * @return selected fields of the entity by name.
+         */
+        public Map<String, Object> apply(T entity) {
+            final Map<String, Object> result = new LinkedHashMap<>();
+
+            accessors.forEach((name, accessor) -> {
+                if (fields.contains(name))
+                    result.put(name, accessor.apply(entity));
+            });
+
+            return result;
+        }
+
+        public List<Map<String, Object>> apply(List<T> entities) {
+            return entities.stream()
+                    .map(this::apply)
+                    .toList();
+        }
+    }
+
+}
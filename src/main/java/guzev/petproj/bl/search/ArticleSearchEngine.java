@@ -0,0 +1,35 @@
+package guzev.petproj.bl.search;
+
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.repositories.ArticleProjectionRepository.ScoredArticle;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <h3>Engine that searches articles by text.</h3>
+ * Engine is selected by <b>{@code search.engine}</b> <i>(from application.properties)</i>:
+ * {@code mongo} for {@link MongoSearchEngine}, {@code index} for {@link IndexSearchEngine}.
+ * Article service passes every saved and deleted article to the engine.*/
+public interface ArticleSearchEngine {
+
+    /**
+     * Searches articles by words of the text, sorted by relevance score (descending) and id.
+     * @param publisherName publisher of articles, <b>null</b> to search articles of all publishers.
+     * @param after score and id of the article to read articles after, <b>null</b> to read from the first one.
+     * @param limit max number of articles to read.
+     * @param fields fields of articles to read, <b>{@code id}</b> is always read.
+     */
+    List<ScoredArticle> search(String text, String publisherName, ScoredArticle.Key after, int limit, Collection<String> fields);
+
+    /**
+     * Called after article is created or updated.*/
+    default void index(Article article) {
+    }
+
+    /**
+     * Called after article is deleted.*/
+    default void remove(String id) {
+    }
+
+}
@@ -0,0 +1,112 @@
+package guzev.petproj.bl.search;
+
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.repositories.ArticleProjectionRepository.ScoredArticle;
+import guzev.petproj.dao.repositories.ArticleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <h3>Search engine backed by in-process {@link InvertedIndex}.</h3>
+ * Index is built from article collection on startup by batches of <b>{@code search.index.batch-size}</b>
+ * <i>(from application.properties)</i> and updated on every article change made by this instance.
+ * Matching and ranking don't query db, only the fields of returned page are read by one query on ids,
+ * so found articles have actual views.
+ * <p>Changes made by other application instances or directly in db are not indexed until restart.
+ * Found articles that are deleted from db are removed from the index and the page is filled by next documents.</p>
+ * */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "index")
+@RequiredArgsConstructor
+public class IndexSearchEngine implements ArticleSearchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexSearchEngine.class);
+
+    private static final Set<String> INDEXED_FIELDS = Set.of("id", "title", "content", "publisher");
+
+    private final ArticleRepository articleRepo;
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Value("${search.index.batch-size}")
+    private int batchSize;
+
+    @PostConstruct
+    public void build() {
+        final long start = System.nanoTime();
+        String lastId = null;
+        Slice<Article> batch;
+
+        do {
+            batch = articleRepo.readArticlesAfter(null, lastId, batchSize, INDEXED_FIELDS);
+            batch.forEach(this::index);
+
+            if (!batch.isEmpty())
+                lastId = batch.getContent().get(batch.getNumberOfElements() - 1).getId();
+        } while (batch.hasNext());
+
+        logger.info("Search index of {} articles built in {} ms.", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public List<ScoredArticle> search(String text, String publisherName, ScoredArticle.Key after, int limit, Collection<String> fields) {
+        final List<ScoredArticle> result = new ArrayList<>();
+        ScoredArticle.Key key = after;
+        int requested;
+        List<InvertedIndex.ScoredDocument> found;
+
+        do {
+            requested = limit - result.size();
+            found = index.search(text, publisherName, key, requested);
+
+            if (found.isEmpty())
+                break;
+
+            final Map<String, Article> articles = articleRepo.readArticlesByIds(
+                            found.stream().map(InvertedIndex.ScoredDocument::id).toList(), fields).stream()
+                    .collect(Collectors.toMap(Article::getId, Function.identity()));
+
+            for (InvertedIndex.ScoredDocument document : found) {
+                final Article article = articles.get(document.id());
+
+                //deleted by others since indexing
+                if (article == null)
+                    index.remove(document.id());
+                else
+                    result.add(new ScoredArticle(article, document.score()));
+            }
+
+            final InvertedIndex.ScoredDocument last = found.get(found.size() - 1);
+            key = new ScoredArticle.Key(last.score(), last.id());
+        } while (result.size() < limit && found.size() == requested);
+
+        return result;
+    }
+
+    @Override
+    public void index(Article article) {
+        index.put(article.getId(),
+                article.getPublisher() == null ? null : article.getPublisher().getName(),
+                article.getTitle(), article.getContent());
+    }
+
+    @Override
+    public void remove(String id) {
+        index.remove(id);
+    }
+
+}
@@ -0,0 +1,326 @@
+package guzev.petproj.bl.search;
+
+import guzev.petproj.dao.repositories.ArticleProjectionRepository.ScoredArticle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <h3>In-memory inverted index of articles.</h3>
+ * Title and content are split into lowercase terms. Every term has a posting list of documents that contain it,
+ * documents are numbered in indexing order, so a list is stored as variable-length deltas of their numbers,
+ * each followed by term frequency weighted by field.
+ * <p>Updated article is indexed under a new number and the old one is marked deleted, deleted numbers are
+ * skipped by searches and dropped when they outnumber live ones by renumbering postings of live documents.</p>
+ * Score of a document is sum of its weighted frequencies of query terms multiplied by their inverse document
+ * frequencies counted over live documents, a document matches if it contains any of query terms.
+ * */
+public class InvertedIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int CONTENT_WEIGHT = 1;
+
+    /**
+     * Deleted documents are kept until there are more of them than this and than live ones.*/
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    //indexed documents by their numbers, null if deleted
+    private final List<Entry> documents = new ArrayList<>();
+
+    private final Map<String, Integer> numbers = new HashMap<>();
+
+    private int deleted;
+
+    /**
+     * Indexed document.
+     * @param publisherName to filter documents by, may be <b>null</b>.
+     * @param terms distinct terms of the document, to update document frequencies when it's deleted.
+     */
+    private record Entry(String id, String publisherName, String[] terms) {}
+
+    /**
+     * Indexes document, replaces it if a document with the same id is indexed.*/
+    public void put(String id, String publisherName, String title, String content) {
+        final Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(title).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(content).forEach(term -> frequencies.merge(term, CONTENT_WEIGHT, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            markDeleted(id);
+            add(id, publisherName, frequencies);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            markDeleted(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed documents.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return numbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches documents containing any of text terms, sorted by score (descending) and id.
+     * Only {@code limit} best documents after the key are kept while scores are collected.
+     * @param publisherName publisher of documents, <b>null</b> to search documents of all publishers.
+     * @param after score and id of the document to read documents after, <b>null</b> to read from the first one.
+     * @return ids of found documents with their scores.
+     */
+    public List<ScoredDocument> search(String text, String publisherName, ScoredArticle.Key after, int limit) {
+        final Set<String> terms = new HashSet<>(tokenize(text));
+        final Map<Integer, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (String term : terms) {
+                final PostingList postingList = postings.get(term);
+
+                if (postingList == null)
+                    continue;
+
+                final double idf = Math.log(1 + (double) numbers.size() / postingList.documentFrequency());
+
+                postingList.forEach((number, frequency) -> {
+                    final Entry entry = documents.get(number);
+
+                    if (entry != null && (publisherName == null || publisherName.equals(entry.publisherName())))
+                        scores.merge(number, frequency * idf, Double::sum);
+                });
+            }
+
+            //head is the worst of kept documents
+            final PriorityQueue<ScoredDocument> best = new PriorityQueue<>(ScoredDocument.ORDER.reversed());
+            scores.forEach((number, score) -> {
+                final ScoredDocument document = new ScoredDocument(documents.get(number).id(), score);
+
+                if (limit <= 0 || after != null && !document.isAfter(after))
+                    return;
+
+                if (best.size() < limit)
+                    best.add(document);
+                else if (ScoredDocument.ORDER.compare(document, best.peek()) < 0) {
+                    best.poll();
+                    best.add(document);
+                }
+            });
+
+            final List<ScoredDocument> found = new ArrayList<>(best);
+            found.sort(ScoredDocument.ORDER);
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Id of found document with its score.*/
+    public record ScoredDocument(String id, double score) {
+
+        private static final Comparator<ScoredDocument> ORDER = Comparator.comparingDouble(ScoredDocument::score).reversed()
+                .thenComparing(ScoredDocument::id);
+
+        private boolean isAfter(ScoredArticle.Key key) {
+            return score < key.score() || score == key.score() && id.compareTo(key.id()) > 0;
+        }
+    }
+
+    /**
+     * Splits text into lowercase terms of letters and digits.*/
+    static List<String> tokenize(String text) {
+        if (text == null)
+            return List.of();
+
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private void add(String id, String publisherName, Map<String, Integer> frequencies) {
+        final int number = documents.size();
+
+        documents.add(new Entry(id, publisherName, frequencies.keySet().toArray(String[]::new)));
+        numbers.put(id, number);
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new PostingList()).add(number, frequency));
+    }
+
+    private void markDeleted(String id) {
+        final Integer number = numbers.remove(id);
+
+        if (number == null)
+            return;
+
+        for (String term : documents.set(number, null).terms()) {
+            final PostingList postingList = postings.get(term);
+
+            //postings of deleted documents stay until compaction, the list isn't searched without live ones
+            if (postingList.removeDocument() == 0)
+                postings.remove(term);
+        }
+        deleted++;
+    }
+
+    /**
+     * Renumbers live documents in the same order and copies their postings to new lists.*/
+    private void compactIfNeeded() {
+        if (deleted < MIN_DELETED_TO_COMPACT || deleted < numbers.size())
+            return;
+
+        final int[] renumbered = new int[documents.size()];
+        final List<Entry> live = new ArrayList<>(numbers.size());
+
+        for (int number = 0; number < documents.size(); number++) {
+            final Entry entry = documents.get(number);
+
+            renumbered[number] = entry == null ? -1 : live.size();
+            if (entry != null) {
+                numbers.put(entry.id(), live.size());
+                live.add(entry);
+            }
+        }
+
+        postings.replaceAll((term, postingList) -> {
+            final PostingList compacted = new PostingList();
+            postingList.forEach((number, frequency) -> {
+                if (renumbered[number] >= 0)
+                    compacted.add(renumbered[number], frequency);
+            });
+            return compacted;
+        });
+
+        documents.clear();
+        documents.addAll(live);
+        deleted = 0;
+    }
+
+    /**
+     * Numbers of documents containing a term with their weighted frequencies, compressed as variable-length ints.*/
+    static class PostingList {
+
+        private byte[] bytes = new byte[8];
+
+        private int length;
+
+        private int size;
+
+        //documents of the list that are not deleted
+        private int documentFrequency;
+
+        private int lastNumber;
+
+        @FunctionalInterface
+        interface PostingConsumer {
+            void accept(int number, int frequency);
+        }
+
+        /**
+         * @param number must be greater than numbers added before.
+         */
+        void add(int number, int frequency) {
+            writeVarInt(number - lastNumber);
+            writeVarInt(frequency);
+            lastNumber = number;
+            size++;
+            documentFrequency++;
+        }
+
+        /**
+         * Counts one of added documents as deleted, its posting stays in the list.
+         * @return number of documents left.
+         */
+        int removeDocument() {
+            return --documentFrequency;
+        }
+
+        void forEach(PostingConsumer consumer) {
+            int position = 0;
+            int number = 0;
+
+            while (position < length) {
+                int delta = 0;
+                for (int shift = 0; ; shift += 7) {
+                    final byte b = bytes[position++];
+                    delta |= (b & 0x7F) << shift;
+                    if (b >= 0)
+                        break;
+                }
+
+                int frequency = 0;
+                for (int shift = 0; ; shift += 7) {
+                    final byte b = bytes[position++];
+                    frequency |= (b & 0x7F) << shift;
+                    if (b >= 0)
+                        break;
+                }
+
+                number += delta;
+                consumer.accept(number, frequency);
+            }
+        }
+
+        /**
+         * @return number of documents in the list, deleted ones included.
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * @return number of documents in the list that are not deleted.
+         */
+        int documentFrequency() {
+            return documentFrequency;
+        }
+
+        /**
+         * @return bytes used by compressed list.
+         */
+        int length() {
+            return length;
+        }
+
+        private void writeVarInt(int value) {
+            if (bytes.length - length < 5)
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+    }
+
+}
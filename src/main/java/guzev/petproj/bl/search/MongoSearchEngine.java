@@ -0,0 +1,27 @@
+package guzev.petproj.bl.search;
+
+import guzev.petproj.dao.repositories.ArticleProjectionRepository.ScoredArticle;
+import guzev.petproj.dao.repositories.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <h3>Search engine backed by the text index of article collection.</h3>
+ * Index is maintained by db, so nothing is done on article changes.*/
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "mongo", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MongoSearchEngine implements ArticleSearchEngine {
+
+    private final ArticleRepository articleRepo;
+
+    @Override
+    public List<ScoredArticle> search(String text, String publisherName, ScoredArticle.Key after, int limit, Collection<String> fields) {
+        return articleRepo.searchArticles(text, publisherName, after, limit, fields);
+    }
+
+}
@@ -1,20 +1,46 @@
 package guzev.petproj.bl.services;
 
+import guzev.petproj.bl.imports.ImportReport;
+import guzev.petproj.bl.pagination.CursorPage;
 import guzev.petproj.dao.entities.Article;
 
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
 
 public interface ArticleService {
 
     Article create(Article article, String publisherName);
 
+    /**
+     * Imports articles of a publisher from NDJSON stream, one article per line.
+     * Subscribers get one notification about all created articles.
+     * @throws java.util.NoSuchElementException if publisher doesn't exist.
+     */
+    ImportReport importArticles(String publisherName, InputStream ndjson);
+
     Article readById(String id);
 
     Article readByTitleAndPublisherName(String title, String publisherName);
 
-    List<Article> readAll(int page, int size);
+    /*
+     * List reads return articles with only given fields read from db.
+     */
+
+    List<Article> readAll(int page, int size, Collection<String> fields);
+
+    List<Article> readAllByPublisherName(String publisherName, int page, int size, Collection<String> fields);
+
+    CursorPage<Article> readAll(String after, int size, Collection<String> fields);
+
+    CursorPage<Article> readAllByPublisherName(String publisherName, String after, int size, Collection<String> fields);
 
-    List<Article> readAllByPublisherName(String publisherName, int page, int size);
+    /**
+     * Searches articles by words of <b>{@code text}</b>, most relevant first.
+     * @param publisherName publisher of articles, <b>null</b> to search articles of all publishers.
+     * @param after cursor to read results after, <b>null</b> or empty to read the first page.
+     */
+    CursorPage<Article> search(String text, String publisherName, String after, int size, Collection<String> fields);
 
     Article update(Article article);
 
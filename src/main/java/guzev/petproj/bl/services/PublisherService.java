@@ -1,7 +1,12 @@
 package guzev.petproj.bl.services;
 
+import guzev.petproj.bl.notifications.MailDispatcher;
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionReport;
 import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.entities.Subscriber;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface PublisherService {
@@ -14,14 +19,45 @@ public interface PublisherService {
 
     List<Publisher> readSubscribedPublishers(String email, int page, int size);
 
+    CursorPage<Publisher> readAll(String after, int size);
+
+    CursorPage<Publisher> readSubscribedPublishers(String email, String after, int size);
+
+    List<Subscriber> readSubscribers(String name, int page, int size);
+
+    CursorPage<Subscriber> readSubscribers(String name, String after, int size);
+
     Integer notifySubscribers(String publisherName, String messageText);
 
+    /**
+     * Notifies subscribers in email order, starting after <b>{@code lastRecipient}</b>.
+     * @param lastRecipient email of the last notified subscriber, <b>null</b> to notify all of them.
+     * @param progress listener of sent chunks.
+     * @return number of subscribers notified by this call.
+     */
+    Integer notifySubscribers(String publisherName, String messageText, String lastRecipient, MailDispatcher.Progress progress);
+
     Publisher update(Publisher publisher);
 
+    /**
+     * @return <b>true</b> if subscription is created, <b>false</b> if subscriber is already subscribed.
+     */
     boolean subscribe(String publisherName, String subscriberEmail);
 
+    /**
+     * @return <b>true</b> if subscription is deleted, <b>false</b> if subscriber is not subscribed.
+     */
     boolean unsubscribe(String publisherName, String subscriberEmail);
 
+    /*
+     * Bulk methods read emails from stream, one per line, and report result of every email.
+     * Unknown subscribers are reported, not thrown.
+     */
+
+    BulkSubscriptionReport subscribeAll(String publisherName, InputStream emails);
+
+    BulkSubscriptionReport unsubscribeAll(String publisherName, InputStream emails);
+
     void delete(String name);
 
 }
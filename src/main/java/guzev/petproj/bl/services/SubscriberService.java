@@ -1,5 +1,6 @@
 package guzev.petproj.bl.services;
 
+import guzev.petproj.bl.pagination.CursorPage;
 import guzev.petproj.dao.entities.Subscriber;
 
 import java.util.List;
@@ -12,6 +13,8 @@ public interface SubscriberService {
 
     List<Subscriber> readAll(int page, int size);
 
+    CursorPage<Subscriber> readAll(String after, int size);
+
     Subscriber update(Subscriber subscriber);
 
     void delete(String email);
@@ -1,45 +1,77 @@
 package guzev.petproj.bl.services.impl;
 
+import guzev.petproj.bl.imports.ArticleImporter;
+import guzev.petproj.bl.imports.ImportReport;
+import guzev.petproj.bl.notifications.NotificationMessages;
+import guzev.petproj.bl.notifications.NotificationOutbox;
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.pagination.InvalidCursorException;
+import guzev.petproj.bl.search.ArticleSearchEngine;
 import guzev.petproj.bl.services.ArticleService;
 import guzev.petproj.bl.services.PublisherService;
 import guzev.petproj.dao.entities.Article;
 import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.repositories.ArticleProjectionRepository.ScoredArticle;
 import guzev.petproj.dao.repositories.ArticleRepository;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.function.BinaryOperator;
 
 @Service
 @RequiredArgsConstructor
+@CacheConfig(cacheNames = "articles")
 public class ArticleServiceImpl implements ArticleService {
 
     private final ArticleRepository articleRepo;
     private final PublisherService publisherService;
+    private final NotificationOutbox notificationOutbox;
+    private final ArticleSearchEngine searchEngine;
+    private final ArticleImporter articleImporter;
 
     @Override
     public Article create(Article article, String publisherName) {
-
-        if (articleRepo.readArticleByTitleAndPublisherName(article.getTitle(), publisherName).isPresent()) {
-            throw new DuplicateKeyException("An article with entered title already exists in system.");
-        }
-
         Publisher publisher = publisherService.readByName(publisherName);
         article.setPublisher(publisher);
-        final Article result = articleRepo.save(article);
 
-        publisherService.notifySubscribers(publisherName,
-                notificationMessage.apply(publisherName, article.getTitle()));
+        //title is checked by the unique title and publisher index
+        final Article result;
+        try {
+            result = articleRepo.insert(article);
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateKeyException("An article with entered title already exists in system.", e);
+        }
+        searchEngine.index(result);
+
+        notificationOutbox.enqueue(publisherName,
+                NotificationMessages.articlePublication(publisherName, article.getTitle()));
 
         return result;
     }
 
+    @Override
+    public ImportReport importArticles(String publisherName, InputStream ndjson) {
+        final Publisher publisher = publisherService.readByName(publisherName);
+
+        final ImportReport report = articleImporter.importArticles(publisher, ndjson, searchEngine::index);
+
+        if (report.created() > 0)
+            notificationOutbox.enqueue(publisherName, NotificationMessages.articlesImport(publisherName, report.created()));
+
+        return report;
+    }
 
     @Override
+    @Cacheable(key = "#id")
     public Article readById(String id) {
         return articleRepo.findById(id)
                 .orElseThrow();
@@ -52,37 +84,80 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
-    public List<Article> readAll(int page, int size) {
-        return articleRepo.findAll(PageRequest.of(page, size))
-                .getContent();
+    public List<Article> readAll(int page, int size, Collection<String> fields) {
+        return articleRepo.readArticles(null, PageRequest.of(page, size), fields);
+    }
+
+    @Override
+    public List<Article> readAllByPublisherName(String publisherName, int page, int size, Collection<String> fields) {
+        return articleRepo.readArticles(publisherName, PageRequest.of(page, size), fields);
     }
 
     @Override
-    public List<Article> readAllByPublisherName(String publisherName, int page, int size) {
-        return articleRepo.readArticlesByPublisherName(publisherName, PageRequest.of(page, size))
-                .getContent();
+    public CursorPage<Article> readAll(String after, int size, Collection<String> fields) {
+        return readAllByPublisherName(null, after, size, fields);
+    }
+
+    @Override
+    public CursorPage<Article> readAllByPublisherName(String publisherName, String after, int size, Collection<String> fields) {
+        final String lastId = CursorPage.decodeObjectId(after);
+
+        return CursorPage.of(articleRepo.readArticlesAfter(publisherName, lastId, size, fields), Article::getId);
     }
 
     @Override
+    public CursorPage<Article> search(String text, String publisherName, String after, int size, Collection<String> fields) {
+        final ScoredArticle.Key last = decodeSearchCursor(after);
+
+        if (text.isBlank())
+            return new CursorPage<>(List.of(), null);
+
+        //one more article is read to know if there is a next page
+        final CursorPage<ScoredArticle> page = CursorPage.of(
+                searchEngine.search(text, publisherName, last, size + 1, fields), size,
+                scored -> scored.key().score() + ":" + scored.key().id());
+
+        return new CursorPage<>(page.content().stream().map(ScoredArticle::article).toList(), page.next());
+    }
+
+    @Override
+    @CacheEvict(key = "#article.id", condition = "#article.id != null")
     public Article update(Article article) {
-        return articleRepo.save(article);
+        final Article result = articleRepo.save(article);
+        searchEngine.index(result);
+
+        return result;
     }
 
     @Override
+    @CacheEvict(key = "#id")
     public void delete(String id) {
-        if (articleRepo.findById(id).isPresent())
-            articleRepo.deleteById(id);
-        else
+        if (articleRepo.deleteArticleById(id) == 0)
             throw new NoSuchElementException();
+
+        searchEngine.remove(id);
     }
 
-    private final BinaryOperator<String> notificationMessage = (publisherName, articleTitle) ->
-            String.format("<h1 style=\"text-align: center; font: 3.5rem Garamond, Times New Roman;\"><i>New Publication</i></h1>\n" +
-                    "    <hr>\n" +
-                    "    <p style=\"text-align: justify; font: 2rem Georgia, sans-serif; margin-left: 10px;\">\n" +
-                    "        <b>%s</b>\n" +
-                    "        has released a new article:\n" +
-                    "        <i>\"%s\"</i>\n" +
-                    "    </p>", publisherName, articleTitle);
+    /**
+     * Search cursor holds score and id of the last returned article.*/
+    private static ScoredArticle.Key decodeSearchCursor(String cursor) {
+        final String key = CursorPage.decode(cursor);
+
+        if (key == null)
+            return null;
+
+        final int separator = key.lastIndexOf(':');
+
+        try {
+            final String id = key.substring(separator + 1);
+
+            if (separator < 1 || !ObjectId.isValid(id))
+                throw new InvalidCursorException(cursor);
+
+            return new ScoredArticle.Key(Double.parseDouble(key.substring(0, separator)), id);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
 
 }
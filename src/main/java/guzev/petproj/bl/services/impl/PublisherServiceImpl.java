@@ -1,42 +1,60 @@
 package guzev.petproj.bl.services.impl;
 
+import guzev.petproj.bl.notifications.MailDispatcher;
+import guzev.petproj.bl.pagination.CursorPage;
 import guzev.petproj.bl.services.PublisherService;
 import guzev.petproj.bl.services.SubscriberService;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionReport;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionWriter;
 import guzev.petproj.dao.entities.Publisher;
 import guzev.petproj.dao.entities.Subscriber;
+import guzev.petproj.dao.entities.Subscription;
 import guzev.petproj.dao.repositories.PublisherRepository;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import guzev.petproj.dao.repositories.SubscriberRepository;
+import guzev.petproj.dao.repositories.SubscriptionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@CacheConfig(cacheNames = "publishers")
 public class PublisherServiceImpl implements PublisherService {
 
+    private static final String NOTIFICATION_SUBJECT = "Article publication";
+
     private final PublisherRepository publisherRepo;
+    private final SubscriptionRepository subscriptionRepo;
+    private final SubscriberRepository subscriberRepo;
     private final SubscriberService subscriberService;
-    private final JavaMailSender mailSender;
+    private final MailDispatcher mailDispatcher;
+    private final BulkSubscriptionWriter bulkSubscriptionWriter;
 
     @Override
     public Publisher create(Publisher publisher) {
-
-        if (publisherRepo.findById(publisher.getName()).isPresent()) {
-            throw new DuplicateKeyException("A publisher with entered name already exists in system.");
+        try {
+            return publisherRepo.insert(publisher);
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateKeyException("A publisher with entered name already exists in system.", e);
         }
-
-        return publisherRepo.save(publisher);
     }
 
     @Override
+    @Cacheable(key = "#name")
     public Publisher readByName(String name) {
         return publisherRepo.findById(name)
                 .orElseThrow();
@@ -44,32 +62,106 @@ public class PublisherServiceImpl implements PublisherService {
 
     @Override
     public List<Publisher> readAll(int page, int size) {
-        return publisherRepo.findAll(PageRequest.of(page, size))
+        return publisherRepo.readPublishersBy(PageRequest.of(page, size, Sort.by("name")))
                 .getContent();
     }
 
     @Override
     public List<Publisher> readSubscribedPublishers(String email, int page, int size) {
-        return publisherRepo.findPublishersBySubscribersContains(subscriberService.readByEmail(email), PageRequest.of(page, size))
+        subscriberService.readByEmail(email);
+
+        final List<String> publisherNames = subscriptionRepo.findSubscriptionsBySubscriberEmail(email,
+                        PageRequest.of(page, size, Sort.by("publisherName")))
+                .map(Subscription::getPublisherName)
                 .getContent();
+
+        final List<Publisher> publishers = publisherRepo.findAllById(publisherNames);
+        publishers.sort(Comparator.comparing(Publisher::getName));
+
+        return publishers;
+    }
+
+    @Override
+    public CursorPage<Publisher> readAll(String after, int size) {
+        final String lastName = CursorPage.decode(after);
+        final Pageable pageable = PageRequest.of(0, size, Sort.by("name"));
+
+        final Slice<Publisher> slice = lastName == null
+                ? publisherRepo.readPublishersBy(pageable)
+                : publisherRepo.readPublishersByNameGreaterThan(lastName, pageable);
+
+        return CursorPage.of(slice, Publisher::getName);
+    }
+
+    @Override
+    public CursorPage<Publisher> readSubscribedPublishers(String email, String after, int size) {
+        subscriberService.readByEmail(email);
+
+        final String lastName = CursorPage.decode(after);
+        final Pageable pageable = PageRequest.of(0, size, Sort.by("publisherName"));
+
+        final Slice<String> slice = (lastName == null
+                ? subscriptionRepo.findSubscriptionsBySubscriberEmail(email, pageable)
+                : subscriptionRepo.findSubscriptionsBySubscriberEmailAndPublisherNameGreaterThan(email, lastName, pageable))
+                .map(Subscription::getPublisherName);
+
+        final List<Publisher> publishers = publisherRepo.findAllById(slice.getContent());
+        publishers.sort(Comparator.comparing(Publisher::getName));
+
+        //cursor is taken from subscriptions, so a publisher removed meanwhile doesn't break the sequence
+        return new CursorPage<>(publishers, CursorPage.of(slice, Function.identity()).next());
+    }
+
+    @Override
+    public List<Subscriber> readSubscribers(String name, int page, int size) {
+        checkPublisherExists(name);
+
+        final List<String> emails = subscriptionRepo.findSubscriptionsByPublisherName(name,
+                        PageRequest.of(page, size, Sort.by("subscriberEmail")))
+                .map(Subscription::getSubscriberEmail)
+                .getContent();
+
+        return readSubscribers(emails);
+    }
+
+    @Override
+    public CursorPage<Subscriber> readSubscribers(String name, String after, int size) {
+        checkPublisherExists(name);
+
+        final String lastEmail = CursorPage.decode(after);
+        final Pageable pageable = PageRequest.of(0, size, Sort.by("subscriberEmail"));
+
+        final Slice<String> slice = (lastEmail == null
+                ? subscriptionRepo.findSubscriptionsByPublisherName(name, pageable)
+                : subscriptionRepo.findSubscriptionsByPublisherNameAndSubscriberEmailGreaterThan(name, lastEmail, pageable))
+                .map(Subscription::getSubscriberEmail);
+
+        //cursor is taken from subscriptions, so a subscriber removed meanwhile doesn't break the sequence
+        return new CursorPage<>(readSubscribers(slice.getContent()), CursorPage.of(slice, Function.identity()).next());
     }
 
     @Override
     public Integer notifySubscribers(String publisherName, String messageText) {
+        return notifySubscribers(publisherName, messageText, null, MailDispatcher.Progress.NONE);
+    }
 
-        Publisher publisher = publisherRepo.findById(publisherName)
-                .orElseThrow();
+    @Override
+    public Integer notifySubscribers(String publisherName, String messageText, String lastRecipient,
+                                     MailDispatcher.Progress progress) {
 
-        if (publisher.getSubscribers().size() != 0)
-            sendMail(
-                    publisher.getSubscribers().stream().map(Subscriber::getEmail).toArray(String[]::new),
-                    messageText
-            );
+        checkPublisherExists(publisherName);
 
-        return publisher.getSubscribers().size();
+        //recipients are read from db cursor while mails are being sent
+        try (Stream<Subscription> subscriptions = lastRecipient == null
+                ? subscriptionRepo.streamSubscriptionsByPublisherName(publisherName)
+                : subscriptionRepo.streamSubscriptionsByPublisherNameAfter(publisherName, lastRecipient)) {
+            return mailDispatcher.send(NOTIFICATION_SUBJECT, messageText,
+                    subscriptions.map(Subscription::getSubscriberEmail).iterator(), progress);
+        }
     }
 
     @Override
+    @CacheEvict(key = "#publisher.name")
     public Publisher update(Publisher publisher) {
         return publisherRepo.save(publisher);
     }
@@ -77,54 +169,64 @@ public class PublisherServiceImpl implements PublisherService {
     @Override
     public boolean subscribe(String publisherName, String subscriberEmail) {
 
-        final Publisher publisher = publisherRepo.findById(publisherName)
-                .orElseThrow();
-        final Subscriber subscriber = subscriberService.readByEmail(subscriberEmail);
-
-        if (publisher.getSubscribers().add(subscriber))
-            publisherRepo.save(publisher);
+        checkSubscriptionParties(publisherName, subscriberEmail);
 
-        return true;
+        return subscriptionRepo.insertIfAbsent(publisherName, subscriberEmail);
     }
 
     @Override
     public boolean unsubscribe(String publisherName, String subscriberEmail) {
 
-        final Publisher publisher = publisherRepo.findById(publisherName)
-                .orElseThrow();
-        final Subscriber subscriber = subscriberService.readByEmail(subscriberEmail);
+        checkSubscriptionParties(publisherName, subscriberEmail);
 
-        if (publisher.getSubscribers().contains(subscriber)) {
+        return subscriptionRepo.deleteByPublisherNameAndSubscriberEmail(publisherName, subscriberEmail) > 0;
+    }
 
-            publisher.getSubscribers().remove(subscriber);
-            publisherRepo.save(publisher);
-            return true;
-        } else
-            return false;
+    @Override
+    public BulkSubscriptionReport subscribeAll(String publisherName, InputStream emails) {
+        checkPublisherExists(publisherName);
+
+        return bulkSubscriptionWriter.subscribe(publisherName, emails);
     }
 
     @Override
+    public BulkSubscriptionReport unsubscribeAll(String publisherName, InputStream emails) {
+        checkPublisherExists(publisherName);
+
+        return bulkSubscriptionWriter.unsubscribe(publisherName, emails);
+    }
+
+    @Override
+    @CacheEvict(key = "#name")
     public void delete(String name) {
-        if (publisherRepo.findById(name).isPresent())
-            publisherRepo.deleteById(name);
-        else
+        if (publisherRepo.deleteByName(name) == 0)
             throw new NoSuchElementException();
+
+        subscriptionRepo.deleteByPublisherName(name);
     }
 
-    private void sendMail(String[] emails, String messageText) {
-        MimeMessage message = mailSender.createMimeMessage();
+    /**
+     * @throws NoSuchElementException if publisher or subscriber doesn't exist.
+     */
+    private void checkSubscriptionParties(String publisherName, String subscriberEmail) {
+        checkPublisherExists(publisherName);
 
-        try {
-            MimeMessageHelper helper = new MimeMessageHelper(message, "utf-8");
+        subscriberService.readByEmail(subscriberEmail);
+    }
+
+    private void checkPublisherExists(String publisherName) {
+        if (!publisherRepo.existsById(publisherName))
+            throw new NoSuchElementException();
+    }
 
-            helper.setFrom("PetProj");
-            helper.setSubject("Article publication");
-            helper.setTo(emails);
-            helper.setText(messageText, true);
+    /**
+     * @return subscribers with given emails by one query, sorted by email.
+     */
+    private List<Subscriber> readSubscribers(List<String> emails) {
+        final List<Subscriber> subscribers = subscriberRepo.findAllById(emails);
+        subscribers.sort(Comparator.comparing(Subscriber::getEmail));
 
-            mailSender.send(message);
-        } catch (MessagingException | MailException e) {
-            throw new RuntimeException("Cannot send emails:" + e.getMessage());
-        }
+        return subscribers;
     }
+
 }
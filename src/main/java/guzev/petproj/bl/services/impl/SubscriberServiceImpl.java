@@ -1,11 +1,19 @@
 package guzev.petproj.bl.services.impl;
 
+import guzev.petproj.bl.pagination.CursorPage;
 import guzev.petproj.bl.services.SubscriberService;
 import guzev.petproj.dao.entities.Subscriber;
 import guzev.petproj.dao.repositories.SubscriberRepository;
+import guzev.petproj.dao.repositories.SubscriptionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,21 +21,23 @@ import java.util.NoSuchElementException;
 
 @Service
 @RequiredArgsConstructor
+@CacheConfig(cacheNames = "subscribers")
 public class SubscriberServiceImpl implements SubscriberService {
 
     private final SubscriberRepository subscriberRepo;
+    private final SubscriptionRepository subscriptionRepo;
 
     @Override
     public Subscriber create(Subscriber subscriber) {
-
-        if (subscriberRepo.findById(subscriber.getEmail()).isPresent()) {
-            throw new DuplicateKeyException("A user with entered email already exists in system.");
+        try {
+            return subscriberRepo.insert(subscriber);
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateKeyException("A user with entered email already exists in system.", e);
         }
-
-        return subscriberRepo.save(subscriber);
     }
 
     @Override
+    @Cacheable(key = "#email")
     public Subscriber readByEmail(String email) {
         return subscriberRepo.findById(email)
                 .orElseThrow();
@@ -35,20 +45,34 @@ public class SubscriberServiceImpl implements SubscriberService {
 
     @Override
     public List<Subscriber> readAll(int page, int size) {
-        return subscriberRepo.findAll(PageRequest.of(page, size))
+        return subscriberRepo.readSubscribersBy(PageRequest.of(page, size, Sort.by("email")))
                 .getContent();
     }
 
     @Override
+    public CursorPage<Subscriber> readAll(String after, int size) {
+        final String lastEmail = CursorPage.decode(after);
+        final Pageable pageable = PageRequest.of(0, size, Sort.by("email"));
+
+        final Slice<Subscriber> slice = lastEmail == null
+                ? subscriberRepo.readSubscribersBy(pageable)
+                : subscriberRepo.readSubscribersByEmailGreaterThan(lastEmail, pageable);
+
+        return CursorPage.of(slice, Subscriber::getEmail);
+    }
+
+    @Override
+    @CacheEvict(key = "#subscriber.email")
     public Subscriber update(Subscriber subscriber) {
         return subscriberRepo.save(subscriber);
     }
 
     @Override
+    @CacheEvict(key = "#email")
     public void delete(String email) {
-        if (subscriberRepo.findById(email).isPresent())
-            subscriberRepo.deleteById(email);
-        else
+        if (subscriberRepo.deleteByEmail(email) == 0)
             throw new NoSuchElementException();
+
+        subscriptionRepo.deleteBySubscriberEmail(email);
     }
 }
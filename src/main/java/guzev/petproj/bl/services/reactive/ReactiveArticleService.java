@@ -0,0 +1,28 @@
+package guzev.petproj.bl.services.reactive;
+
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.dao.entities.Article;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveArticleService {
+
+    Mono<Article> create(Article article, String publisherName);
+
+    Mono<Article> readById(String id);
+
+    Mono<Article> readByTitleAndPublisherName(String title, String publisherName);
+
+    Flux<Article> readAll(int page, int size);
+
+    Flux<Article> readAllByPublisherName(String publisherName, int page, int size);
+
+    Mono<CursorPage<Article>> readAll(String after, int size);
+
+    Mono<CursorPage<Article>> readAllByPublisherName(String publisherName, String after, int size);
+
+    Mono<Article> update(Article article);
+
+    Mono<Void> delete(String id);
+
+}
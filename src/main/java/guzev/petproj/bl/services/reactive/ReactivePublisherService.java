@@ -0,0 +1,41 @@
+package guzev.petproj.bl.services.reactive;
+
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.entities.Subscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactivePublisherService {
+
+    Mono<Publisher> create(Publisher publisher);
+
+    Mono<Publisher> readByName(String name);
+
+    Flux<Publisher> readAll(int page, int size);
+
+    Flux<Publisher> readSubscribedPublishers(String email, int page, int size);
+
+    Mono<CursorPage<Publisher>> readAll(String after, int size);
+
+    Mono<CursorPage<Publisher>> readSubscribedPublishers(String email, String after, int size);
+
+    Flux<Subscriber> readSubscribers(String name, int page, int size);
+
+    Mono<CursorPage<Subscriber>> readSubscribers(String name, String after, int size);
+
+    Mono<Publisher> update(Publisher publisher);
+
+    /**
+     * @return <b>true</b> if subscription is created, <b>false</b> if subscriber is already subscribed.
+     */
+    Mono<Boolean> subscribe(String publisherName, String subscriberEmail);
+
+    /**
+     * @return <b>true</b> if subscription is deleted, <b>false</b> if subscriber is not subscribed.
+     */
+    Mono<Boolean> unsubscribe(String publisherName, String subscriberEmail);
+
+    Mono<Void> delete(String name);
+
+}
@@ -0,0 +1,22 @@
+package guzev.petproj.bl.services.reactive;
+
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.dao.entities.Subscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSubscriberService {
+
+    Mono<Subscriber> create(Subscriber subscriber);
+
+    Mono<Subscriber> readByEmail(String email);
+
+    Flux<Subscriber> readAll(int page, int size);
+
+    Mono<CursorPage<Subscriber>> readAll(String after, int size);
+
+    Mono<Subscriber> update(Subscriber subscriber);
+
+    Mono<Void> delete(String email);
+
+}
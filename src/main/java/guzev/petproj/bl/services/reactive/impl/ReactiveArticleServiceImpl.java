@@ -0,0 +1,118 @@
+package guzev.petproj.bl.services.reactive.impl;
+
+import guzev.petproj.bl.notifications.NotificationMessages;
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.search.ArticleSearchEngine;
+import guzev.petproj.bl.services.reactive.ReactiveArticleService;
+import guzev.petproj.bl.services.reactive.ReactivePublisherService;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Notification;
+import guzev.petproj.dao.repositories.reactive.ReactiveArticleReader;
+import guzev.petproj.dao.repositories.reactive.ReactiveArticleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.NoSuchElementException;
+
+/**
+ * <h3>Reactive article service.</h3>
+ * Created article notification is stored to the same outbox as by blocking service
+ * and is sent by outbox workers. Saved and deleted articles are passed to the search engine, as by blocking service.*/
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveArticleServiceImpl implements ReactiveArticleService {
+
+    private static final String CACHE = "articles";
+
+    private final ReactiveArticleRepository articleRepo;
+    private final ReactiveArticleReader articleReader;
+    private final ReactivePublisherService publisherService;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+    private final ArticleSearchEngine searchEngine;
+
+    @Override
+    public Mono<Article> create(Article article, String publisherName) {
+        //title is checked by the unique title and publisher index
+        return publisherService.readByName(publisherName)
+                .flatMap(publisher -> {
+                    article.setPublisher(publisher);
+                    return articleRepo.insert(article);
+                })
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new DuplicateKeyException("An article with entered title already exists in system.", e))
+                .doOnNext(searchEngine::index)
+                .flatMap(created -> mongoTemplate.insert(new Notification(publisherName,
+                                NotificationMessages.articlePublication(publisherName, created.getTitle()), Instant.now()))
+                        .thenReturn(created));
+    }
+
+    @Override
+    public Mono<Article> readById(String id) {
+        return ReactiveCaches.readThrough(cacheManager, CACHE, id, Article.class, articleReader.findById(id))
+                .switchIfEmpty(Mono.error(NoSuchElementException::new));
+    }
+
+    @Override
+    public Mono<Article> readByTitleAndPublisherName(String title, String publisherName) {
+        return articleReader.findByTitleAndPublisherName(title, publisherName)
+                .switchIfEmpty(Mono.error(NoSuchElementException::new));
+    }
+
+    @Override
+    public Flux<Article> readAll(int page, int size) {
+        return articleReader.findAll(PageRequest.of(page, size));
+    }
+
+    @Override
+    public Flux<Article> readAllByPublisherName(String publisherName, int page, int size) {
+        return articleReader.findByPublisherName(publisherName, PageRequest.of(page, size));
+    }
+
+    @Override
+    public Mono<CursorPage<Article>> readAll(String after, int size) {
+        return readAllAfter(null, after, size);
+    }
+
+    @Override
+    public Mono<CursorPage<Article>> readAllByPublisherName(String publisherName, String after, int size) {
+        return readAllAfter(publisherName, after, size);
+    }
+
+    @Override
+    public Mono<Article> update(Article article) {
+        return articleRepo.save(article)
+                .doOnNext(searchEngine::index)
+                .doOnSuccess(saved -> ReactiveCaches.evict(cacheManager, CACHE, article.getId()));
+    }
+
+    @Override
+    public Mono<Void> delete(String id) {
+        return articleRepo.deleteArticleById(id)
+                .flatMap(deleted -> deleted > 0
+                        ? Mono.<Void>empty()
+                            .doOnSuccess(empty -> {
+                                searchEngine.remove(id);
+                                ReactiveCaches.evict(cacheManager, CACHE, id);
+                            })
+                        : Mono.error(new NoSuchElementException()));
+    }
+
+    private Mono<CursorPage<Article>> readAllAfter(String publisherName, String after, int size) {
+        final String lastId = CursorPage.decodeObjectId(after);
+
+        return articleReader.findAfter(publisherName, lastId, size + 1)
+                .collectList()
+                .map(articles -> CursorPage.of(articles, size, Article::getId));
+    }
+
+}
@@ -0,0 +1,35 @@
+package guzev.petproj.bl.services.reactive.impl;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * <h3>Read-through access to the caches shared with blocking services.</h3>
+ * {@code @Cacheable} would cache {@link Mono} itself, so reactive services put loaded values explicitly.*/
+final class ReactiveCaches {
+
+    private ReactiveCaches() {}
+
+    static <T> Mono<T> readThrough(CacheManager cacheManager, String cacheName, String key, Class<T> type, Mono<T> loader) {
+        return Mono.defer(() -> {
+            final Cache cache = cacheManager.getCache(cacheName);
+            final T cached = cache == null ? null : cache.get(key, type);
+
+            return cached != null
+                    ? Mono.just(cached)
+                    : loader.doOnNext(value -> {
+                        if (cache != null)
+                            cache.put(key, value);
+                    });
+        });
+    }
+
+    static void evict(CacheManager cacheManager, String cacheName, String key) {
+        final Cache cache = cacheManager.getCache(cacheName);
+
+        if (cache != null && key != null)
+            cache.evict(key);
+    }
+
+}
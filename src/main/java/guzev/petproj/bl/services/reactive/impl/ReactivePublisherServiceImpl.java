@@ -0,0 +1,193 @@
+package guzev.petproj.bl.services.reactive.impl;
+
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.services.reactive.ReactivePublisherService;
+import guzev.petproj.bl.services.reactive.ReactiveSubscriberService;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.entities.Subscriber;
+import guzev.petproj.dao.entities.Subscription;
+import guzev.petproj.dao.repositories.reactive.ReactivePublisherRepository;
+import guzev.petproj.dao.repositories.reactive.ReactiveSubscriberRepository;
+import guzev.petproj.dao.repositories.reactive.ReactiveSubscriptionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactivePublisherServiceImpl implements ReactivePublisherService {
+
+    private static final String CACHE = "publishers";
+
+    private final ReactivePublisherRepository publisherRepo;
+    private final ReactiveSubscriptionRepository subscriptionRepo;
+    private final ReactiveSubscriberRepository subscriberRepo;
+    private final ReactiveSubscriberService subscriberService;
+    private final CacheManager cacheManager;
+
+    @Override
+    public Mono<Publisher> create(Publisher publisher) {
+        return publisherRepo.insert(publisher)
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new DuplicateKeyException("A publisher with entered name already exists in system.", e));
+    }
+
+    @Override
+    public Mono<Publisher> readByName(String name) {
+        return ReactiveCaches.readThrough(cacheManager, CACHE, name, Publisher.class, publisherRepo.findById(name))
+                .switchIfEmpty(Mono.error(NoSuchElementException::new));
+    }
+
+    @Override
+    public Flux<Publisher> readAll(int page, int size) {
+        return publisherRepo.readPublishersBy(PageRequest.of(page, size, Sort.by("name")));
+    }
+
+    @Override
+    public Flux<Publisher> readSubscribedPublishers(String email, int page, int size) {
+        final Pageable pageable = PageRequest.of(page, size, Sort.by("publisherName"));
+
+        return subscriberService.readByEmail(email)
+                .thenMany(subscriptionRepo.findSubscriptionsBySubscriberEmail(email, pageable))
+                .map(Subscription::getPublisherName)
+                .collectList()
+                .flatMapMany(this::readPublishers);
+    }
+
+    @Override
+    public Mono<CursorPage<Publisher>> readAll(String after, int size) {
+        final String lastName = CursorPage.decode(after);
+        final Pageable pageable = PageRequest.of(0, size + 1, Sort.by("name"));
+
+        return (lastName == null
+                ? publisherRepo.readPublishersBy(pageable)
+                : publisherRepo.readPublishersByNameGreaterThan(lastName, pageable))
+                .collectList()
+                .map(publishers -> CursorPage.of(publishers, size, Publisher::getName));
+    }
+
+    @Override
+    public Mono<CursorPage<Publisher>> readSubscribedPublishers(String email, String after, int size) {
+        final String lastName = CursorPage.decode(after);
+        final Pageable pageable = PageRequest.of(0, size + 1, Sort.by("publisherName"));
+
+        return subscriberService.readByEmail(email)
+                .thenMany(lastName == null
+                        ? subscriptionRepo.findSubscriptionsBySubscriberEmail(email, pageable)
+                        : subscriptionRepo.findSubscriptionsBySubscriberEmailAndPublisherNameGreaterThan(email, lastName, pageable))
+                .map(Subscription::getPublisherName)
+                .collectList()
+                .flatMap(publisherNames -> {
+                    //cursor is taken from subscriptions, so a publisher removed meanwhile doesn't break the sequence
+                    final CursorPage<String> names = CursorPage.of(publisherNames, size, Function.identity());
+
+                    return readPublishers(names.content())
+                            .collectList()
+                            .map(publishers -> new CursorPage<>(publishers, names.next()));
+                });
+    }
+
+    @Override
+    public Flux<Subscriber> readSubscribers(String name, int page, int size) {
+        final Pageable pageable = PageRequest.of(page, size, Sort.by("subscriberEmail"));
+
+        return checkPublisherExists(name)
+                .thenMany(subscriptionRepo.findSubscriptionsByPublisherName(name, pageable))
+                .map(Subscription::getSubscriberEmail)
+                .collectList()
+                .flatMapMany(this::readSubscribers);
+    }
+
+    @Override
+    public Mono<CursorPage<Subscriber>> readSubscribers(String name, String after, int size) {
+        final String lastEmail = CursorPage.decode(after);
+        final Pageable pageable = PageRequest.of(0, size + 1, Sort.by("subscriberEmail"));
+
+        return checkPublisherExists(name)
+                .thenMany(lastEmail == null
+                        ? subscriptionRepo.findSubscriptionsByPublisherName(name, pageable)
+                        : subscriptionRepo.findSubscriptionsByPublisherNameAndSubscriberEmailGreaterThan(name, lastEmail, pageable))
+                .map(Subscription::getSubscriberEmail)
+                .collectList()
+                .flatMap(emails -> {
+                    //cursor is taken from subscriptions, so a subscriber removed meanwhile doesn't break the sequence
+                    final CursorPage<String> page = CursorPage.of(emails, size, Function.identity());
+
+                    return readSubscribers(page.content())
+                            .collectList()
+                            .map(subscribers -> new CursorPage<>(subscribers, page.next()));
+                });
+    }
+
+    @Override
+    public Mono<Publisher> update(Publisher publisher) {
+        return publisherRepo.save(publisher)
+                .doOnSuccess(saved -> ReactiveCaches.evict(cacheManager, CACHE, publisher.getName()));
+    }
+
+    @Override
+    public Mono<Boolean> subscribe(String publisherName, String subscriberEmail) {
+        return checkSubscriptionParties(publisherName, subscriberEmail)
+                .then(Mono.defer(() -> subscriptionRepo.insertIfAbsent(publisherName, subscriberEmail)));
+    }
+
+    @Override
+    public Mono<Boolean> unsubscribe(String publisherName, String subscriberEmail) {
+        return checkSubscriptionParties(publisherName, subscriberEmail)
+                .then(subscriptionRepo.deleteByPublisherNameAndSubscriberEmail(publisherName, subscriberEmail))
+                .map(deleted -> deleted > 0);
+    }
+
+    @Override
+    public Mono<Void> delete(String name) {
+        return publisherRepo.deleteByName(name)
+                .flatMap(deleted -> deleted > 0
+                        ? subscriptionRepo.deleteByPublisherName(name)
+                            .doOnSuccess(subscriptions -> ReactiveCaches.evict(cacheManager, CACHE, name))
+                            .then()
+                        : Mono.error(new NoSuchElementException()));
+    }
+
+    private Flux<Subscriber> readSubscribers(List<String> emails) {
+        return subscriberRepo.findAllById(emails)
+                .sort(Comparator.comparing(Subscriber::getEmail));
+    }
+
+    private Flux<Publisher> readPublishers(List<String> names) {
+        return publisherRepo.findAllById(names)
+                .sort(Comparator.comparing(Publisher::getName));
+    }
+
+    /**
+     * Completes with {@link NoSuchElementException} if publisher or subscriber doesn't exist.
+     */
+    private Mono<Void> checkSubscriptionParties(String publisherName, String subscriberEmail) {
+        return checkPublisherExists(publisherName)
+                .then(Mono.defer(() -> subscriberService.readByEmail(subscriberEmail)))
+                .then();
+    }
+
+    /**
+     * Completes with {@link NoSuchElementException} if publisher doesn't exist.
+     */
+    private Mono<Void> checkPublisherExists(String publisherName) {
+        return publisherRepo.existsById(publisherName)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new NoSuchElementException()));
+    }
+
+}
@@ -0,0 +1,78 @@
+package guzev.petproj.bl.services.reactive.impl;
+
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.services.reactive.ReactiveSubscriberService;
+import guzev.petproj.dao.entities.Subscriber;
+import guzev.petproj.dao.repositories.reactive.ReactiveSubscriberRepository;
+import guzev.petproj.dao.repositories.reactive.ReactiveSubscriptionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveSubscriberServiceImpl implements ReactiveSubscriberService {
+
+    private static final String CACHE = "subscribers";
+
+    private final ReactiveSubscriberRepository subscriberRepo;
+    private final ReactiveSubscriptionRepository subscriptionRepo;
+    private final CacheManager cacheManager;
+
+    @Override
+    public Mono<Subscriber> create(Subscriber subscriber) {
+        return subscriberRepo.insert(subscriber)
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new DuplicateKeyException("A user with entered email already exists in system.", e));
+    }
+
+    @Override
+    public Mono<Subscriber> readByEmail(String email) {
+        return ReactiveCaches.readThrough(cacheManager, CACHE, email, Subscriber.class, subscriberRepo.findById(email))
+                .switchIfEmpty(Mono.error(NoSuchElementException::new));
+    }
+
+    @Override
+    public Flux<Subscriber> readAll(int page, int size) {
+        return subscriberRepo.readSubscribersBy(PageRequest.of(page, size, Sort.by("email")));
+    }
+
+    @Override
+    public Mono<CursorPage<Subscriber>> readAll(String after, int size) {
+        final String lastEmail = CursorPage.decode(after);
+        final Pageable pageable = PageRequest.of(0, size + 1, Sort.by("email"));
+
+        return (lastEmail == null
+                ? subscriberRepo.readSubscribersBy(pageable)
+                : subscriberRepo.readSubscribersByEmailGreaterThan(lastEmail, pageable))
+                .collectList()
+                .map(subscribers -> CursorPage.of(subscribers, size, Subscriber::getEmail));
+    }
+
+    @Override
+    public Mono<Subscriber> update(Subscriber subscriber) {
+        return subscriberRepo.save(subscriber)
+                .doOnSuccess(saved -> ReactiveCaches.evict(cacheManager, CACHE, subscriber.getEmail()));
+    }
+
+    @Override
+    public Mono<Void> delete(String email) {
+        return subscriberRepo.deleteByEmail(email)
+                .flatMap(deleted -> deleted > 0
+                        ? subscriptionRepo.deleteBySubscriberEmail(email)
+                            .doOnSuccess(subscriptions -> ReactiveCaches.evict(cacheManager, CACHE, email))
+                            .then()
+                        : Mono.error(new NoSuchElementException()));
+    }
+
+}
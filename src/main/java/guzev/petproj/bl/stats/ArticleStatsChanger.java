@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 /**
  * <h3>Class to change <b>{@link Article}</b> statistics.</h3>
  * Programmer can't change statistics via {@link Article} super class. Only via this class.
+ * To write statistics changes to db use {@link StatsUpdater}.
  * */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ArticleStatsChanger extends Article {
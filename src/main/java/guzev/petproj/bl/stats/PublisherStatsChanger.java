@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 /**
  * <h3>Class to change <b>{@link Publisher}</b> statistics.</h3>
  * Programmer can't change statistics via {@link Publisher} super class. Only via this class.
+ * To write statistics changes to db use {@link StatsUpdater}.
  * */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class PublisherStatsChanger extends Publisher {
@@ -0,0 +1,66 @@
+package guzev.petproj.bl.stats;
+
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * <h3>Component to write <b>{@link Publisher}</b> and <b>{@link Article}</b> statistics to db.</h3>
+ * Statistics are changed by atomic <b>{@code $inc}</b> updates of a single field, so concurrent
+ * changes never overwrite each other and the rest of the document is not rewritten.
+ * Unlike {@link PublisherStatsChanger} and {@link ArticleStatsChanger} no document has to be loaded first.
+ * */
+@Component
+@RequiredArgsConstructor
+public class StatsUpdater {
+
+    private static final String VIEWS = "views";
+    private static final String MAILS_SENT = "mailsSent";
+
+    private final MongoTemplate mongoTemplate;
+
+    public void increasePublisherViews(String name, long count) {
+        increase(Publisher.class, name, VIEWS, count);
+    }
+
+    public void increaseArticleViews(String id, long count) {
+        increase(Article.class, id, VIEWS, count);
+    }
+
+    public void increaseMailsSent(String publisherName, long count) {
+        increase(Publisher.class, publisherName, MAILS_SENT, count);
+    }
+
+    /**
+     * Increases views of several documents of one collection by a single bulk operation.
+     * @param views views count by document id.
+     */
+    public void increaseViews(Class<?> entityClass, Collection<Map.Entry<String, Long>> views) {
+        if (views.isEmpty())
+            return;
+
+        final BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+
+        views.forEach(difference -> operations.updateOne(
+                query(where("_id").is(difference.getKey())),
+                new Update().inc(VIEWS, difference.getValue())));
+
+        operations.execute();
+    }
+
+    private void increase(Class<?> entityClass, String id, String field, long count) {
+        if (count != 0)
+            mongoTemplate.updateFirst(query(where("_id").is(id)), new Update().inc(field, count), entityClass);
+    }
+
+}
@@ -0,0 +1,212 @@
+package guzev.petproj.bl.stats;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h3>Write-ahead log of views that are not written to db yet.</h3>
+ * Journal is a memory-mapped file <b>{@code stats.views.journal.path}</b> of two segments, each holds
+ * <b>{@code stats.views.journal.capacity}</b> fixed size records <i>(from application.properties)</i>.
+ * Views are appended to the active segment without allocations. Before a flush the active
+ * segment is sealed and appends continue in the other one, after the flush the sealed segment is truncated.
+ * <p>Segment is truncated by increasing its generation, records of older generations are ignored, so
+ * no data is rewritten. Appended records survive a process crash, they are replayed on startup
+ * and may be counted twice if the process stops during a flush.</p>
+ * */
+@Component
+public class ViewsJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewsJournal.class);
+
+    /**
+     * Record layout: generation (int), tag (byte), id length (byte), padding, count (long), id chars.*/
+    static final int RECORD_SIZE = 128;
+    static final int MAX_ID_LENGTH = (RECORD_SIZE - 16) / Character.BYTES;
+
+    private static final int GENERATION_OFFSET = 0;
+    private static final int TAG_OFFSET = 4;
+    private static final int LENGTH_OFFSET = 5;
+    private static final int COUNT_OFFSET = 8;
+    private static final int ID_OFFSET = 16;
+
+    @Value("${stats.views.journal.path}")
+    private Path path;
+
+    @Value("${stats.views.journal.capacity}")
+    private int capacity;
+
+    private MappedByteBuffer buffer;
+
+    private Segment[] segments;
+
+    private volatile Segment active;
+
+    private Segment sealed;
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(int tag, String id, long count);
+    }
+
+    @PostConstruct
+    public void open() {
+        final long size = 2L * segmentSize();
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            if (channel.size() != 0 && channel.size() != size) {
+                logger.warn("Views journal {} has unexpected size {}, its records are dropped.", path, channel.size());
+                channel.truncate(0);
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open views journal " + path, e);
+        }
+
+        segments = new Segment[]{new Segment(0), new Segment(segmentSize())};
+        active = segments[0];
+    }
+
+    @PreDestroy
+    public void close() {
+        buffer.force();
+    }
+
+    /**
+     * Appends views of a document to the active segment.
+     * @param tag positive collection tag.
+     * Ids longer than {@link #MAX_ID_LENGTH} are not journaled.
+     * @return <b>false</b> if active segment is full and should be flushed, views are not journaled then.
+     */
+    public boolean append(int tag, String id, long count) {
+        final int length = id.length();
+
+        if (length > MAX_ID_LENGTH)
+            return true;
+
+        final Segment segment = active;
+
+        //position is not increased once segment is full, so it can't overflow
+        if (segment.position.get() >= capacity)
+            return false;
+
+        final int slot = segment.position.getAndIncrement();
+
+        if (slot >= capacity)
+            return false;
+
+        final int offset = segment.recordOffset(slot);
+
+        buffer.put(offset + TAG_OFFSET, (byte) tag);
+        buffer.put(offset + LENGTH_OFFSET, (byte) length);
+        buffer.putLong(offset + COUNT_OFFSET, count);
+        for (int i = 0; i < length; i++)
+            buffer.putChar(offset + ID_OFFSET + i * Character.BYTES, id.charAt(i));
+
+        //record becomes valid once its generation matches the segment's one
+        buffer.putInt(offset + GENERATION_OFFSET, segment.generation);
+
+        return true;
+    }
+
+    /**
+     * Seals active segment, following appends go to the other one.
+     * Callers must ensure no appends are in progress.*/
+    public void rotate() {
+        sealed = active;
+        active = sealed == segments[0] ? segments[1] : segments[0];
+    }
+
+    /**
+     * Drops records of the segment sealed by {@link #rotate()}.*/
+    public void truncateSealed() {
+        if (sealed != null) {
+            sealed.truncate();
+            sealed = null;
+        }
+    }
+
+    /**
+     * Reads records of both segments and truncates them before passing to consumer,
+     * so consumer may append them again if they are not written to db right away.*/
+    public void replay(RecordConsumer consumer) {
+        final List<Runnable> records = new ArrayList<>();
+
+        for (Segment segment : segments) {
+            for (int slot = 0; slot < capacity; slot++) {
+                final int offset = segment.recordOffset(slot);
+
+                final int tag = buffer.get(offset + TAG_OFFSET);
+                final int length = buffer.get(offset + LENGTH_OFFSET);
+                final long count = buffer.getLong(offset + COUNT_OFFSET);
+
+                if (buffer.getInt(offset + GENERATION_OFFSET) != segment.generation
+                        || tag <= 0 || length <= 0 || length > MAX_ID_LENGTH || count <= 0)
+                    continue;
+
+                final char[] id = new char[length];
+                for (int i = 0; i < length; i++)
+                    id[i] = buffer.getChar(offset + ID_OFFSET + i * Character.BYTES);
+
+                records.add(() -> consumer.accept(tag, new String(id), count));
+            }
+
+            segment.truncate();
+        }
+
+        if (!records.isEmpty())
+            logger.info("Replaying {} views journal records.", records.size());
+
+        records.forEach(Runnable::run);
+    }
+
+    private int segmentSize() {
+        //first record of a segment is its header
+        return (capacity + 1) * RECORD_SIZE;
+    }
+
+    private class Segment {
+
+        private final int headerOffset;
+
+        private final AtomicInteger position = new AtomicInteger();
+
+        private volatile int generation;
+
+        private Segment(int headerOffset) {
+            this.headerOffset = headerOffset;
+
+            //records of zero-filled file can't be valid, they are written with generation 1 and later
+            this.generation = Math.max(buffer.getInt(headerOffset), 1);
+            buffer.putInt(headerOffset, generation);
+        }
+
+        private int recordOffset(int slot) {
+            return headerOffset + (slot + 1) * RECORD_SIZE;
+        }
+
+        private void truncate() {
+            generation++;
+            buffer.putInt(headerOffset, generation);
+            buffer.force(headerOffset, Integer.BYTES);
+            position.set(0);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package guzev.petproj.bl.subscriptions;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h3>Result of bulk subscribing or unsubscribing.</h3>
+ * @param counts number of emails of every status.
+ * @param results result of every email, in input order.
+ * */
+public record BulkSubscriptionReport(Map<Status, Integer> counts, List<EmailResult> results) {
+
+    public enum Status {
+        SUBSCRIBED, ALREADY_SUBSCRIBED, UNSUBSCRIBED, NOT_SUBSCRIBED, UNKNOWN_SUBSCRIBER;
+
+        /**
+         * @return status of an email repeated in the list after it has been processed.
+         */
+        Status repeated() {
+            return switch (this) {
+                case SUBSCRIBED -> ALREADY_SUBSCRIBED;
+                case UNSUBSCRIBED -> NOT_SUBSCRIBED;
+                default -> this;
+            };
+        }
+    }
+
+    public record EmailResult(String email, Status status) {}
+
+    public static BulkSubscriptionReport of(List<EmailResult> results) {
+        final Map<Status, Integer> counts = new EnumMap<>(Status.class);
+        results.forEach(result -> counts.merge(result.status(), 1, Integer::sum));
+
+        return new BulkSubscriptionReport(counts, results);
+    }
+
+}
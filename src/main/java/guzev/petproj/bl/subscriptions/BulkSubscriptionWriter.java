@@ -0,0 +1,192 @@
+package guzev.petproj.bl.subscriptions;
+
+import com.mongodb.bulk.BulkWriteError;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionReport.EmailResult;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionReport.Status;
+import guzev.petproj.dao.entities.Subscriber;
+import guzev.petproj.dao.entities.Subscription;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * <h3>Component that subscribes or unsubscribes a list of emails to a publisher.</h3>
+ * Emails are read from a stream, one per line, and processed by chunks of
+ * <b>{@code subscriptions.bulk.chunk-size}</b> emails <i>(from application.properties)</i>.
+ * Every chunk takes one {@code $in} query for existing subscriptions, one for existing subscribers
+ * and one unordered bulk insert or one delete, instead of a few queries per email.
+ * */
+@Component
+@RequiredArgsConstructor
+public class BulkSubscriptionWriter {
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private static final String PUBLISHER_NAME = "publisherName";
+    private static final String SUBSCRIBER_EMAIL = "subscriberEmail";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${subscriptions.bulk.chunk-size}")
+    private int chunkSize;
+
+    /**
+     * Publisher existence is not checked.
+     * @throws UncheckedIOException if the stream can't be read, chunks processed before stay in db.
+     */
+    public BulkSubscriptionReport subscribe(String publisherName, InputStream emails) {
+        return process(emails, chunk -> subscribe(publisherName, chunk));
+    }
+
+    /**
+     * Publisher existence is not checked.
+     * @throws UncheckedIOException if the stream can't be read, chunks processed before stay in db.
+     */
+    public BulkSubscriptionReport unsubscribe(String publisherName, InputStream emails) {
+        return process(emails, chunk -> unsubscribe(publisherName, chunk));
+    }
+
+    private BulkSubscriptionReport process(InputStream emails, Function<Set<String>, Map<String, Status>> writer) {
+        final List<EmailResult> results = new ArrayList<>();
+        final List<String> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(emails, StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = lines.readLine()) != null) {
+                if (!line.isBlank())
+                    chunk.add(line.trim());
+
+                if (chunk.size() == chunkSize)
+                    write(chunk, writer, results);
+            }
+
+            write(chunk, writer, results);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read emails", e);
+        }
+
+        return BulkSubscriptionReport.of(results);
+    }
+
+    private void write(List<String> chunk, Function<Set<String>, Map<String, Status>> writer, List<EmailResult> results) {
+        if (chunk.isEmpty())
+            return;
+
+        final Map<String, Status> statuses = writer.apply(new LinkedHashSet<>(chunk));
+        final Set<String> reported = new HashSet<>();
+
+        chunk.forEach(email -> results.add(new EmailResult(email,
+                reported.add(email) ? statuses.get(email) : statuses.get(email).repeated())));
+
+        chunk.clear();
+    }
+
+    private Map<String, Status> subscribe(String publisherName, Set<String> emails) {
+        final Map<String, Status> statuses = new HashMap<>();
+        final Set<String> subscribed = readSubscribedEmails(publisherName, emails);
+        final Set<String> known = readExistingSubscribers(emails);
+
+        final List<Subscription> subscriptions = new ArrayList<>();
+        for (String email : emails) {
+            if (subscribed.contains(email))
+                statuses.put(email, Status.ALREADY_SUBSCRIBED);
+            else if (!known.contains(email))
+                statuses.put(email, Status.UNKNOWN_SUBSCRIBER);
+            else
+                subscriptions.add(new Subscription(publisherName, email, Instant.now()));
+        }
+
+        if (subscriptions.isEmpty())
+            return statuses;
+
+        final Map<Integer, BulkWriteError> errors = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Subscription.class)
+                    .insert(subscriptions)
+                    .execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> errors.put(error.getIndex(), error));
+        }
+
+        for (int i = 0; i < subscriptions.size(); i++) {
+            final BulkWriteError error = errors.get(i);
+
+            if (error != null && error.getCode() != DUPLICATE_KEY_ERROR)
+                throw new IllegalStateException("Cannot insert subscription: " + error.getMessage());
+
+            //duplicate is a subscription inserted concurrently
+            statuses.put(subscriptions.get(i).getSubscriberEmail(), error == null ? Status.SUBSCRIBED : Status.ALREADY_SUBSCRIBED);
+        }
+
+        return statuses;
+    }
+
+    private Map<String, Status> unsubscribe(String publisherName, Set<String> emails) {
+        final Map<String, Status> statuses = new HashMap<>();
+        final Set<String> subscribed = readSubscribedEmails(publisherName, emails);
+
+        if (!subscribed.isEmpty())
+            mongoTemplate.remove(query(where(PUBLISHER_NAME).is(publisherName).and(SUBSCRIBER_EMAIL).in(subscribed)),
+                    Subscription.class);
+
+        final Set<String> notSubscribed = new HashSet<>(emails);
+        notSubscribed.removeAll(subscribed);
+        final Set<String> known = readExistingSubscribers(notSubscribed);
+
+        emails.forEach(email -> statuses.put(email, subscribed.contains(email) ? Status.UNSUBSCRIBED
+                : known.contains(email) ? Status.NOT_SUBSCRIBED : Status.UNKNOWN_SUBSCRIBER));
+
+        return statuses;
+    }
+
+    /**
+     * @return emails subscribed to the publisher, read by the unique publisher and subscriber index only.
+     */
+    private Set<String> readSubscribedEmails(String publisherName, Set<String> emails) {
+        final Query query = query(where(PUBLISHER_NAME).is(publisherName).and(SUBSCRIBER_EMAIL).in(emails));
+        query.fields().include(SUBSCRIBER_EMAIL).exclude("_id");
+
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Subscription.class)).stream()
+                .map(document -> document.getString(SUBSCRIBER_EMAIL))
+                .collect(Collectors.toSet());
+    }
+
+    private Set<String> readExistingSubscribers(Set<String> emails) {
+        if (emails.isEmpty())
+            return Set.of();
+
+        final Query query = query(where("_id").in(emails));
+        query.fields().include("_id");
+
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Subscriber.class)).stream()
+                .map(document -> document.getString("_id"))
+                .collect(Collectors.toSet());
+    }
+
+}
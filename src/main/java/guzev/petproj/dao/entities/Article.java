@@ -6,6 +6,7 @@ import lombok.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -16,7 +17,9 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Document(collection = "article")
 @CompoundIndexes({
-        @CompoundIndex(name = "unique_title_publisher", unique = true, def = "{'title': 1, 'publisher': 1}")
+        @CompoundIndex(name = "unique_title_publisher", unique = true, def = "{'title': 1, 'publisher': 1}"),
+        //articles of a publisher, sorted by id for keyset pagination
+        @CompoundIndex(name = "publisher_id", def = "{'publisher.$id': 1, '_id': 1}")
 })
 public class Article {
 
@@ -25,10 +28,13 @@ public class Article {
     @Id
     private String id;
 
+    //text index for search, title matches weigh more than content ones
+    @TextIndexed(weight = 3)
     private String title;
 
+    @TextIndexed
     private String content;
-    
+
     @DBRef
     private Publisher publisher;
 
@@ -0,0 +1,67 @@
+package guzev.petproj.dao.entities;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * <h3>Class represents a pending notification of {@link Publisher} subscribers (outbox record).</h3>
+ * Record is claimed by a worker till <b>{@code nextAttemptAt}</b>, failed deliveries are retried later.*/
+
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Document(collection = "notification")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+})
+public class Notification {
+
+    @Id
+    private String id;
+
+    private String publisherName;
+
+    private String messageText;
+
+    private Status status = Status.PENDING;
+
+    private Integer attempts = 0;
+
+    private Instant createdAt;
+
+    private Instant nextAttemptAt;
+
+    /**
+     * Sent notifications are removed from db after a week.*/
+    @Indexed(expireAfter = "7d")
+    private Instant sentAt;
+
+    /**
+     * Number of notified subscribers, increased after every sent chunk.*/
+    private Integer recipients;
+
+    /**
+     * Email of the last notified subscriber, delivery is resumed after it.*/
+    private String lastRecipient;
+
+    private String lastError;
+
+    public Notification(@NonNull String publisherName, @NonNull String messageText, @NonNull Instant createdAt) {
+        this.publisherName = publisherName;
+        this.messageText = messageText;
+        this.createdAt = createdAt;
+        this.nextAttemptAt = createdAt;
+    }
+
+    public enum Status {
+        PENDING,
+        IN_PROGRESS,
+        SENT,
+        FAILED
+    }
+}
@@ -4,14 +4,11 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
- * <h3>Class represents a publisher that posts {@link Article}.</h3>*/
+ * <h3>Class represents a publisher that posts {@link Article}.</h3>
+ * Publisher subscribers are stored separately as {@link Subscription}.*/
 
 @Data
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -31,10 +28,6 @@ public class Publisher {
 
     private String address;
 
-    @EqualsAndHashCode.Exclude
-    @DBRef(lazy = true)
-    private Set<Subscriber> subscribers = new HashSet<>();
-
     //statistical properties
 
     @EqualsAndHashCode.Exclude
@@ -58,18 +51,12 @@ public class Publisher {
         this.address = address;
     }
 
-    public Publisher(String name, String link, String redactor, String contactNumber, String address, Set<Subscriber> subscribers) {
-        this(name, link, redactor, contactNumber, address);
-        this.subscribers.addAll(subscribers);
-    }
-
     protected Publisher(Publisher publisher) {
         this.name = publisher.name;
         this.link = publisher.link;
         this.redactor = publisher.redactor;
         this.contactNumber = publisher.contactNumber;
         this.address = publisher.address;
-        this.subscribers = publisher.subscribers;
         this.views = publisher.views;
         this.mailsSent = publisher.mailsSent;
     }
@@ -0,0 +1,37 @@
+package guzev.petproj.dao.entities;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * <h3>Class represents a subscription of {@link Subscriber} to {@link Publisher} articles.</h3>*/
+
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Document(collection = "subscription")
+@CompoundIndexes({
+        @CompoundIndex(name = "unique_publisher_subscriber", unique = true, def = "{'publisherName': 1, 'subscriberEmail': 1}"),
+        @CompoundIndex(name = "subscriber_publisher", def = "{'subscriberEmail': 1, 'publisherName': 1}")
+})
+public class Subscription {
+
+    @Id
+    private String id;
+
+    private String publisherName;
+
+    private String subscriberEmail;
+
+    private Instant createdAt;
+
+    public Subscription(@NonNull String publisherName, @NonNull String subscriberEmail, @NonNull Instant createdAt) {
+        this.publisherName = publisherName;
+        this.subscriberEmail = subscriberEmail;
+        this.createdAt = createdAt;
+    }
+}
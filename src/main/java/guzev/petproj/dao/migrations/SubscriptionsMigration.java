@@ -0,0 +1,75 @@
+package guzev.petproj.dao.migrations;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.entities.Subscription;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * <h3>Migration that moves subscribers embedded in publisher documents to {@link Subscription} collection.</h3>
+ * Publisher documents used to keep <b>{@code subscribers}</b> array of subscriber references.
+ * Every reference is upserted as a subscription, after that the array is removed from the publisher document.
+ * Migration runs on application start and does nothing when there is no publisher with the array left.*/
+
+@Component
+@RequiredArgsConstructor
+public class SubscriptionsMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionsMigration.class);
+
+    private static final String SUBSCRIBERS = "subscribers";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        final MongoCollection<Document> publishers = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Publisher.class));
+        int migrated = 0;
+
+        for (Document publisher : publishers.find(Filters.exists(SUBSCRIBERS)).projection(Projections.include(SUBSCRIBERS))) {
+            final String publisherName = publisher.getString("_id");
+            final List<?> subscribers = publisher.getList(SUBSCRIBERS, Object.class);
+
+            if (subscribers != null && !subscribers.isEmpty()) {
+                final BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Subscription.class);
+                final Instant now = Instant.now();
+
+                subscribers.forEach(subscriber -> operations.upsert(
+                        query(where("publisherName").is(publisherName).and("subscriberEmail").is(subscriberEmail(subscriber))),
+                        new Update().setOnInsert("createdAt", now)));
+
+                operations.execute();
+                migrated += subscribers.size();
+            }
+
+            publishers.updateOne(Filters.eq("_id", publisherName), Updates.unset(SUBSCRIBERS));
+        }
+
+        if (migrated > 0)
+            logger.info("{} subscriptions moved to subscription collection", migrated);
+    }
+
+    private static String subscriberEmail(Object subscriber) {
+        return subscriber instanceof DBRef reference ? String.valueOf(reference.getId()) : String.valueOf(subscriber);
+    }
+
+}
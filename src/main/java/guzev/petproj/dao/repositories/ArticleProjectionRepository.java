@@ -0,0 +1,54 @@
+package guzev.petproj.dao.repositories;
+
+import guzev.petproj.dao.entities.Article;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <h3>Reads of articles with only requested fields.</h3>
+ * Fields that are not requested are not read from db and are <b>null</b> (or default) in returned articles.*/
+public interface ArticleProjectionRepository {
+
+    /**
+     * @param publisherName publisher of articles, <b>null</b> to read articles of all publishers.
+     */
+    List<Article> readArticles(String publisherName, Pageable pageable, Collection<String> fields);
+
+    /**
+     * Reads articles sorted by id (keyset pagination), <b>{@code id}</b> is always read.
+     * @param publisherName publisher of articles, <b>null</b> to read articles of all publishers.
+     * @param lastId id to read articles after, <b>null</b> to read from the first one.
+     */
+    Slice<Article> readArticlesAfter(String publisherName, String lastId, int size, Collection<String> fields);
+
+    /**
+     * Reads articles by ids in any order, <b>{@code id}</b> is always read.*/
+    List<Article> readArticlesByIds(Collection<String> ids, Collection<String> fields);
+
+    /**
+     * Searches articles by text index, sorted by relevance score (descending) and id (keyset pagination),
+     * <b>{@code id}</b> is always read.
+     * @param publisherName publisher of articles, <b>null</b> to search articles of all publishers.
+     * @param after score and id of the article to read articles after, <b>null</b> to read from the first one.
+     * @param limit max number of articles to read.
+     */
+    List<ScoredArticle> searchArticles(String text, String publisherName, ScoredArticle.Key after,
+                                       int limit, Collection<String> fields);
+
+    /**
+     * Article found by text search with its relevance score.*/
+    record ScoredArticle(Article article, double score) {
+
+        public Key key() {
+            return new Key(score, article.getId());
+        }
+
+        /**
+         * Sort key of a search result.*/
+        public record Key(double score, String id) {}
+    }
+
+}
@@ -0,0 +1,179 @@
+package guzev.petproj.dao.repositories;
+
+import com.mongodb.DBRef;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Articles are read as documents and their publishers are fetched by one {@code $in} query per page
+ * and set in place of {@code @DBRef}, instead of resolving the reference of each article separately.
+ * Queries are written in db field names as documents are not mapped.*/
+@RequiredArgsConstructor
+class ArticleProjectionRepositoryImpl implements ArticleProjectionRepository {
+
+    private static final String COLLECTION = "article";
+    private static final String ID = "_id";
+    private static final String PUBLISHER = "publisher";
+    private static final String PUBLISHER_NAME = "publisher.$id";
+    private static final String SCORE = "score";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Article> readArticles(String publisherName, Pageable pageable, Collection<String> fields) {
+        final Criteria criteria = new Criteria();
+
+        if (publisherName != null)
+            criteria.and(PUBLISHER_NAME).is(publisherName);
+
+        final Query query = query(criteria).with(pageable);
+
+        //pages are read in id order, so they are stable and read by index
+        if (pageable.getSort().isUnsorted())
+            query.with(Sort.by(ID));
+
+        return find(query, fields);
+    }
+
+    @Override
+    public Slice<Article> readArticlesAfter(String publisherName, String lastId, int size, Collection<String> fields) {
+        final Pageable pageable = PageRequest.of(0, size, Sort.by(ID));
+        final Criteria criteria = new Criteria();
+
+        if (publisherName != null)
+            criteria.and(PUBLISHER_NAME).is(publisherName);
+        if (lastId != null)
+            criteria.and(ID).gt(toId(lastId));
+
+        //one more article is read to know if there is a next page
+        final List<Article> articles = find(query(criteria).with(pageable).limit(size + 1), fields);
+
+        final boolean hasNext = articles.size() > size;
+
+        return new SliceImpl<>(hasNext ? articles.subList(0, size) : articles, pageable, hasNext);
+    }
+
+    @Override
+    public List<Article> readArticlesByIds(Collection<String> ids, Collection<String> fields) {
+        if (ids.isEmpty())
+            return List.of();
+
+        return find(query(where(ID).in(ids.stream().map(ArticleProjectionRepositoryImpl::toId).toList())), fields);
+    }
+
+    /**
+     * Score is added to documents as a field, so the next page can be matched after the last score and id.
+     * Text match must be the first stage to use the text index.*/
+    @Override
+    public List<ScoredArticle> searchArticles(String text, String publisherName, ScoredArticle.Key after,
+                                              int limit, Collection<String> fields) {
+        final Document match = new Document("$text", new Document("$search", text));
+
+        if (publisherName != null)
+            match.append(PUBLISHER_NAME, publisherName);
+
+        final List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(stage("$match", match));
+        stages.add(stage("$addFields", new Document(SCORE, new Document("$meta", "textScore"))));
+
+        if (after != null)
+            stages.add(stage("$match", new Document("$or", List.of(
+                    new Document(SCORE, new Document("$lt", after.score())),
+                    new Document(SCORE, after.score()).append(ID, new Document("$gt", toId(after.id())))))));
+
+        stages.add(stage("$sort", new Document(SCORE, -1).append(ID, 1)));
+        stages.add(stage("$limit", limit));
+
+        if (!fields.isEmpty()) {
+            final Document projection = new Document(ID, 1).append(SCORE, 1);
+            fields.forEach(field -> projection.append(field.equals("id") ? ID : field, 1));
+            stages.add(stage("$project", projection));
+        }
+
+        final List<Document> documents = mongoTemplate.aggregate(Aggregation.newAggregation(stages), COLLECTION, Document.class)
+                .getMappedResults();
+
+        final List<Double> scores = documents.stream()
+                .map(document -> ((Number) document.remove(SCORE)).doubleValue())
+                .toList();
+        final List<Article> articles = toArticles(documents);
+
+        return IntStream.range(0, articles.size())
+                .mapToObj(i -> new ScoredArticle(articles.get(i), scores.get(i)))
+                .toList();
+    }
+
+    private List<Article> find(Query query, Collection<String> fields) {
+        fields.forEach(field -> query.fields().include(field.equals("id") ? ID : field));
+
+        return toArticles(mongoTemplate.find(query, Document.class, COLLECTION));
+    }
+
+    private List<Article> toArticles(List<Document> documents) {
+        final Map<Object, Publisher> publishers = readPublishers(documents);
+
+        return documents.stream()
+                .map(document -> {
+                    final DBRef publisherRef = (DBRef) document.remove(PUBLISHER);
+                    final Article article = mongoTemplate.getConverter().read(Article.class, document);
+
+                    if (publisherRef != null)
+                        article.setPublisher(publishers.get(publisherRef.getId()));
+
+                    return article;
+                })
+                .toList();
+    }
+
+    /**
+     * @return publishers referenced by the documents by their names, read by one query.
+     */
+    private Map<Object, Publisher> readPublishers(List<Document> documents) {
+        final Set<Object> publisherNames = documents.stream()
+                .map(document -> document.get(PUBLISHER, DBRef.class))
+                .filter(Objects::nonNull)
+                .map(DBRef::getId)
+                .collect(Collectors.toSet());
+
+        if (publisherNames.isEmpty())
+            return Map.of();
+
+        return mongoTemplate.find(query(where("name").in(publisherNames)), Publisher.class).stream()
+                .collect(Collectors.toMap(Publisher::getName, Function.identity()));
+    }
+
+    private static AggregationOperation stage(String operator, Object value) {
+        return context -> new Document(operator, value);
+    }
+
+    private static Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+}
@@ -1,15 +1,23 @@
 package guzev.petproj.dao.repositories;
 
 import guzev.petproj.dao.entities.Publisher;
-import guzev.petproj.dao.entities.Subscriber;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PublisherRepository extends MongoRepository<Publisher, String> {
 
-    Page<Publisher> findPublishersBySubscribersContains(Subscriber subscriber, Pageable pageable);
+    //keyset pagination
+
+    Slice<Publisher> readPublishersBy(Pageable pageable);
+
+    Slice<Publisher> readPublishersByNameGreaterThan(String name, Pageable pageable);
+
+    /**
+     * @return number of deleted publishers.
+     */
+    long deleteByName(String name);
 
 }
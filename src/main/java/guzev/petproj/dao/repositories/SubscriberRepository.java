@@ -1,9 +1,23 @@
 package guzev.petproj.dao.repositories;
 
 import guzev.petproj.dao.entities.Subscriber;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface SubscriberRepository extends MongoRepository<Subscriber, String> {
+
+    //keyset pagination
+
+    Slice<Subscriber> readSubscribersBy(Pageable pageable);
+
+    Slice<Subscriber> readSubscribersByEmailGreaterThan(String email, Pageable pageable);
+
+    /**
+     * @return number of deleted subscribers.
+     */
+    long deleteByEmail(String email);
+
 }
@@ -0,0 +1,48 @@
+package guzev.petproj.dao.repositories;
+
+import guzev.petproj.dao.entities.Subscription;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+@Repository
+public interface SubscriptionRepository extends MongoRepository<Subscription, String>, SubscriptionWriteRepository {
+
+    /**
+     * Streams subscriptions from a cursor sorted by email, only <b>{@code subscriberEmail}</b> is loaded.
+     * Stream must be closed after use.*/
+    @Query(value = "{'publisherName': ?0}", fields = "{'subscriberEmail': 1, '_id': 0}", sort = "{'subscriberEmail': 1}")
+    @Meta(cursorBatchSize = 1000)
+    Stream<Subscription> streamSubscriptionsByPublisherName(String publisherName);
+
+    /**
+     * Streams subscriptions with emails after the given one, to resume an interrupted notification.
+     * @see #streamSubscriptionsByPublisherName(String)
+     */
+    @Query(value = "{'publisherName': ?0, 'subscriberEmail': {'$gt': ?1}}", fields = "{'subscriberEmail': 1, '_id': 0}",
+            sort = "{'subscriberEmail': 1}")
+    @Meta(cursorBatchSize = 1000)
+    Stream<Subscription> streamSubscriptionsByPublisherNameAfter(String publisherName, String subscriberEmail);
+
+    Slice<Subscription> findSubscriptionsByPublisherName(String publisherName, Pageable pageable);
+
+    Slice<Subscription> findSubscriptionsByPublisherNameAndSubscriberEmailGreaterThan(String publisherName, String subscriberEmail,
+                                                                                       Pageable pageable);
+
+    Slice<Subscription> findSubscriptionsBySubscriberEmail(String subscriberEmail, Pageable pageable);
+
+    Slice<Subscription> findSubscriptionsBySubscriberEmailAndPublisherNameGreaterThan(String subscriberEmail, String publisherName,
+                                                                                       Pageable pageable);
+
+    long deleteByPublisherNameAndSubscriberEmail(String publisherName, String subscriberEmail);
+
+    long deleteByPublisherName(String publisherName);
+
+    long deleteBySubscriberEmail(String subscriberEmail);
+
+}
@@ -0,0 +1,13 @@
+package guzev.petproj.dao.repositories;
+
+/**
+ * <h3>Atomic writes of subscriptions.</h3>*/
+public interface SubscriptionWriteRepository {
+
+    /**
+     * Creates subscription by one upsert, unless it exists. Safe to call concurrently for the same pair.
+     * @return <b>true</b> if subscription is created, <b>false</b> if it already exists.
+     */
+    boolean insertIfAbsent(String publisherName, String subscriberEmail);
+
+}
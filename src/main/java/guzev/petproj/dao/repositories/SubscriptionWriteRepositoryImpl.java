@@ -0,0 +1,38 @@
+package guzev.petproj.dao.repositories;
+
+import com.mongodb.client.result.UpdateResult;
+import guzev.petproj.dao.entities.Subscription;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Upsert is matched by the unique publisher and subscriber index, matched fields are written
+ * to the inserted document and the rest is set only on insert, so an existing subscription is not modified.*/
+@RequiredArgsConstructor
+class SubscriptionWriteRepositoryImpl implements SubscriptionWriteRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean insertIfAbsent(String publisherName, String subscriberEmail) {
+        try {
+            final UpdateResult result = mongoTemplate.upsert(
+                    query(where("publisherName").is(publisherName).and("subscriberEmail").is(subscriberEmail)),
+                    new Update().setOnInsert("createdAt", Instant.now()),
+                    Subscription.class);
+
+            return result.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            //inserted by a concurrent upsert
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package guzev.petproj.dao.repositories.reactive;
+
+import com.mongodb.DBRef;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * <h3>Reactive reads of articles.</h3>
+ * Articles are read as documents, their publishers are fetched by one {@code $in} query per result
+ * and set in place of {@code @DBRef} that reactive driver can't resolve.*/
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveArticleReader {
+
+    private static final String COLLECTION = "article";
+    private static final String PUBLISHER = "publisher";
+    private static final String PUBLISHER_NAME = "publisher.$id";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final ReactivePublisherRepository publisherRepo;
+
+    public Mono<Article> findById(String id) {
+        return find(query(where("_id").is(toId(id))))
+                .next();
+    }
+
+    public Mono<Article> findByTitleAndPublisherName(String title, String publisherName) {
+        return find(query(where("title").is(title).and(PUBLISHER_NAME).is(publisherName)))
+                .next();
+    }
+
+    public Flux<Article> findAll(Pageable pageable) {
+        return find(sortedById(new Query(), pageable));
+    }
+
+    public Flux<Article> findByPublisherName(String publisherName, Pageable pageable) {
+        return find(sortedById(query(where(PUBLISHER_NAME).is(publisherName)), pageable));
+    }
+
+    /**
+     * Reads articles sorted by id (keyset pagination).
+     * @param publisherName publisher of articles, <b>null</b> to read articles of all publishers.
+     * @param lastId id to read articles after, <b>null</b> to read from the first one.
+     */
+    public Flux<Article> findAfter(String publisherName, String lastId, int limit) {
+        final Criteria criteria = new Criteria();
+
+        if (publisherName != null)
+            criteria.and(PUBLISHER_NAME).is(publisherName);
+        if (lastId != null)
+            criteria.and("_id").gt(toId(lastId));
+
+        return find(query(criteria).with(Sort.by("_id")).limit(limit));
+    }
+
+    private Flux<Article> find(Query query) {
+        return mongoTemplate.find(query, Document.class, COLLECTION)
+                .collectList()
+                .flatMapMany(documents -> {
+                    final Set<Object> publisherNames = documents.stream()
+                            .map(document -> document.get(PUBLISHER, DBRef.class))
+                            .filter(Objects::nonNull)
+                            .map(DBRef::getId)
+                            .collect(Collectors.toSet());
+
+                    return publisherRepo.findAllById(publisherNames.stream().map(Object::toString).toList())
+                            .collectMap(Publisher::getName)
+                            .flatMapIterable(publishers -> toArticles(documents, publishers));
+                });
+    }
+
+    private List<Article> toArticles(List<Document> documents, Map<String, Publisher> publishers) {
+        return documents.stream()
+                .map(document -> {
+                    final DBRef publisherRef = (DBRef) document.remove(PUBLISHER);
+                    final Article article = mongoTemplate.getConverter().read(Article.class, document);
+
+                    if (publisherRef != null)
+                        article.setPublisher(publishers.get(publisherRef.getId().toString()));
+
+                    return article;
+                })
+                .toList();
+    }
+
+    /**
+     * Pages are read in id order, so they are stable and read by index.*/
+    private static Query sortedById(Query query, Pageable pageable) {
+        query.with(pageable);
+
+        if (pageable.getSort().isUnsorted())
+            query.with(Sort.by("_id"));
+
+        return query;
+    }
+
+    private static Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+}
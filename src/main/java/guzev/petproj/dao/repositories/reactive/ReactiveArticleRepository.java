@@ -0,0 +1,20 @@
+package guzev.petproj.dao.repositories.reactive;
+
+import guzev.petproj.dao.entities.Article;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * <h3>Reactive repository of articles.</h3>
+ * Reactive driver can't resolve {@code @DBRef} of article publisher, so the repository only
+ * writes articles. Articles are read by {@link ReactiveArticleReader}.*/
+@Repository
+public interface ReactiveArticleRepository extends ReactiveMongoRepository<Article, String> {
+
+    /**
+     * @return number of deleted articles.
+     */
+    Mono<Long> deleteArticleById(String id);
+
+}
@@ -0,0 +1,22 @@
+package guzev.petproj.dao.repositories.reactive;
+
+import guzev.petproj.dao.entities.Publisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactivePublisherRepository extends ReactiveMongoRepository<Publisher, String> {
+
+    Flux<Publisher> readPublishersBy(Pageable pageable);
+
+    Flux<Publisher> readPublishersByNameGreaterThan(String name, Pageable pageable);
+
+    /**
+     * @return number of deleted publishers.
+     */
+    Mono<Long> deleteByName(String name);
+
+}
@@ -0,0 +1,22 @@
+package guzev.petproj.dao.repositories.reactive;
+
+import guzev.petproj.dao.entities.Subscriber;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveSubscriberRepository extends ReactiveMongoRepository<Subscriber, String> {
+
+    Flux<Subscriber> readSubscribersBy(Pageable pageable);
+
+    Flux<Subscriber> readSubscribersByEmailGreaterThan(String email, Pageable pageable);
+
+    /**
+     * @return number of deleted subscribers.
+     */
+    Mono<Long> deleteByEmail(String email);
+
+}
@@ -0,0 +1,30 @@
+package guzev.petproj.dao.repositories.reactive;
+
+import guzev.petproj.dao.entities.Subscription;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveSubscriptionRepository extends ReactiveMongoRepository<Subscription, String>,
+        ReactiveSubscriptionWriteRepository {
+
+    Flux<Subscription> findSubscriptionsByPublisherName(String publisherName, Pageable pageable);
+
+    Flux<Subscription> findSubscriptionsByPublisherNameAndSubscriberEmailGreaterThan(String publisherName, String subscriberEmail,
+                                                                                      Pageable pageable);
+
+    Flux<Subscription> findSubscriptionsBySubscriberEmail(String subscriberEmail, Pageable pageable);
+
+    Flux<Subscription> findSubscriptionsBySubscriberEmailAndPublisherNameGreaterThan(String subscriberEmail, String publisherName,
+                                                                                      Pageable pageable);
+
+    Mono<Long> deleteByPublisherNameAndSubscriberEmail(String publisherName, String subscriberEmail);
+
+    Mono<Long> deleteByPublisherName(String publisherName);
+
+    Mono<Long> deleteBySubscriberEmail(String subscriberEmail);
+
+}
@@ -0,0 +1,16 @@
+package guzev.petproj.dao.repositories.reactive;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * <h3>Atomic writes of subscriptions.</h3>
+ * @see guzev.petproj.dao.repositories.SubscriptionWriteRepository*/
+public interface ReactiveSubscriptionWriteRepository {
+
+    /**
+     * Creates subscription by one upsert, unless it exists.
+     * @return <b>true</b> if subscription is created, <b>false</b> if it already exists.
+     */
+    Mono<Boolean> insertIfAbsent(String publisherName, String subscriberEmail);
+
+}
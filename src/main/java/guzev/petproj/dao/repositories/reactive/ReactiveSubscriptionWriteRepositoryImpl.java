@@ -0,0 +1,31 @@
+package guzev.petproj.dao.repositories.reactive;
+
+import guzev.petproj.dao.entities.Subscription;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@RequiredArgsConstructor
+class ReactiveSubscriptionWriteRepositoryImpl implements ReactiveSubscriptionWriteRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Boolean> insertIfAbsent(String publisherName, String subscriberEmail) {
+        return mongoTemplate.upsert(
+                        query(where("publisherName").is(publisherName).and("subscriberEmail").is(subscriberEmail)),
+                        new Update().setOnInsert("createdAt", Instant.now()),
+                        Subscription.class)
+                .map(result -> result.getUpsertedId() != null)
+                //inserted by a concurrent upsert
+                .onErrorReturn(DuplicateKeyException.class, false);
+    }
+
+}
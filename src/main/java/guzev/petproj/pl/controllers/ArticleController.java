@@ -1,21 +1,43 @@
 package guzev.petproj.pl.controllers;
 
+import guzev.petproj.bl.imports.ImportReport;
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.projections.Projection;
 import guzev.petproj.bl.services.ArticleService;
 import guzev.petproj.dao.entities.Article;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static guzev.petproj.bl.projections.Projection.field;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("pet-proj/api/article")
 @RequiredArgsConstructor
 public class ArticleController {
 
+    /**
+     * Fields of listed articles, content and publisher are only returned if requested.*/
+    private static final Projection<Article> LIST_PROJECTION = new Projection<>(List.of(
+            field("id", Article::getId),
+            field("title", Article::getTitle),
+            field("content", Article::getContent),
+            field("publisher", Article::getPublisher),
+            field("views", Article::getViews)),
+            Set.of("id", "title", "views"));
+
     private final ArticleService articleService;
 
     @Value("${page.result.size}")
@@ -28,6 +50,19 @@ public class ArticleController {
         return ResponseEntity.ok(articleService.create(article, publisherName));
     }
 
+    /**
+     * Imports articles of a publisher from NDJSON body, one article per line.
+     * Body may be compressed, then <b>{@code Content-Encoding: gzip}</b> header must be present.*/
+    @PostMapping("/{publisherName}/bulk")
+    public ResponseEntity<ImportReport> importArticles(@PathVariable("publisherName") String publisherName,
+                                                       @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String encoding,
+                                                       InputStream body) throws IOException {
+
+        final InputStream ndjson = "gzip".equalsIgnoreCase(encoding) ? new GZIPInputStream(body) : body;
+
+        return ResponseEntity.ok(articleService.importArticles(publisherName, ndjson));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Article> readById(@PathVariable("id") String id) {
 
@@ -41,13 +76,50 @@ public class ArticleController {
         return ResponseEntity.ok(articleService.readByTitleAndPublisherName(title, publisherName));
     }
 
+    /**
+     * Reads articles by page number, or after a cursor if <b>{@code after}</b> is present
+     * (empty value reads the first page). In cursor mode response contains next page cursor.
+     * Only <b>{@code fields}</b> (comma separated) of articles are read, id, title and views by default.*/
     @GetMapping
-    public ResponseEntity<List<Article>> read(@RequestParam(value = "publisherName", required = false) Optional<String> publisherName,
-                                              @RequestParam(value = "page", defaultValue = "0") Integer page,
-                                            @RequestParam(value = "size", required = false) Optional<Integer> size) {
+    public ResponseEntity<?> read(@RequestParam(value = "publisherName", required = false) Optional<String> publisherName,
+                                  @RequestParam(value = "page", defaultValue = "0") Integer page,
+                                  @RequestParam(value = "size", required = false) Optional<Integer> size,
+                                  @RequestParam(value = "after", required = false) String after,
+                                  @RequestParam(value = "fields", required = false) String fields) {
+
+        final Projection<Article>.Selection selection = LIST_PROJECTION.select(fields);
+
+        if (after != null) {
+            final CursorPage<Article> articles = publisherName
+                    .map(s -> articleService.readAllByPublisherName(s, after, size.orElse(defaultSize), selection.fields()))
+                    .orElseGet(() -> articleService.readAll(after, size.orElse(defaultSize), selection.fields()));
+
+            return ResponseEntity.ok(new CursorPage<>(selection.apply(articles.content()), articles.next()));
+        }
+
+        final List<Article> articles = publisherName
+                .map(s -> articleService.readAllByPublisherName(s, page, size.orElse(defaultSize), selection.fields()))
+                .orElseGet(() -> articleService.readAll(page, size.orElse(defaultSize), selection.fields()));
+
+        return ResponseEntity.ok(selection.apply(articles));
+    }
+
+    /**
+     * Searches articles by words of <b>{@code q}</b> in their titles and contents, most relevant first.
+     * Results are read after a cursor, <b>{@code after}</b> (absent or empty reads the first page)
+     * and have the same <b>{@code fields}</b> as listed articles.*/
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<Map<String, Object>>> search(@RequestParam("q") String q,
+                                                                  @RequestParam(value = "publisherName", required = false) String publisherName,
+                                                                  @RequestParam(value = "size", required = false) Optional<Integer> size,
+                                                                  @RequestParam(value = "after", required = false) String after,
+                                                                  @RequestParam(value = "fields", required = false) String fields) {
+
+        final Projection<Article>.Selection selection = LIST_PROJECTION.select(fields);
+
+        final CursorPage<Article> articles = articleService.search(q, publisherName, after, size.orElse(defaultSize), selection.fields());
 
-        return publisherName.map(s -> ResponseEntity.ok(articleService.readAllByPublisherName(s, page, size.orElse(defaultSize))))
-                .orElseGet(() -> ResponseEntity.ok(articleService.readAll(page, size.orElse(defaultSize))));
+        return ResponseEntity.ok(new CursorPage<>(selection.apply(articles.content()), articles.next()));
     }
 
     @PutMapping
@@ -1,17 +1,23 @@
 package guzev.petproj.pl.controllers;
 
 import guzev.petproj.bl.services.PublisherService;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionReport;
 import guzev.petproj.dao.entities.Publisher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("pet-proj/api/publisher")
 @RequiredArgsConstructor
 public class PublisherController {
@@ -33,21 +39,46 @@ public class PublisherController {
         return ResponseEntity.ok(publisherService.readByName(publisherName));
     }
 
+    /**
+     * Reads publishers by page number, or after a cursor if <b>{@code after}</b> is present
+     * (empty value reads the first page). In cursor mode response contains next page cursor.*/
     @GetMapping
-    public ResponseEntity<List<Publisher>> read(@RequestParam(value = "page", defaultValue = "0") Integer page,
-                                                @RequestParam(value = "size", required = false) Optional<Integer> size) {
+    public ResponseEntity<?> read(@RequestParam(value = "page", defaultValue = "0") Integer page,
+                                  @RequestParam(value = "size", required = false) Optional<Integer> size,
+                                  @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null)
+            return ResponseEntity.ok(publisherService.readAll(after, size.orElse(defaultSize)));
 
         return ResponseEntity.ok(publisherService.readAll(page, size.orElse(defaultSize)));
     }
 
     @GetMapping("/subscribed")
-    public ResponseEntity<List<Publisher>> readSubscribedPublishers(@RequestParam(value = "email") String subscriberEmail,
-                                                                    @RequestParam(value = "page", defaultValue = "0") Integer page,
-                                                                    @RequestParam(value = "size", required = false) Optional<Integer> size) {
+    public ResponseEntity<?> readSubscribedPublishers(@RequestParam(value = "email") String subscriberEmail,
+                                                      @RequestParam(value = "page", defaultValue = "0") Integer page,
+                                                      @RequestParam(value = "size", required = false) Optional<Integer> size,
+                                                      @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null)
+            return ResponseEntity.ok(publisherService.readSubscribedPublishers(subscriberEmail, after, size.orElse(defaultSize)));
 
         return ResponseEntity.ok(publisherService.readSubscribedPublishers(subscriberEmail, page, size.orElse(defaultSize)));
     }
 
+    /**
+     * Reads subscribers of publisher by page number, or after a cursor if <b>{@code after}</b> is present.*/
+    @GetMapping("/{name}/subscribers")
+    public ResponseEntity<?> readSubscribers(@PathVariable(value = "name") String publisherName,
+                                             @RequestParam(value = "page", defaultValue = "0") Integer page,
+                                             @RequestParam(value = "size", required = false) Optional<Integer> size,
+                                             @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null)
+            return ResponseEntity.ok(publisherService.readSubscribers(publisherName, after, size.orElse(defaultSize)));
+
+        return ResponseEntity.ok(publisherService.readSubscribers(publisherName, page, size.orElse(defaultSize)));
+    }
+
     @PutMapping
     public ResponseEntity<Publisher> updatePublisher(@RequestBody Publisher publisher) {
 
@@ -68,6 +99,27 @@ public class PublisherController {
         return ResponseEntity.ok(Map.of("unsubscribed", publisherService.unsubscribe(publisherName, subscriberEmail)));
     }
 
+    /**
+     * Subscribes emails of the body, one per line, plain or compressed
+     * (then <b>{@code Content-Encoding: gzip}</b> header must be present).*/
+    @PatchMapping("/{name}/subscribe/bulk")
+    public ResponseEntity<BulkSubscriptionReport> subscribeAll(@PathVariable(value = "name") String publisherName,
+                                                               @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String encoding,
+                                                               InputStream body) throws IOException {
+
+        return ResponseEntity.ok(publisherService.subscribeAll(publisherName, decode(encoding, body)));
+    }
+
+    /**
+     * Unsubscribes emails of the body, accepts the same body as {@link #subscribeAll}.*/
+    @PatchMapping("/{name}/unsubscribe/bulk")
+    public ResponseEntity<BulkSubscriptionReport> unsubscribeAll(@PathVariable(value = "name") String publisherName,
+                                                                 @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String encoding,
+                                                                 InputStream body) throws IOException {
+
+        return ResponseEntity.ok(publisherService.unsubscribeAll(publisherName, decode(encoding, body)));
+    }
+
     @DeleteMapping("/{name}")
     public ResponseEntity<?> delete(@PathVariable(value = "name") String publisherName) {
 
@@ -76,4 +128,10 @@ public class PublisherController {
         return ResponseEntity.ok(Map.of("deleted", true));
     }
 
+    /**
+     * Corrupt gzip body fails here or when the stream is read, both are answered with 400 by exception handler.*/
+    private static InputStream decode(String encoding, InputStream body) throws IOException {
+        return "gzip".equalsIgnoreCase(encoding) ? new GZIPInputStream(body) : body;
+    }
+
 }
@@ -4,14 +4,15 @@ import guzev.petproj.bl.services.SubscriberService;
 import guzev.petproj.dao.entities.Subscriber;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("pet-proj/api/subscriber")
 @RequiredArgsConstructor
 public class SubscriberController {
@@ -33,9 +34,16 @@ public class SubscriberController {
         return ResponseEntity.ok(subscriberService.readByEmail(email));
     }
 
+    /**
+     * Reads subscribers by page number, or after a cursor if <b>{@code after}</b> is present
+     * (empty value reads the first page). In cursor mode response contains next page cursor.*/
     @GetMapping
-    public ResponseEntity<List<Subscriber>> read(@RequestParam(value = "page", defaultValue = "0") Integer page,
-                                                 @RequestParam(value = "size", required = false) Optional<Integer> size) {
+    public ResponseEntity<?> read(@RequestParam(value = "page", defaultValue = "0") Integer page,
+                                  @RequestParam(value = "size", required = false) Optional<Integer> size,
+                                  @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null)
+            return ResponseEntity.ok(subscriberService.readAll(after, size.orElse(defaultSize)));
 
         return ResponseEntity.ok(subscriberService.readAll(page, size.orElse(defaultSize)));
     }
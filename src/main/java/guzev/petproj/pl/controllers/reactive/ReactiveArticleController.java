@@ -0,0 +1,76 @@
+package guzev.petproj.pl.controllers.reactive;
+
+import guzev.petproj.bl.services.reactive.ReactiveArticleService;
+import guzev.petproj.dao.entities.Article;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("pet-proj/api/article")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveArticleController {
+
+    private final ReactiveArticleService articleService;
+
+    @Value("${page.result.size}")
+    private Integer defaultSize;
+
+    @PostMapping("/{publisherName}")
+    public Mono<Article> createArticle(@RequestBody Article article,
+                                       @PathVariable("publisherName") String publisherName) {
+
+        return articleService.create(article, publisherName);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Article> readById(@PathVariable("id") String id) {
+
+        return articleService.readById(id);
+    }
+
+    @GetMapping("/{publisherName}/{title}")
+    public Mono<Article> readByTitleAndPublisherName(@PathVariable(value = "title") String title,
+                                                     @PathVariable(value = "publisherName") String publisherName) {
+
+        return articleService.readByTitleAndPublisherName(title, publisherName);
+    }
+
+    /**
+     * Reads articles by page number, or after a cursor if <b>{@code after}</b> is present
+     * (empty value reads the first page). In cursor mode response contains next page cursor.*/
+    @GetMapping
+    public Mono<?> read(@RequestParam(value = "publisherName", required = false) Optional<String> publisherName,
+                        @RequestParam(value = "page", defaultValue = "0") Integer page,
+                        @RequestParam(value = "size", required = false) Optional<Integer> size,
+                        @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null)
+            return publisherName.map(s -> articleService.readAllByPublisherName(s, after, size.orElse(defaultSize)))
+                    .orElseGet(() -> articleService.readAll(after, size.orElse(defaultSize)));
+
+        return publisherName.map(s -> articleService.readAllByPublisherName(s, page, size.orElse(defaultSize)))
+                .orElseGet(() -> articleService.readAll(page, size.orElse(defaultSize)))
+                .collectList();
+    }
+
+    @PutMapping
+    public Mono<Article> updateArticle(@RequestBody Article article) {
+
+        return articleService.update(article);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<?> deleteArticle(@PathVariable("id") String id) {
+
+        return articleService.delete(id)
+                .thenReturn(Map.of("deleted", true));
+    }
+
+}
@@ -0,0 +1,107 @@
+package guzev.petproj.pl.controllers.reactive;
+
+import guzev.petproj.bl.services.reactive.ReactivePublisherService;
+import guzev.petproj.dao.entities.Publisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("pet-proj/api/publisher")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactivePublisherController {
+
+    private final ReactivePublisherService publisherService;
+
+    @Value("${page.result.size}")
+    private Integer defaultSize;
+
+    @PostMapping
+    public Mono<Publisher> createPublisher(@RequestBody Publisher publisher) {
+
+        return publisherService.create(publisher);
+    }
+
+    @GetMapping("/{name}")
+    public Mono<Publisher> readByName(@PathVariable(value = "name") String publisherName) {
+
+        return publisherService.readByName(publisherName);
+    }
+
+    /**
+     * Reads publishers by page number, or after a cursor if <b>{@code after}</b> is present
+     * (empty value reads the first page). In cursor mode response contains next page cursor.*/
+    @GetMapping
+    public Mono<?> read(@RequestParam(value = "page", defaultValue = "0") Integer page,
+                        @RequestParam(value = "size", required = false) Optional<Integer> size,
+                        @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null)
+            return publisherService.readAll(after, size.orElse(defaultSize));
+
+        return publisherService.readAll(page, size.orElse(defaultSize))
+                .collectList();
+    }
+
+    @GetMapping("/subscribed")
+    public Mono<?> readSubscribedPublishers(@RequestParam(value = "email") String subscriberEmail,
+                                            @RequestParam(value = "page", defaultValue = "0") Integer page,
+                                            @RequestParam(value = "size", required = false) Optional<Integer> size,
+                                            @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null)
+            return publisherService.readSubscribedPublishers(subscriberEmail, after, size.orElse(defaultSize));
+
+        return publisherService.readSubscribedPublishers(subscriberEmail, page, size.orElse(defaultSize))
+                .collectList();
+    }
+
+    @GetMapping("/{name}/subscribers")
+    public Mono<?> readSubscribers(@PathVariable(value = "name") String publisherName,
+                                   @RequestParam(value = "page", defaultValue = "0") Integer page,
+                                   @RequestParam(value = "size", required = false) Optional<Integer> size,
+                                   @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null)
+            return publisherService.readSubscribers(publisherName, after, size.orElse(defaultSize));
+
+        return publisherService.readSubscribers(publisherName, page, size.orElse(defaultSize))
+                .collectList();
+    }
+
+    @PutMapping
+    public Mono<Publisher> updatePublisher(@RequestBody Publisher publisher) {
+
+        return publisherService.update(publisher);
+    }
+
+    @PatchMapping("/{name}/subscribe")
+    public Mono<?> subscribePublisher(@PathVariable(value = "name") String publisherName,
+                                      @RequestParam(value = "email") String subscriberEmail) {
+
+        return publisherService.subscribe(publisherName, subscriberEmail)
+                .map(subscribed -> Map.of("subscribed", subscribed));
+    }
+
+    @PatchMapping("/{name}/unsubscribe")
+    public Mono<?> unsubscribePublisher(@PathVariable(value = "name") String publisherName,
+                                        @RequestParam(value = "email") String subscriberEmail) {
+
+        return publisherService.unsubscribe(publisherName, subscriberEmail)
+                .map(unsubscribed -> Map.of("unsubscribed", unsubscribed));
+    }
+
+    @DeleteMapping("/{name}")
+    public Mono<?> delete(@PathVariable(value = "name") String publisherName) {
+
+        return publisherService.delete(publisherName)
+                .thenReturn(Map.of("deleted", true));
+    }
+
+}
@@ -0,0 +1,65 @@
+package guzev.petproj.pl.controllers.reactive;
+
+import guzev.petproj.bl.services.reactive.ReactiveSubscriberService;
+import guzev.petproj.dao.entities.Subscriber;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("pet-proj/api/subscriber")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveSubscriberController {
+
+    private final ReactiveSubscriberService subscriberService;
+
+    @Value("${page.result.size}")
+    private Integer defaultSize;
+
+    @PostMapping
+    public Mono<Subscriber> createSubscriber(@RequestBody Subscriber subscriber) {
+
+        return subscriberService.create(subscriber);
+    }
+
+    @GetMapping("/{email}")
+    public Mono<Subscriber> readSubscriberByEmail(@PathVariable("email") String email) {
+
+        return subscriberService.readByEmail(email);
+    }
+
+    /**
+     * Reads subscribers by page number, or after a cursor if <b>{@code after}</b> is present
+     * (empty value reads the first page). In cursor mode response contains next page cursor.*/
+    @GetMapping
+    public Mono<?> read(@RequestParam(value = "page", defaultValue = "0") Integer page,
+                        @RequestParam(value = "size", required = false) Optional<Integer> size,
+                        @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null)
+            return subscriberService.readAll(after, size.orElse(defaultSize));
+
+        return subscriberService.readAll(page, size.orElse(defaultSize))
+                .collectList();
+    }
+
+    @PutMapping
+    public Mono<Subscriber> updateSubscriber(@RequestBody Subscriber subscriber) {
+
+        return subscriberService.update(subscriber);
+    }
+
+    @DeleteMapping("/{email}")
+    public Mono<?> deleteSubscriber(@PathVariable("email") String email) {
+
+        return subscriberService.delete(email)
+                .thenReturn(Map.of("deleted", true));
+    }
+
+}
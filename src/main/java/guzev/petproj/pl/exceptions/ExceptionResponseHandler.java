@@ -1,5 +1,8 @@
 package guzev.petproj.pl.exceptions;
 
+import guzev.petproj.bl.pagination.InvalidCursorException;
+import guzev.petproj.bl.projections.InvalidFieldsException;
+import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -11,10 +14,14 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.io.EOFException;
+import java.io.IOException;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.zip.ZipException;
 
 @ControllerAdvice
+@Profile("!reactive")
 public class ExceptionResponseHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(DuplicateKeyException.class)
@@ -29,6 +36,27 @@ public class ExceptionResponseHandler extends ResponseEntityExceptionHandler {
         return getResponseEntity("Cannot find resource with the given input.", HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException ex) {
+
+        return getResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<Object> handleInvalidFieldsException(InvalidFieldsException ex) {
+
+        return getResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Body declared as gzip is corrupt or truncated. Also handles these exceptions as causes of
+     * {@link java.io.UncheckedIOException} thrown when a stream body is read by a service.*/
+    @ExceptionHandler({ZipException.class, EOFException.class})
+    public ResponseEntity<Object> handleCorruptBodyException(IOException ex) {
+
+        return getResponseEntity("Cannot read request body: " + ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
     @Override
     protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex, HttpHeaders headers,
                                                                   HttpStatusCode status, WebRequest request) {
@@ -36,7 +64,7 @@ public class ExceptionResponseHandler extends ResponseEntityExceptionHandler {
         return getResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
-    private static ResponseEntity<Object> getResponseEntity(String message, HttpStatusCode status) {
+    static ResponseEntity<Object> getResponseEntity(String message, HttpStatusCode status) {
         return new ResponseEntity<>(getExceptionResponseBody(message, status), status);
     }
 
@@ -0,0 +1,47 @@
+package guzev.petproj.pl.exceptions;
+
+import guzev.petproj.bl.pagination.InvalidCursorException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.NoSuchElementException;
+
+import static guzev.petproj.pl.exceptions.ExceptionResponseHandler.getResponseEntity;
+
+/**
+ * <h3>Exception handler of reactive controllers.</h3>
+ * Responds with the same bodies as {@link ExceptionResponseHandler}.*/
+@ControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionResponseHandler {
+
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<Object> handleDuplicateKeyException(DuplicateKeyException ex) {
+
+        return getResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Object> handleNoSuchElementException() {
+
+        return getResponseEntity("Cannot find resource with the given input.", HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException ex) {
+
+        return getResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Object> handleServerWebInputException(ServerWebInputException ex) {
+
+        return getResponseEntity(ex.getReason() != null ? ex.getReason() : ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -1,8 +1,6 @@
 package guzev.petproj.bl.aspects.statistical;
 
-import guzev.petproj.bl.stats.PublisherStatsChanger;
-import guzev.petproj.dao.entities.Publisher;
-import guzev.petproj.dao.repositories.PublisherRepository;
+import guzev.petproj.bl.stats.StatsUpdater;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,8 +10,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Optional;
-
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -21,7 +17,7 @@ import static org.mockito.Mockito.*;
 public class MailingAspectTests {
 
     @Mock
-    private PublisherRepository publisherRepo;
+    private StatsUpdater statsUpdater;
 
     @InjectMocks
     private MailingAspect mailingAspect;
@@ -35,23 +31,16 @@ public class MailingAspectTests {
 
     @Test
     public void AroundSubscribersNotificationMails_SaveResult() throws Throwable {
-        final Publisher publisher = new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address");
         final Integer num = 5;
 
         when(joinPoint.proceed())
                 .thenReturn(num);
 
-        when(publisherRepo.findById(publisher.getName()))
-                .thenReturn(Optional.of(publisher));
-
-        when(publisherRepo.save(any(Publisher.class)))
-                .thenReturn(publisher);
-
-        Integer result = (Integer) mailingAspect.aroundSubscribersNotificationMails(joinPoint, publisher.getName(), "test-message");
+        Integer result = (Integer) mailingAspect.aroundSubscribersNotificationMails(joinPoint, "test-publisher", "test-message");
 
         assertEquals(result, num);
         verify(joinPoint, times(1)).proceed();
-        verify(publisherRepo, times(1)).save(any(PublisherStatsChanger.class));
+        verify(statsUpdater, times(1)).increaseMailsSent("test-publisher", num);
     }
 
     @Test
@@ -62,7 +51,7 @@ public class MailingAspectTests {
         mailingAspect.aroundSubscribersNotificationMails(joinPoint, "test-name", "test-message");
 
         verify(joinPoint, times(1)).proceed();
-        verifyNoInteractions(publisherRepo);
+        verifyNoInteractions(statsUpdater);
     }
 
     @Test
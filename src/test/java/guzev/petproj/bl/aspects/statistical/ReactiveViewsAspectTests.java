@@ -0,0 +1,85 @@
+package guzev.petproj.bl.aspects.statistical;
+
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.NoSuchElementException;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveViewsAspectTests {
+
+    @Mock
+    private ViewsAspect viewsAspect;
+
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @InjectMocks
+    private ReactiveViewsAspect reactiveViewsAspect;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void AroundPublisherReadBy_CountViewOnlyWhenPublisherEmitted() throws Throwable {
+        final Publisher publisher = new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address");
+
+        when(proceedingJoinPoint.proceed())
+                .thenReturn(Mono.just(publisher));
+
+        final Mono<Publisher> result = (Mono<Publisher>) reactiveViewsAspect.aroundPublisherReadBy(proceedingJoinPoint);
+        verifyNoInteractions(viewsAspect);
+
+        StepVerifier.create(result)
+                .expectNext(publisher)
+                .verifyComplete();
+        verify(viewsAspect, times(1)).countView(publisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void AroundArticleReadBy_CountView_IfArticleEmitted() throws Throwable {
+        final Article article = new Article("test-article", "test-article-content");
+        ReflectionTestUtils.setField(article, "id", "test-article-id");
+
+        when(proceedingJoinPoint.proceed())
+                .thenReturn(Mono.just(article));
+
+        StepVerifier.create((Mono<Article>) reactiveViewsAspect.aroundArticleReadBy(proceedingJoinPoint))
+                .expectNext(article)
+                .verifyComplete();
+        verify(viewsAspect, times(1)).countView(article);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void AroundPublisherReadBy_NotCountView_IfNothingEmitted() throws Throwable {
+        when(proceedingJoinPoint.proceed())
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create((Mono<Publisher>) reactiveViewsAspect.aroundPublisherReadBy(proceedingJoinPoint))
+                .verifyComplete();
+        verifyNoInteractions(viewsAspect);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void AroundArticleReadBy_NotCountView_IfReadFailed() throws Throwable {
+        when(proceedingJoinPoint.proceed())
+                .thenReturn(Mono.error(new NoSuchElementException()));
+
+        StepVerifier.create((Mono<Article>) reactiveViewsAspect.aroundArticleReadBy(proceedingJoinPoint))
+                .verifyError(NoSuchElementException.class);
+        verifyNoInteractions(viewsAspect);
+    }
+
+}
@@ -1,20 +1,29 @@
 package guzev.petproj.bl.aspects.statistical;
 
+import guzev.petproj.bl.stats.StatsUpdater;
+import guzev.petproj.bl.stats.ViewsJournal;
 import guzev.petproj.dao.entities.Article;
 import guzev.petproj.dao.entities.Publisher;
-import guzev.petproj.dao.repositories.ArticleRepository;
-import guzev.petproj.dao.repositories.PublisherRepository;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,70 +32,179 @@ import static org.mockito.Mockito.*;
 public class ViewsAspectTests {
 
     @Mock
-    private PublisherRepository publisherRepo;
+    private StatsUpdater statsUpdater;
 
     @Mock
-    private ArticleRepository articleRepo;
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ViewsJournal journal;
 
     @InjectMocks
     private ViewsAspect viewsAspect;
 
-    private static Long step = 5L;
+    private static final long threshold = 5L;
 
     private Publisher testPublisher;
 
     private Article testArticle;
 
-    @BeforeAll
-    public static void init() throws ClassNotFoundException, NoSuchFieldException, IllegalAccessException {
-        Class<?> viewsDifferenceClass = Class.forName("guzev.petproj.bl.aspects.statistical.ViewsAspect$ViewsDifference");
-        Field field = viewsDifferenceClass.getDeclaredField("step");
-
-        field.setAccessible(true);
-        field.set(null, step);
-
-    }
-
     @BeforeEach
     public void setup() {
+        ReflectionTestUtils.setField(viewsAspect, "flushThreshold", threshold);
+        ReflectionTestUtils.setField(viewsAspect, "batchSize", 2);
+        lenient().when(journal.append(anyInt(), anyString(), anyLong()))
+                .thenReturn(true);
+
         testPublisher = new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address");
         testArticle = new Article("test-article", "test-article-content");
+        ReflectionTestUtils.setField(testArticle, "id", "test-article-id");
     }
 
     @Test
-    public void AfterPublisherReadBuy_SaveResultWhenReachStep() {
-        when(publisherRepo.save(any(Publisher.class)))
-                .thenReturn(testPublisher);
+    public void AfterPublisherReadBy_NotWriteUntilFlush() {
+        viewsAspect.afterPublisherReadBy(ResponseEntity.ofNullable(testPublisher));
+
+        verifyNoInteractions(statsUpdater, taskScheduler);
+    }
 
-        for (int i = 0; i < step; i++)
-            viewsAspect.afterPublisherReadBy(ResponseEntity.ofNullable(testPublisher));
+    @Test
+    public void AfterArticleReadBy_RequestFlushWhenReachThreshold() {
+        for (int i = 0; i < threshold * 2; i++)
+            viewsAspect.afterArticleReadBy(ResponseEntity.ofNullable(testArticle));
 
-        verify(publisherRepo, times(1)).save(testPublisher);
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        verifyNoInteractions(statsUpdater);
     }
 
     @Test
-    public void AfterPublisherReadBuy_NotSaveResultWhenStepNotReached() {
-        viewsAspect.afterPublisherReadBy(ResponseEntity.ofNullable(testPublisher));
+    public void AfterArticleReadBy_RequestFlushWhenJournalFull() {
+        when(journal.append(anyInt(), eq(testArticle.getId()), eq(1L)))
+                .thenReturn(false);
+
+        viewsAspect.afterArticleReadBy(ResponseEntity.ofNullable(testArticle));
 
-        verifyNoInteractions(publisherRepo);
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
     }
 
     @Test
-    public void AfterArticleReadBuy_SaveResultWhenReachStep() {
-        when(articleRepo.save(any(Article.class)))
-                .thenReturn(testArticle);
+    public void Flush_IncreaseViewsOfEachCollection() {
+        for (int i = 0; i < 3; i++)
+            viewsAspect.afterArticleReadBy(ResponseEntity.ofNullable(testArticle));
+        viewsAspect.afterPublisherReadBy(ResponseEntity.ofNullable(testPublisher));
+
+        viewsAspect.flush();
 
-        for (int i = 0; i < step; i++)
+        verify(statsUpdater, times(1)).increaseViews(Article.class, List.of(Map.entry(testArticle.getId(), 3L)));
+        verify(statsUpdater, times(1)).increaseViews(Publisher.class, List.of(Map.entry(testPublisher.getName(), 1L)));
+    }
+
+    @Test
+    public void Flush_SplitIntoBatches() {
+        for (int i = 0; i < 3; i++) {
+            ReflectionTestUtils.setField(testArticle, "id", "test-article-id-" + i);
             viewsAspect.afterArticleReadBy(ResponseEntity.ofNullable(testArticle));
+        }
+
+        viewsAspect.flush();
+
+        verify(statsUpdater, times(2)).increaseViews(eq(Article.class), anyCollection());
+    }
+
+    @Test
+    public void Flush_NotWriteIfNothingPending() {
+        viewsAspect.flush();
+
+        verifyNoInteractions(statsUpdater);
+    }
+
+    @Test
+    public void Flush_KeepViewsIfWriteFailed() {
+        doThrow(new RuntimeException("test-exception"))
+                .doNothing()
+                .when(statsUpdater).increaseViews(eq(Article.class), anyCollection());
+
+        viewsAspect.afterArticleReadBy(ResponseEntity.ofNullable(testArticle));
 
-        verify(articleRepo, times(1)).save(testArticle);
+        viewsAspect.flush();
+        viewsAspect.flush();
+
+        verify(statsUpdater, times(2)).increaseViews(Article.class, List.of(Map.entry(testArticle.getId(), 1L)));
+        //journaled again before sealed segment is dropped
+        verify(journal, times(2)).append(anyInt(), eq(testArticle.getId()), eq(1L));
     }
 
     @Test
-    public void AfterArticleReadBuy_NotSaveResultWhenStepNotReached() {
+    public void Flush_DropJournalRecordsAfterWrite() {
         viewsAspect.afterArticleReadBy(ResponseEntity.ofNullable(testArticle));
 
-        verifyNoInteractions(articleRepo);
+        viewsAspect.flush();
+
+        InOrder inOrder = inOrder(journal, statsUpdater);
+        inOrder.verify(journal).rotate();
+        inOrder.verify(statsUpdater).increaseViews(eq(Article.class), anyCollection());
+        inOrder.verify(journal).truncateSealed();
+    }
+
+    @Test
+    public void ReplayJournal_BufferReplayedViews() {
+        doAnswer(invocation -> {
+            ViewsJournal.RecordConsumer consumer = invocation.getArgument(0);
+            consumer.accept(2, testArticle.getId(), 7L);
+            consumer.accept(1, testPublisher.getName(), 2L);
+            return null;
+        }).when(journal).replay(any());
+
+        viewsAspect.replayJournal();
+        viewsAspect.flush();
+
+        verify(statsUpdater, times(1)).increaseViews(Article.class, List.of(Map.entry(testArticle.getId(), 7L)));
+        verify(statsUpdater, times(1)).increaseViews(Publisher.class, List.of(Map.entry(testPublisher.getName(), 2L)));
+        verify(journal, times(1)).append(2, testArticle.getId(), 7L);
+    }
+
+    @Test
+    public void Drain_FlushPendingViews() {
+        viewsAspect.afterPublisherReadBy(ResponseEntity.ofNullable(testPublisher));
+
+        viewsAspect.drain();
+
+        verify(statsUpdater, times(1)).increaseViews(eq(Publisher.class), anyCollection());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void AfterArticleReadBy_NotLoseViewsUnderContention() throws InterruptedException {
+        final int threads = 8;
+        final int readsPerThread = 1_000;
+        final AtomicLong savedViews = new AtomicLong();
+
+        ReflectionTestUtils.setField(viewsAspect, "flushThreshold", Long.MAX_VALUE);
+        doAnswer(invocation -> {
+            invocation.<Collection<Map.Entry<String, Long>>>getArgument(1)
+                    .forEach(difference -> savedViews.addAndGet(difference.getValue()));
+            return null;
+        }).when(statsUpdater).increaseViews(eq(Article.class), anyCollection());
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++)
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < readsPerThread; j++)
+                    viewsAspect.afterArticleReadBy(ResponseEntity.ofNullable(testArticle));
+                return null;
+            });
+
+        start.countDown();
+        executor.shutdown();
+        //flush concurrently with readers
+        while (!executor.isTerminated())
+            viewsAspect.flush();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        viewsAspect.flush();
+
+        assertEquals((long) threads * readsPerThread, savedViews.get());
     }
 
     @Test
@@ -0,0 +1,102 @@
+package guzev.petproj.bl.cache;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheInvalidationListenerTests {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private CacheManager cacheManager;
+
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager = new ConcurrentMapCacheManager("publishers", "subscribers", "articles");
+        listener = new CacheInvalidationListener(mongoTemplate, cacheManager);
+        ReflectionTestUtils.setField(listener, "instanceId", "test-instance");
+
+        cacheManager.getCache("publishers").put("test-publisher", "cached");
+        cacheManager.getCache("subscribers").put("test@email.com", "cached");
+    }
+
+    @Test
+    public void Handle_ShouldEvictEntry_IfDocumentUpdated() {
+        listener.handle(event("update", "publisher", "'test-publisher'",
+                ", updateDescription: {updatedFields: {redactor: 'new-redactor'}, removedFields: []}"));
+
+        assertNull(cacheManager.getCache("publishers").get("test-publisher"));
+        assertNotNull(cacheManager.getCache("subscribers").get("test@email.com"));
+    }
+
+    @Test
+    public void Handle_ShouldKeepEntry_IfOnlyStatisticsUpdated() {
+        listener.handle(event("update", "publisher", "'test-publisher'",
+                ", updateDescription: {updatedFields: {views: 10, mailsSent: 2}, removedFields: []}"));
+
+        assertNotNull(cacheManager.getCache("publishers").get("test-publisher"));
+    }
+
+    @Test
+    public void Handle_ShouldEvictArticleByHexId_IfArticleDeleted() {
+        final ObjectId id = new ObjectId();
+        cacheManager.getCache("articles").put(id.toHexString(), "cached");
+
+        listener.handle(event("delete", "article", "{$oid: '" + id.toHexString() + "'}", ""));
+
+        assertNull(cacheManager.getCache("articles").get(id.toHexString()));
+    }
+
+    @Test
+    public void Handle_ShouldClearCaches_IfCollectionDropped() {
+        listener.handle(decode("{_id: {_data: 'token'}, operationType: 'drop', ns: {db: 'publishing', coll: 'subscriber'}}"));
+
+        assertNull(cacheManager.getCache("publishers").get("test-publisher"));
+        assertNull(cacheManager.getCache("subscribers").get("test@email.com"));
+    }
+
+    @Test
+    public void SaveToken_ShouldStoreTokenOfThisInstance() {
+        ReflectionTestUtils.setField(listener, "resumeToken", BsonDocument.parse("{_data: 'token'}"));
+
+        listener.saveToken();
+
+        verify(mongoTemplate).upsert(argThat((Query query) -> "cache-invalidation:test-instance".equals(query.getQueryObject().get("_id"))),
+                any(Update.class), eq("resume_token"));
+    }
+
+    private static ChangeStreamDocument<Document> event(String operationType, String collection, String id, String extra) {
+        return decode(String.format(
+                "{_id: {_data: 'token'}, operationType: '%s', ns: {db: 'publishing', coll: '%s'}, documentKey: {_id: %s}%s}",
+                operationType, collection, id, extra));
+    }
+
+    private static ChangeStreamDocument<Document> decode(String json) {
+        return ChangeStreamDocument.createCodec(Document.class, MongoClientSettings.getDefaultCodecRegistry())
+                .decode(new BsonDocumentReader(BsonDocument.parse(json)), DecoderContext.builder().build());
+    }
+
+}
@@ -0,0 +1,108 @@
+package guzev.petproj.bl.cache;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Runs against a single-node replica set, skipped if docker is not available.*/
+@Testcontainers(disabledWithoutDocker = true)
+public class CacheInvalidationReplicaSetTests {
+
+    @Container
+    private static final MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    private static MongoClient mongoClient;
+
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    public static void setup() {
+        mongoClient = MongoClients.create(mongo.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(mongoClient, "publishing");
+    }
+
+    @AfterAll
+    public static void cleanup() {
+        mongoClient.close();
+    }
+
+    @Test
+    public void Listener_ShouldEvictEntry_IfChangedByOtherInstance_AndResumeAfterRestart() throws Exception {
+        mongoTemplate.insert(new Document("_id", "test-publisher").append("redactor", "test-redactor"), "publisher");
+
+        final CacheManager cacheManager = new ConcurrentMapCacheManager("publishers", "subscribers", "articles");
+        CacheInvalidationListener listener = startListener(cacheManager, "test-instance");
+
+        cacheManager.getCache("publishers").put("test-publisher", "cached");
+        mongoTemplate.updateFirst(query(where("_id").is("test-publisher")), new Update().set("redactor", "new-redactor"), "publisher");
+
+        awaitEviction(cacheManager, "test-publisher");
+        listener.stop();
+
+        //changed while the instance is down
+        cacheManager.getCache("publishers").put("test-publisher", "cached");
+        mongoTemplate.remove(query(where("_id").is("test-publisher")), "publisher");
+
+        listener = startListener(cacheManager, "test-instance");
+        awaitEviction(cacheManager, "test-publisher");
+        listener.stop();
+    }
+
+    @Test
+    public void Listener_ShouldResumeFromOwnToken_IfOtherInstanceSavedLater() throws Exception {
+        mongoTemplate.insert(new Document("_id", "other-publisher").append("redactor", "test-redactor"), "publisher");
+
+        final CacheManager cacheManager = new ConcurrentMapCacheManager("publishers", "subscribers", "articles");
+        final CacheInvalidationListener first = startListener(cacheManager, "first-instance");
+        cacheManager.getCache("publishers").put("other-publisher", "cached");
+        mongoTemplate.updateFirst(query(where("_id").is("other-publisher")), new Update().set("redactor", "first-redactor"), "publisher");
+        awaitEviction(cacheManager, "other-publisher");
+        first.stop();
+
+        //changed while the first instance is down, the second one sees it and saves a later token
+        cacheManager.getCache("publishers").put("other-publisher", "cached");
+        mongoTemplate.updateFirst(query(where("_id").is("other-publisher")), new Update().set("redactor", "new-redactor"), "publisher");
+
+        final CacheManager otherCacheManager = new ConcurrentMapCacheManager("publishers", "subscribers", "articles");
+        otherCacheManager.getCache("publishers").put("other-publisher", "cached");
+        final CacheInvalidationListener other = startListener(otherCacheManager, "second-instance");
+        awaitEviction(otherCacheManager, "other-publisher");
+        other.stop();
+
+        final CacheInvalidationListener listener = startListener(cacheManager, "first-instance");
+        awaitEviction(cacheManager, "other-publisher");
+        listener.stop();
+    }
+
+    private static CacheInvalidationListener startListener(CacheManager cacheManager, String instanceId) {
+        final CacheInvalidationListener listener = new CacheInvalidationListener(mongoTemplate, cacheManager);
+        ReflectionTestUtils.setField(listener, "retryDelay", 100L);
+        ReflectionTestUtils.setField(listener, "instanceId", instanceId);
+        listener.start();
+        return listener;
+    }
+
+    private static void awaitEviction(CacheManager cacheManager, String key) throws InterruptedException {
+        for (int i = 0; i < 100 && cacheManager.getCache("publishers").get(key) != null; i++)
+            Thread.sleep(100);
+
+        assertNull(cacheManager.getCache("publishers").get(key));
+    }
+
+}
@@ -0,0 +1,78 @@
+package guzev.petproj.bl.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThreadModeTests {
+
+    @Test
+    public void PlatformThreadFactory_CreateNamedThreads() {
+        final Thread thread = ThreadMode.PLATFORM.threadFactory("test-").newThread(() -> {});
+
+        assertTrue(thread.getName().startsWith("test-"));
+    }
+
+    @Test
+    public void VirtualThreadFactory_CreateNamedThreads_OnAnyRuntime() throws InterruptedException {
+        final String[] threadName = new String[1];
+        final Thread thread = ThreadMode.VIRTUAL.threadFactory("test-")
+                .newThread(() -> threadName[0] = Thread.currentThread().getName());
+
+        thread.start();
+        thread.join(5000);
+
+        assertTrue(threadName[0].startsWith("test-"));
+        assertEquals(ThreadMode.virtualThreadsSupported(), isVirtual(thread));
+    }
+
+    @Test
+    public void PlatformExecutor_BoundThreads() {
+        final ThreadPoolExecutor executor = (ThreadPoolExecutor) ThreadMode.PLATFORM.newExecutor("test-", 2);
+
+        try {
+            assertEquals(2, executor.getMaximumPoolSize());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void VirtualExecutor_FallBackToBoundedPool_IfNotSupported() {
+        final ExecutorService executor = ThreadMode.VIRTUAL.newExecutor("test-", 2);
+
+        try {
+            assertEquals(!ThreadMode.virtualThreadsSupported(), executor instanceof ThreadPoolExecutor);
+            if (executor instanceof ThreadPoolExecutor pool)
+                assertEquals(2, pool.getMaximumPoolSize());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void VirtualExecutor_RunTasks() throws Exception {
+        final ExecutorService executor = ThreadMode.VIRTUAL.newExecutor("test-", 2);
+
+        try {
+            final Future<String> threadName = executor.submit(() -> Thread.currentThread().getName());
+            assertTrue(threadName.get(5, TimeUnit.SECONDS).startsWith("test-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+}
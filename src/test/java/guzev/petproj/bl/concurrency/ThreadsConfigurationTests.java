@@ -0,0 +1,40 @@
+package guzev.petproj.bl.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThreadsConfigurationTests {
+
+    //application converts 'virtual' property to enum with its lenient conversion service
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(ThreadsConfiguration.class);
+
+    @Test
+    public void TomcatExecutor_Registered_OnlyIfVirtualThreadsSupported() {
+        contextRunner.withPropertyValues("threads.mode=virtual")
+                .run(context -> {
+                    assertEquals(ThreadMode.virtualThreadsSupported(),
+                            context.getBeansOfType(TomcatProtocolHandlerCustomizer.class).size() == 1);
+                    assertEquals(ThreadMode.virtualThreadsSupported(),
+                            context.getBeansOfType(ExecutorService.class).size() == 1);
+                });
+    }
+
+    @Test
+    public void TomcatExecutor_NotRegistered_InPlatformMode() {
+        contextRunner.withPropertyValues("threads.mode=platform")
+                .run(context -> {
+                    assertTrue(context.getBeansOfType(TomcatProtocolHandlerCustomizer.class).isEmpty());
+                    assertTrue(context.getBeansOfType(ExecutorService.class).isEmpty());
+                });
+    }
+
+}
@@ -0,0 +1,140 @@
+package guzev.petproj.bl.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import guzev.petproj.bl.imports.ImportReport.LineResult;
+import guzev.petproj.bl.imports.ImportReport.Status;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArticleImporterTests {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private ArticleImporter articleImporter;
+
+    private final Publisher publisher = new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address");
+
+    @BeforeEach
+    public void setup() {
+        articleImporter = new ArticleImporter(mongoTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(articleImporter, "batchSize", 2);
+
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Article.class))
+                .thenReturn(bulkOperations);
+        lenient().when(bulkOperations.insert(anyList()))
+                .thenReturn(bulkOperations);
+    }
+
+    @Test
+    public void ImportArticles_ShouldInsertByBatches_AndReportEveryLine() {
+        final List<Article> created = new ArrayList<>();
+
+        final ImportReport report = articleImporter.importArticles(publisher, ndjson(
+                "{\"title\":\"test-article\",\"content\":\"test-content\"}",
+                "",
+                "{\"title\":\"test-article2\",\"content\":\"test-content\",\"id\":\"client-id\",\"views\":100}",
+                "{\"title\":\"test-article3\",\"content\":\"test-content\"}"), created::add);
+
+        assertEquals(3, report.created());
+        assertEquals(List.of(1, 3, 4), report.lines().stream().map(LineResult::line).toList());
+        assertEquals(created.stream().map(Article::getId).toList(), report.lines().stream().map(LineResult::id).toList());
+
+        //client id and statistics are not imported
+        assertNotEquals("client-id", created.get(1).getId());
+        assertEquals(0L, created.get(1).getViews());
+        assertTrue(created.stream().allMatch(article -> article.getPublisher() == publisher));
+
+        verify(bulkOperations, times(2)).execute();
+    }
+
+    @Test
+    public void ImportArticles_ShouldReportDuplicatesAndInvalidLines_AndInsertTheRest() {
+        final ArgumentCaptor<List<Article>> inserted = ArgumentCaptor.forClass(List.class);
+        when(bulkOperations.insert(inserted.capture()))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.execute())
+                .thenThrow(bulkException(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 0)))
+                .thenReturn(BulkWriteResult.unacknowledged());
+
+        final List<Article> created = new ArrayList<>();
+
+        final ImportReport report = articleImporter.importArticles(publisher, ndjson(
+                "{\"title\":\"test-article\",\"content\":\"test-content\"}",
+                "{\"title\":\"test-article2\"}",
+                "not a json",
+                "{\"title\":\"test-article3\",\"content\":\"test-content\"}",
+                "{\"title\":\"test-article4\",\"content\":\"test-content\"}"), created::add);
+
+        assertEquals(new ImportReport(2, 1, 2, 0, report.lines()), report);
+        assertEquals(List.of(Status.DUPLICATE, Status.INVALID, Status.INVALID, Status.CREATED, Status.CREATED),
+                report.lines().stream().map(LineResult::status).toList());
+        assertEquals(Set.of("test-article3", "test-article4"), Set.copyOf(created.stream().map(Article::getTitle).toList()));
+        assertNull(report.lines().get(0).id());
+        assertNotNull(report.lines().get(1).message());
+    }
+
+    @Test
+    public void ImportArticles_ShouldNotInsert_IfNoValidLines() {
+        final ImportReport report = articleImporter.importArticles(publisher, ndjson("", "[]"), article -> fail());
+
+        assertEquals(1, report.invalid());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void ImportArticles_ShouldReportNonObjectLinesAsInvalid() {
+        final List<Article> created = new ArrayList<>();
+
+        final ImportReport report = articleImporter.importArticles(publisher, ndjson(
+                "null",
+                "\"test-article\"",
+                "42",
+                "[{\"title\":\"test-article\",\"content\":\"test-content\"}]",
+                "{\"title\":\"test-article\",\"content\":\"test-content\"}"), created::add);
+
+        assertEquals(List.of(Status.INVALID, Status.INVALID, Status.INVALID, Status.INVALID, Status.CREATED),
+                report.lines().stream().map(LineResult::status).toList());
+        assertEquals("Line is not a JSON object.", report.lines().get(0).message());
+        assertEquals(1, created.size());
+    }
+
+    private static ByteArrayInputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BulkOperationException bulkException(BulkWriteError error) {
+        return new BulkOperationException("bulk write failed", new MongoBulkWriteException(BulkWriteResult.unacknowledged(),
+                List.of(error), null, new ServerAddress(), Set.of()));
+    }
+
+}
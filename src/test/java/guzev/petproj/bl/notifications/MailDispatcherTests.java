@@ -0,0 +1,110 @@
+package guzev.petproj.bl.notifications;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Message;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MailDispatcherTests {
+
+    private static final int LARGE_RECIPIENTS = 2_000;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    private MailDispatcher mailDispatcher;
+
+    @BeforeEach
+    public void setup() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        mailDispatcher = new MailDispatcher(mailSender);
+        ReflectionTestUtils.setField(mailDispatcher, "chunkSize", 2);
+    }
+
+    @Test
+    public void Send_ShouldDeliverToEveryRecipient() throws Exception {
+        List<String> recipients = List.of("first@test.com", "second@test.com", "third@test.com");
+
+        int sent = mailDispatcher.send("test-subject", "<b>test-message</b>", recipients.iterator());
+
+        assertEquals(3, sent);
+        MimeMessage[] messages = greenMail.getReceivedMessages();
+        assertEquals(3, messages.length);
+        assertEquals("test-subject", messages[0].getSubject());
+    }
+
+    @Test
+    public void Send_ShouldNotDiscloseRecipients() throws Exception {
+        mailDispatcher.send("test-subject", "test-message", List.of("first@test.com", "second@test.com").iterator());
+
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            assertNull(message.getRecipients(Message.RecipientType.TO));
+            assertNull(message.getRecipients(Message.RecipientType.CC));
+        }
+    }
+
+    @Test
+    public void Send_ShouldSkipMalformedAddress() {
+        List<String> recipients = List.of("first@test.com", "not an email", "second@test.com", "third@test.com");
+
+        int sent = mailDispatcher.send("test-subject", "test-message", recipients.iterator());
+
+        assertEquals(3, sent);
+        assertEquals(3, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    public void Send_ShouldReportLastRecipientOfEveryChunk() {
+        List<String> progress = new ArrayList<>();
+        List<String> recipients = List.of("first@test.com", "not an email", "second@test.com", "third@test.com");
+
+        mailDispatcher.send("test-subject", "test-message", recipients.iterator(),
+                (lastRecipient, sent) -> progress.add(lastRecipient + ":" + sent));
+
+        assertEquals(List.of("second@test.com:2", "third@test.com:1"), progress);
+    }
+
+    @Test
+    public void Send_ShouldNotConnect_IfNoRecipients() {
+        greenMail.stop();
+
+        assertEquals(0, mailDispatcher.send("test-subject", "test-message", Collections.emptyIterator()));
+    }
+
+    @Test
+    public void Send_ShouldThrowException_IfServerUnavailable() {
+        greenMail.stop();
+
+        assertThrows(RuntimeException.class,
+                () -> mailDispatcher.send("test-subject", "test-message", List.of("first@test.com").iterator()));
+    }
+
+    @Test
+    public void Send_ShouldDeliverLargeRecipientsList() {
+        ReflectionTestUtils.setField(mailDispatcher, "chunkSize", 500);
+
+        int sent = mailDispatcher.send("test-subject", "test-message",
+                IntStream.range(0, LARGE_RECIPIENTS).mapToObj(i -> "subscriber" + i + "@test.com").iterator());
+
+        assertEquals(LARGE_RECIPIENTS, sent);
+        assertEquals(LARGE_RECIPIENTS, greenMail.getReceivedMessages().length);
+    }
+
+}
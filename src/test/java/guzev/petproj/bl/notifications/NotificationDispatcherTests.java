@@ -0,0 +1,173 @@
+package guzev.petproj.bl.notifications;
+
+import guzev.petproj.bl.concurrency.ThreadMode;
+import guzev.petproj.bl.services.PublisherService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationDispatcherTests {
+
+    @Mock
+    private PublisherService publisherService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NotificationDispatcher notificationDispatcher;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setup() {
+        notificationDispatcher = new NotificationDispatcher(publisherService, meterRegistry);
+        ReflectionTestUtils.setField(notificationDispatcher, "poolSize", 1);
+        ReflectionTestUtils.setField(notificationDispatcher, "queueCapacity", 1);
+        ReflectionTestUtils.setField(notificationDispatcher, "shutdownTimeout", 5L);
+        ReflectionTestUtils.setField(notificationDispatcher, "threadMode", ThreadMode.PLATFORM);
+    }
+
+    @AfterEach
+    public void teardown() throws InterruptedException {
+        release.countDown();
+        notificationDispatcher.shutdown();
+    }
+
+    @Test
+    public void Dispatch_ShouldNotWaitForMailing() throws InterruptedException {
+        init(NotificationDispatcher.RejectionPolicy.CALLER_RUNS);
+        CountDownLatch sent = new CountDownLatch(1);
+
+        when(publisherService.notifySubscribers(eq("test-publisher"), eq("test-message"), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    sent.countDown();
+                    return 1;
+                });
+
+        notificationDispatcher.dispatch("test-publisher", "test-message");
+
+        assertEquals(1, sent.getCount());
+        release.countDown();
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void Dispatch_ShouldDiscardAndCount_IfQueueIsFull() throws InterruptedException {
+        init(NotificationDispatcher.RejectionPolicy.DISCARD);
+        blockWorker();
+
+        notificationDispatcher.dispatch("test-publisher", "queued-message");
+        notificationDispatcher.dispatch("test-publisher", "discarded-message");
+
+        assertEquals(1, notificationDispatcher.getQueueDepth());
+        assertEquals(0, notificationDispatcher.getRemainingCapacity());
+        assertEquals(1.0, meterRegistry.get("notifications.rejected").counter().count());
+
+        release.countDown();
+        notificationDispatcher.shutdown();
+        verify(publisherService, times(1)).notifySubscribers(eq("test-publisher"), eq("queued-message"), isNull(), any());
+        verify(publisherService, times(0)).notifySubscribers(eq("test-publisher"), eq("discarded-message"), isNull(), any());
+    }
+
+    @Test
+    public void Dispatch_ShouldCompleteExceptionally_IfDiscarded() throws InterruptedException {
+        init(NotificationDispatcher.RejectionPolicy.DISCARD);
+        blockWorker();
+
+        notificationDispatcher.dispatch("test-publisher", "queued-message");
+        CompletableFuture<Integer> discarded = notificationDispatcher.dispatch("test-publisher", "discarded-message");
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> discarded.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+    }
+
+    @Test
+    public void Dispatch_ShouldCompleteExceptionally_IfShutDown() throws InterruptedException {
+        init(NotificationDispatcher.RejectionPolicy.CALLER_RUNS);
+        notificationDispatcher.shutdown();
+
+        CompletableFuture<Integer> result = notificationDispatcher.dispatch("test-publisher", "test-message");
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        verifyNoInteractions(publisherService);
+    }
+
+    @Test
+    public void Dispatch_ShouldRunInCallerThread_IfQueueIsFull() throws InterruptedException {
+        init(NotificationDispatcher.RejectionPolicy.CALLER_RUNS);
+        blockWorker();
+
+        notificationDispatcher.dispatch("test-publisher", "queued-message");
+        notificationDispatcher.dispatch("test-publisher", "caller-message");
+
+        verify(publisherService, times(1)).notifySubscribers(eq("test-publisher"), eq("caller-message"), isNull(), any());
+        assertEquals(1.0, meterRegistry.get("notifications.rejected").counter().count());
+    }
+
+    @Test
+    public void Dispatch_ShouldCompleteWithRecipientsCount() throws Exception {
+        init(NotificationDispatcher.RejectionPolicy.CALLER_RUNS);
+
+        when(publisherService.notifySubscribers(eq("test-publisher"), eq("test-message"), isNull(), any()))
+                .thenReturn(3);
+
+        assertEquals(3, notificationDispatcher.dispatch("test-publisher", "test-message").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void Dispatch_ShouldCompleteExceptionally_IfMailingFailed() {
+        init(NotificationDispatcher.RejectionPolicy.CALLER_RUNS);
+
+        when(publisherService.notifySubscribers(eq("test-publisher"), eq("test-message"), isNull(), any()))
+                .thenThrow(new RuntimeException("Cannot send emails"));
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> notificationDispatcher.dispatch("test-publisher", "test-message").get(5, TimeUnit.SECONDS));
+        assertEquals("Cannot send emails", exception.getCause().getMessage());
+    }
+
+    @Test
+    public void Init_ShouldRegisterQueueMetrics() {
+        init(NotificationDispatcher.RejectionPolicy.CALLER_RUNS);
+
+        assertNotNull(meterRegistry.find("executor.queued").tag("name", "notifications").gauge());
+    }
+
+    private void init(NotificationDispatcher.RejectionPolicy rejectionPolicy) {
+        ReflectionTestUtils.setField(notificationDispatcher, "rejectionPolicy", rejectionPolicy);
+        notificationDispatcher.init();
+    }
+
+    private void blockWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+
+        when(publisherService.notifySubscribers(eq("test-publisher"), eq("blocking-message"), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await();
+                    return 0;
+                });
+
+        notificationDispatcher.dispatch("test-publisher", "blocking-message");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+}
@@ -0,0 +1,230 @@
+package guzev.petproj.bl.notifications;
+
+import com.mongodb.client.result.UpdateResult;
+import guzev.petproj.dao.entities.Notification;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationOutboxTests {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @InjectMocks
+    private NotificationOutbox notificationOutbox;
+
+    private Notification testNotification;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(notificationOutbox, "batchSize", 10);
+        ReflectionTestUtils.setField(notificationOutbox, "lease", 60L);
+        ReflectionTestUtils.setField(notificationOutbox, "maxAttempts", 3);
+        ReflectionTestUtils.setField(notificationOutbox, "initialBackoff", 10L);
+        ReflectionTestUtils.setField(notificationOutbox, "maxBackoff", 60L);
+
+        testNotification = new Notification("test-publisher", "test-message", Instant.now());
+        testNotification.setId("test-notification-id");
+        testNotification.setAttempts(1);
+    }
+
+    @Test
+    public void Enqueue_ShouldInsertPendingRecord() {
+        when(mongoTemplate.insert(any(Notification.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Notification notification = notificationOutbox.enqueue("test-publisher", "test-message");
+
+        assertEquals(Notification.Status.PENDING, notification.getStatus());
+        assertEquals("test-publisher", notification.getPublisherName());
+        verifyNoInteractions(notificationDispatcher);
+    }
+
+    @Test
+    public void Poll_ShouldMarkSent_IfDelivered() {
+        claim(testNotification);
+        when(notificationDispatcher.dispatch(eq("test-publisher"), eq("test-message"), isNull(), any()))
+                .thenReturn(CompletableFuture.completedFuture(5));
+
+        notificationOutbox.poll();
+
+        assertEquals("SENT", capturedUpdate().get("$set", Document.class).get("status").toString());
+    }
+
+    @Test
+    public void Poll_ShouldScheduleRetry_IfDeliveryFailed() {
+        claim(testNotification);
+        when(notificationDispatcher.dispatch(eq("test-publisher"), eq("test-message"), isNull(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Cannot send emails")));
+
+        notificationOutbox.poll();
+
+        Document set = capturedUpdate().get("$set", Document.class);
+        assertEquals("PENDING", set.get("status").toString());
+        assertEquals("Cannot send emails", set.get("lastError"));
+        assertTrue(((Instant) set.get("nextAttemptAt")).isAfter(Instant.now()));
+    }
+
+    @Test
+    public void Poll_ShouldStoreProgress_IfChunkSent() {
+        claim(testNotification);
+        when(notificationDispatcher.dispatch(eq("test-publisher"), eq("test-message"), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    MailDispatcher.Progress progress = invocation.getArgument(3);
+                    progress.chunkSent("test2@email.com", 2);
+                    return new CompletableFuture<>();
+                });
+
+        notificationOutbox.poll();
+
+        Document update = capturedUpdate();
+        assertEquals("test2@email.com", update.get("$set", Document.class).get("lastRecipient"));
+        assertEquals(2, update.get("$inc", Document.class).get("recipients"));
+        //lease is renewed
+        assertTrue(((Instant) update.get("$set", Document.class).get("nextAttemptAt")).isAfter(Instant.now().plusSeconds(30)));
+    }
+
+    @Test
+    public void Poll_ShouldUpdateOnlyClaimedRecord() {
+        claim(testNotification);
+        when(notificationDispatcher.dispatch(eq("test-publisher"), eq("test-message"), isNull(), any()))
+                .thenReturn(CompletableFuture.completedFuture(5));
+
+        notificationOutbox.poll();
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(queryCaptor.capture(), any(Update.class), eq(Notification.class));
+        Document query = queryCaptor.getValue().getQueryObject();
+        assertEquals("test-notification-id", query.get("_id"));
+        assertEquals(Notification.Status.IN_PROGRESS, query.get("status"));
+        assertEquals(1, query.get("attempts"));
+    }
+
+    @Test
+    public void Poll_ShouldStopSending_IfClaimLost() {
+        claim(testNotification);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Notification.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(notificationDispatcher.dispatch(eq("test-publisher"), eq("test-message"), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    MailDispatcher.Progress progress = invocation.getArgument(3);
+                    assertThrows(IllegalStateException.class, () -> progress.chunkSent("test2@email.com", 2));
+                    return CompletableFuture.completedFuture(2);
+                });
+
+        notificationOutbox.poll();
+
+        //progress and status updates both missed the record
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq(Notification.class));
+    }
+
+    @Test
+    public void Poll_ShouldResumeAfterLastRecipient_IfRetried() {
+        testNotification.setAttempts(2);
+        testNotification.setLastRecipient("test2@email.com");
+        claim(testNotification);
+        when(notificationDispatcher.dispatch(eq("test-publisher"), eq("test-message"), eq("test2@email.com"), any()))
+                .thenReturn(CompletableFuture.completedFuture(3));
+
+        notificationOutbox.poll();
+
+        assertEquals("SENT", capturedUpdate().get("$set", Document.class).get("status").toString());
+    }
+
+    @Test
+    public void Poll_ShouldMarkFailed_IfAttemptsExhausted() {
+        testNotification.setAttempts(3);
+        claim(testNotification);
+        when(notificationDispatcher.dispatch(eq("test-publisher"), eq("test-message"), isNull(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Cannot send emails")));
+
+        notificationOutbox.poll();
+
+        assertEquals("FAILED", capturedUpdate().get("$set", Document.class).get("status").toString());
+    }
+
+    @Test
+    public void Poll_ShouldMarkFailed_IfPublisherNotExists() {
+        claim(testNotification);
+        when(notificationDispatcher.dispatch(eq("test-publisher"), eq("test-message"), isNull(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new NoSuchElementException()));
+
+        notificationOutbox.poll();
+
+        assertEquals("FAILED", capturedUpdate().get("$set", Document.class).get("status").toString());
+    }
+
+    @Test
+    public void Poll_ShouldNotClaim_IfDispatcherIsFull() {
+        when(notificationDispatcher.getRemainingCapacity())
+                .thenReturn(0);
+
+        notificationOutbox.poll();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void Poll_ShouldClaimNotMoreThanBatch() {
+        when(notificationDispatcher.getRemainingCapacity())
+                .thenReturn(100);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Notification.class)))
+                .thenReturn(testNotification);
+        when(notificationDispatcher.dispatch(eq("test-publisher"), eq("test-message"), isNull(), any()))
+                .thenReturn(new CompletableFuture<>());
+
+        notificationOutbox.poll();
+
+        verify(notificationDispatcher, times(10)).dispatch(eq("test-publisher"), eq("test-message"), isNull(), any());
+    }
+
+    @Test
+    public void Backoff_ShouldGrowExponentiallyUpToMax() {
+        assertEquals(Duration.ofSeconds(10), notificationOutbox.backoff(1));
+        assertEquals(Duration.ofSeconds(20), notificationOutbox.backoff(2));
+        assertEquals(Duration.ofSeconds(40), notificationOutbox.backoff(3));
+        assertEquals(Duration.ofSeconds(60), notificationOutbox.backoff(4));
+        assertEquals(Duration.ofSeconds(60), notificationOutbox.backoff(100));
+    }
+
+    private void claim(Notification notification) {
+        when(notificationDispatcher.getRemainingCapacity())
+                .thenReturn(100);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Notification.class)))
+                .thenReturn(notification)
+                .thenReturn(null);
+        lenient().when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Notification.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+    }
+
+    private Document capturedUpdate() {
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), updateCaptor.capture(), eq(Notification.class));
+        return updateCaptor.getValue().getUpdateObject();
+    }
+
+}
@@ -0,0 +1,44 @@
+package guzev.petproj.bl.projections;
+
+import guzev.petproj.dao.entities.Publisher;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static guzev.petproj.bl.projections.Projection.field;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectionTests {
+
+    private final Projection<Publisher> projection = new Projection<>(List.of(
+            field("name", Publisher::getName),
+            field("link", Publisher::getLink),
+            field("address", Publisher::getAddress)),
+            Set.of("name"));
+
+    private final Publisher testPublisher = new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address");
+
+    @Test
+    public void Select_ReturnDefaultFields_IfFieldsNotPresent() {
+        assertEquals(Set.of("name"), projection.select(null).fields());
+        assertEquals(Set.of("name"), projection.select(" ").fields());
+    }
+
+    @Test
+    public void Apply_ReturnOnlySelectedFields_InDeclarationOrder() {
+        final Map<String, Object> result = projection.select("address, name").apply(testPublisher);
+
+        assertEquals(List.of("name", "address"), List.copyOf(result.keySet()));
+        assertEquals("test-address", result.get("address"));
+    }
+
+    @Test
+    public void Select_ThrowException_IfFieldUnknown() {
+        final InvalidFieldsException e = assertThrows(InvalidFieldsException.class, () -> projection.select("name,phone"));
+
+        assertEquals("Unknown field: phone, available fields: name,link,address", e.getMessage());
+    }
+
+}
@@ -0,0 +1,117 @@
+package guzev.petproj.bl.search;
+
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.repositories.ArticleProjectionRepository.ScoredArticle;
+import guzev.petproj.dao.repositories.ArticleRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IndexSearchEngineTests {
+
+    @Mock
+    private ArticleRepository articleRepo;
+
+    @InjectMocks
+    private IndexSearchEngine searchEngine;
+
+    private final Publisher publisher = new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address");
+
+    private final Set<String> fields = Set.of("id", "title");
+
+    private Article first;
+    private Article second;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(searchEngine, "batchSize", 1);
+
+        first = article("Spring aspects", "Aspects are woven by proxies.");
+        second = article("Unit tests", "Aspects can be tested with proxies too.");
+    }
+
+    @Test
+    public void Build_ShouldIndexAllBatches() {
+        when(articleRepo.readArticlesAfter(isNull(), isNull(), eq(1), anyCollection()))
+                .thenReturn(new SliceImpl<>(List.of(first), PageRequest.of(0, 1), true));
+        when(articleRepo.readArticlesAfter(isNull(), eq(first.getId()), eq(1), anyCollection()))
+                .thenReturn(new SliceImpl<>(List.of(second), PageRequest.of(0, 1), false));
+        when(articleRepo.readArticlesByIds(List.of(first.getId(), second.getId()), fields))
+                .thenReturn(List.of(second, first));
+
+        searchEngine.build();
+
+        final List<ScoredArticle> found = searchEngine.search("aspects", null, null, 10, fields);
+
+        assertEquals(List.of(first, second), found.stream().map(ScoredArticle::article).toList());
+        verify(articleRepo, never()).searchArticles(anyString(), any(), any(), anyInt(), anyCollection());
+    }
+
+    @Test
+    public void Search_ShouldSkipArticles_IfDeletedFromDb() {
+        searchEngine.index(first);
+        searchEngine.index(second);
+
+        when(articleRepo.readArticlesByIds(List.of(first.getId(), second.getId()), fields))
+                .thenReturn(List.of(second));
+
+        final List<ScoredArticle> found = searchEngine.search("aspects", null, null, 10, fields);
+
+        assertEquals(List.of(second), found.stream().map(ScoredArticle::article).toList());
+    }
+
+    @Test
+    public void Search_ShouldFillPage_IfArticleInsideItDeletedFromDb() {
+        final Article third = article("Other", "Aspects can be found here.");
+        searchEngine.index(first);
+        searchEngine.index(second);
+        searchEngine.index(third);
+
+        when(articleRepo.readArticlesByIds(List.of(first.getId(), second.getId()), fields))
+                .thenReturn(List.of(second));
+        when(articleRepo.readArticlesByIds(List.of(third.getId()), fields))
+                .thenReturn(List.of(third));
+
+        final List<ScoredArticle> found = searchEngine.search("aspects", null, null, 2, fields);
+
+        assertEquals(List.of(second, third), found.stream().map(ScoredArticle::article).toList());
+
+        //deleted article is dropped from the index
+        when(articleRepo.readArticlesByIds(List.of(second.getId(), third.getId()), fields))
+                .thenReturn(List.of(second, third));
+        assertEquals(List.of(second, third),
+                searchEngine.search("aspects", null, null, 2, fields).stream().map(ScoredArticle::article).toList());
+    }
+
+    @Test
+    public void Search_ShouldNotFindArticle_IfRemoved() {
+        searchEngine.index(first);
+        searchEngine.remove(first.getId());
+
+        assertEquals(List.of(), searchEngine.search("aspects", "test-publisher", null, 10, fields));
+    }
+
+    private Article article(String title, String content) {
+        final Article article = new Article(title, content);
+        article.setId(new ObjectId().toHexString());
+        article.setPublisher(publisher);
+        return article;
+    }
+
+}
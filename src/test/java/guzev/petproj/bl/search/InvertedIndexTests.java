@@ -0,0 +1,123 @@
+package guzev.petproj.bl.search;
+
+import guzev.petproj.dao.repositories.ArticleProjectionRepository.ScoredArticle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvertedIndexTests {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new InvertedIndex();
+        index.put("a1", "test-publisher", "Spring aspects", "Aspects are woven by proxies.");
+        index.put("a2", "test-publisher", "Unit tests", "Aspects can be tested with proxies too.");
+        index.put("a3", "test-publisher2", "MongoDB", "Text indexes and aggregation.");
+    }
+
+    @Test
+    public void Search_ShouldRankTitleMatchesHigher() {
+        final List<InvertedIndex.ScoredDocument> found = index.search("aspects", null, null, 10);
+
+        assertEquals(List.of("a1", "a2"), found.stream().map(InvertedIndex.ScoredDocument::id).toList());
+        assertTrue(found.get(0).score() > found.get(1).score());
+    }
+
+    @Test
+    public void Search_ShouldMatchAnyTerm_IgnoringCaseAndPunctuation() {
+        assertEquals(List.of("a3"), ids(index.search("AGGREGATION!", null, null, 10)));
+        assertEquals(3, index.search("proxies, mongodb", null, null, 10).size());
+        assertEquals(List.of(), index.search("unknown", null, null, 10));
+    }
+
+    @Test
+    public void Search_ShouldFilterByPublisher() {
+        assertEquals(List.of("a3"), ids(index.search("aspects mongodb", "test-publisher2", null, 10)));
+    }
+
+    @Test
+    public void Search_ShouldReadAfterKey_AndBreakScoreTiesById() {
+        index.put("b2", null, "same", "");
+        index.put("b1", null, "same", "");
+        index.put("b3", null, "same", "");
+
+        final List<InvertedIndex.ScoredDocument> first = index.search("same", null, null, 2);
+        assertEquals(List.of("b1", "b2"), ids(first));
+
+        final InvertedIndex.ScoredDocument last = first.get(1);
+        assertEquals(List.of("b3"), ids(index.search("same", null, new ScoredArticle.Key(last.score(), last.id()), 2)));
+    }
+
+    @Test
+    public void Search_ShouldKeepBestDocuments_IfMoreMatchThanLimit() {
+        for (int i = 0; i < 20; i++)
+            index.put("d" + i, null, "common", "common ".repeat(i));
+
+        assertEquals(List.of("d19", "d18", "d17"), ids(index.search("common", null, null, 3)));
+        assertEquals(List.of(), index.search("common", null, null, 0));
+    }
+
+    @Test
+    public void Search_ShouldCountDocumentFrequency_OfLiveDocuments() {
+        final InvertedIndex expected = new InvertedIndex();
+        expected.put("a1", "test-publisher", "Spring aspects", "Aspects are woven by proxies.");
+        expected.put("a3", "test-publisher2", "MongoDB", "Text indexes and aggregation.");
+
+        index.remove("a2");
+
+        assertEquals(expected.search("aspects", null, null, 10), index.search("aspects", null, null, 10));
+    }
+
+    @Test
+    public void Put_ShouldReplaceDocument_AndRemoveShouldDropIt() {
+        index.put("a1", "test-publisher", "Renamed", "Nothing about it.");
+
+        assertEquals(List.of("a2"), ids(index.search("aspects", null, null, 10)));
+        assertEquals(List.of("a1"), ids(index.search("renamed", null, null, 10)));
+        assertEquals(3, index.size());
+
+        index.remove("a1");
+
+        assertEquals(List.of(), index.search("renamed", null, null, 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void Put_ShouldKeepResults_AfterCompaction() {
+        for (int i = 0; i < 3000; i++)
+            index.put("c", null, "update " + i, "");
+
+        assertEquals(List.of("c"), ids(index.search("update", null, null, 10)));
+        assertEquals(List.of("a1", "a2"), ids(index.search("aspects", null, null, 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void PostingList_ShouldDecodeAddedPostings() {
+        final InvertedIndex.PostingList postingList = new InvertedIndex.PostingList();
+        final List<int[]> postings = List.of(new int[]{0, 1}, new int[]{5, 3}, new int[]{200, 130}, new int[]{100_000, 4});
+        postings.forEach(posting -> postingList.add(posting[0], posting[1]));
+
+        final List<int[]> decoded = new ArrayList<>();
+        postingList.forEach((number, frequency) -> decoded.add(new int[]{number, frequency}));
+
+        assertEquals(4, postingList.size());
+        assertEquals(3, postingList.removeDocument());
+        assertEquals(4, postingList.size());
+        assertEquals(3, postingList.documentFrequency());
+        assertArrayEquals(postings.toArray(int[][]::new), decoded.toArray(int[][]::new));
+        //deltas and frequencies below 128 take one byte
+        assertEquals(1 + 1 + 1 + 1 + 2 + 2 + 3 + 1, postingList.length());
+    }
+
+    private static List<String> ids(List<InvertedIndex.ScoredDocument> documents) {
+        return documents.stream().map(InvertedIndex.ScoredDocument::id).toList();
+    }
+
+}
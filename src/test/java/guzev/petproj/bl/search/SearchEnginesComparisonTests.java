@@ -0,0 +1,119 @@
+package guzev.petproj.bl.search;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.repositories.ArticleProjectionRepository.ScoredArticle;
+import guzev.petproj.dao.repositories.ArticleRepository;
+import guzev.petproj.dao.repositories.PublisherRepository;
+import guzev.petproj.dao.repositories.TestRepositories;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link MongoSearchEngine} and {@link IndexSearchEngine} find the same articles.
+ * Skipped if docker is not available.*/
+@Testcontainers(disabledWithoutDocker = true)
+public class SearchEnginesComparisonTests {
+
+    private static final int ARTICLES = 5_000;
+    private static final int QUERIES = 100;
+
+    @Container
+    private static final MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    private static MongoClient mongoClient;
+
+    private static MongoSearchEngine mongoEngine;
+    private static IndexSearchEngine indexEngine;
+
+    private static final Set<String> fields = Set.of("id", "title", "views");
+
+    private static final List<String> words = new ArrayList<>();
+
+    @BeforeAll
+    public static void setup() {
+        mongoClient = MongoClients.create(mongo.getConnectionString());
+        final MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, "publishing");
+
+        final IndexResolver indexResolver = IndexResolver.create(
+                (MongoMappingContext) mongoTemplate.getConverter().getMappingContext());
+        indexResolver.resolveIndexFor(Article.class).forEach(index -> mongoTemplate.indexOps(Article.class).ensureIndex(index));
+
+        final MongoRepositoryFactory repositoryFactory = new MongoRepositoryFactory(mongoTemplate);
+        final ArticleRepository articleRepo = TestRepositories.articleRepository(mongoTemplate);
+        final PublisherRepository publisherRepo = repositoryFactory.getRepository(PublisherRepository.class);
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++)
+            words.add("word" + i);
+
+        final List<Publisher> publishers = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            publishers.add(publisherRepo.save(new Publisher("test-publisher" + i, "test-link", "test-redactor", "test-phone", "test-address")));
+
+        final List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < ARTICLES; i++) {
+            final Article article = new Article("title " + i + " " + randomWords(random, 3), randomWords(random, 100));
+            article.setPublisher(publishers.get(i % publishers.size()));
+            articles.add(article);
+        }
+        mongoTemplate.insertAll(articles);
+
+        mongoEngine = new MongoSearchEngine(articleRepo);
+        indexEngine = new IndexSearchEngine(articleRepo);
+        ReflectionTestUtils.setField(indexEngine, "batchSize", 1000);
+        indexEngine.build();
+    }
+
+    @AfterAll
+    public static void cleanup() {
+        mongoClient.close();
+    }
+
+    @Test
+    public void Search_ShouldFindSameArticles_ByBothEngines() {
+        final Random random = new Random(7);
+
+        for (int i = 0; i < QUERIES; i++) {
+            final String text = randomWords(random, 1);
+            final Set<String> found = ids(mongoEngine.search(text, null, null, ARTICLES, fields));
+
+            assertFalse(found.isEmpty());
+            assertEquals(found, ids(indexEngine.search(text, null, null, ARTICLES, fields)));
+        }
+    }
+
+    private static Set<String> ids(List<ScoredArticle> articles) {
+        return articles.stream()
+                .map(scored -> scored.article().getId())
+                .collect(Collectors.toSet());
+    }
+
+    private static String randomWords(Random random, int count) {
+        final StringJoiner joiner = new StringJoiner(" ");
+        for (int i = 0; i < count; i++)
+            joiner.add(words.get(random.nextInt(words.size())));
+        return joiner.toString();
+    }
+
+}
@@ -1,9 +1,18 @@
 package guzev.petproj.bl.services;
 
+import guzev.petproj.bl.notifications.NotificationMessages;
+import guzev.petproj.bl.notifications.NotificationOutbox;
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.pagination.InvalidCursorException;
+import guzev.petproj.bl.imports.ArticleImporter;
+import guzev.petproj.bl.imports.ImportReport;
+import guzev.petproj.bl.search.ArticleSearchEngine;
 import guzev.petproj.bl.services.impl.ArticleServiceImpl;
 import guzev.petproj.dao.entities.Article;
 import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.repositories.ArticleProjectionRepository.ScoredArticle;
 import guzev.petproj.dao.repositories.ArticleRepository;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,13 +20,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DuplicateKeyException;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,11 +44,22 @@ public class ArticleServiceTests {
     @Mock
     private PublisherService publisherService;
 
+    @Mock
+    private NotificationOutbox notificationOutbox;
+
+    @Mock
+    private ArticleSearchEngine searchEngine;
+
+    @Mock
+    private ArticleImporter articleImporter;
+
     @InjectMocks
     private ArticleServiceImpl articleService;
 
     private Article testArticle;
 
+    private final Set<String> fields = Set.of("id", "title");
+
     @BeforeEach
     public void setup() {
         testArticle = new Article("test-article", "test-article-content");
@@ -48,31 +72,74 @@ public class ArticleServiceTests {
         when(publisherService.readByName(publisherName))
                 .thenReturn(new Publisher(publisherName, "test-publisher-link", "test-publisher-redactor", "test-publisher-phone", "test-publisher-address"));
 
-        when(publisherService.notifySubscribers(anyString(), anyString()))
-                .thenReturn(0);
-
-        when(articleRepo.readArticleByTitleAndPublisherName(testArticle.getTitle(), publisherName))
-                .thenReturn(Optional.empty());
-
-        when(articleRepo.save(testArticle))
+        when(articleRepo.insert(testArticle))
                 .thenReturn(testArticle);
 
         Article createdArticle = articleService.create(testArticle, publisherName);
 
         assertNotNull(createdArticle);
 
-        verify(articleRepo, times(1)).save(testArticle);
-        verify(publisherService, times(1)).notifySubscribers(eq(publisherName), anyString());
+        verify(articleRepo, times(1)).insert(testArticle);
+        verify(notificationOutbox, times(1)).enqueue(eq(publisherName), anyString());
+        verify(searchEngine, times(1)).index(testArticle);
+        verify(publisherService, times(0)).notifySubscribers(anyString(), anyString());
     }
 
     @Test
     public void Create_ShouldThrowException_IfTitleAndPublisherDuplicated() {
         final String publisher = "test-publisher";
 
-        when(articleRepo.readArticleByTitleAndPublisherName(testArticle.getTitle(), publisher))
-                .thenReturn(Optional.of(testArticle));
+        when(publisherService.readByName(publisher))
+                .thenReturn(new Publisher(publisher, "test-publisher-link", "test-publisher-redactor", "test-publisher-phone", "test-publisher-address"));
+
+        when(articleRepo.insert(testArticle))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
 
         assertThrows(DuplicateKeyException.class, () -> articleService.create(testArticle, publisher));
+        verifyNoInteractions(searchEngine, notificationOutbox);
+    }
+
+    @Test
+    public void ImportArticles_ShouldNotifySubscribersOnce() {
+        final String publisherName = "test-publisher";
+        final Publisher publisher = new Publisher(publisherName, "test-publisher-link", "test-publisher-redactor", "test-publisher-phone", "test-publisher-address");
+        final InputStream ndjson = new ByteArrayInputStream(new byte[0]);
+        final ImportReport report = ImportReport.of(List.of(
+                new ImportReport.LineResult(1, ImportReport.Status.CREATED, "test-id", null),
+                new ImportReport.LineResult(2, ImportReport.Status.CREATED, "test-id2", null),
+                new ImportReport.LineResult(3, ImportReport.Status.DUPLICATE, null, "duplicate")));
+
+        when(publisherService.readByName(publisherName))
+                .thenReturn(publisher);
+        when(articleImporter.importArticles(eq(publisher), eq(ndjson), any()))
+                .thenReturn(report);
+
+        assertEquals(report, articleService.importArticles(publisherName, ndjson));
+
+        verify(notificationOutbox, times(1)).enqueue(publisherName, NotificationMessages.articlesImport(publisherName, 2));
+        verify(articleRepo, never()).save(any());
+    }
+
+    @Test
+    public void ImportArticles_ShouldNotNotify_IfNothingCreated() {
+        final String publisherName = "test-publisher";
+
+        when(articleImporter.importArticles(any(), any(), any()))
+                .thenReturn(ImportReport.of(List.of()));
+
+        articleService.importArticles(publisherName, new ByteArrayInputStream(new byte[0]));
+
+        verifyNoInteractions(notificationOutbox);
+    }
+
+    @Test
+    public void ImportArticles_ShouldThrowException_IfPublisherNotExists() {
+        when(publisherService.readByName("test-publisher"))
+                .thenThrow(NoSuchElementException.class);
+
+        assertThrows(NoSuchElementException.class,
+                () -> articleService.importArticles("test-publisher", new ByteArrayInputStream(new byte[0])));
+        verifyNoInteractions(articleImporter);
     }
 
     @Test
@@ -128,10 +195,10 @@ public class ArticleServiceTests {
                 new Article("test-article3", "test-article-content3"),
                 new Article("test-article4", "test-article-content4"));
 
-        when(articleRepo.findAll(PageRequest.of(0,5)))
-                .thenReturn(new PageImpl<>(articles));
+        when(articleRepo.readArticles(null, PageRequest.of(0,5), fields))
+                .thenReturn(articles);
 
-        List<Article> retrievedArticles = articleService.readAll(0,5);
+        List<Article> retrievedArticles = articleService.readAll(0,5, fields);
 
         assertNotNull(retrievedArticles);
         assertEquals(4, retrievedArticles.size());
@@ -144,16 +211,93 @@ public class ArticleServiceTests {
         List<Article> articles = List.of(new Article("test-article", "test-article-content"),
                 new Article("test-article2", "test-article-content2"));
 
-        when(articleRepo.readArticlesByPublisherName(publisherName, PageRequest.of(0,5)))
-                .thenReturn(new PageImpl<>(articles));
+        when(articleRepo.readArticles(publisherName, PageRequest.of(0,5), fields))
+                .thenReturn(articles);
 
-        List<Article> retrievedArticles = articleService.readAllByPublisherName(publisherName, 0,5);
+        List<Article> retrievedArticles = articleService.readAllByPublisherName(publisherName, 0,5, fields);
 
         assertNotNull(retrievedArticles);
         assertEquals(2, retrievedArticles.size());
         assertInstanceOf(Article.class, retrievedArticles.get(0));
     }
 
+    @Test
+    public void ReadAllByPublisherNameAfterCursor_ShouldReadRangeAfterCursor_AndReturnNextCursor() {
+        final String publisherName = "test-publisher";
+        final String lastId = new ObjectId().toHexString();
+        final PageRequest pageable = PageRequest.of(0, 1, Sort.by("id"));
+        final Article article = new Article("test-article", "test-article-content");
+        article.setId(new ObjectId().toHexString());
+
+        when(articleRepo.readArticlesAfter(publisherName, lastId, 1, fields))
+                .thenReturn(new SliceImpl<>(List.of(article), pageable, true));
+
+        CursorPage<Article> retrievedPage = articleService.readAllByPublisherName(publisherName, CursorPage.encode(lastId), 1, fields);
+
+        assertEquals(List.of(article), retrievedPage.content());
+        assertEquals(article.getId(), CursorPage.decode(retrievedPage.next()));
+    }
+
+    @Test
+    public void ReadAllAfterCursor_ShouldThrowException_IfCursorInvalid() {
+        assertThrows(InvalidCursorException.class, () -> articleService.readAll(CursorPage.encode("not-an-id"), 5, fields));
+        assertThrows(InvalidCursorException.class, () -> articleService.readAll("%%%", 5, fields));
+
+        verifyNoInteractions(articleRepo);
+    }
+
+    @Test
+    public void Search_ShouldReadOneMoreArticle_AndReturnScoreAndIdCursor() {
+        final ScoredArticle.Key last = new ScoredArticle.Key(1.5, new ObjectId().toHexString());
+        final Article first = new Article("test-article", "test-article-content");
+        first.setId(new ObjectId().toHexString());
+        final Article second = new Article("test-article2", "test-article-content");
+        second.setId(new ObjectId().toHexString());
+
+        when(searchEngine.search("test", "test-publisher", last, 2, fields))
+                .thenReturn(List.of(new ScoredArticle(first, 1.25), new ScoredArticle(second, 0.75)));
+
+        CursorPage<Article> retrievedPage = articleService.search("test", "test-publisher",
+                CursorPage.encode(last.score() + ":" + last.id()), 1, fields);
+
+        assertEquals(List.of(first), retrievedPage.content());
+        assertEquals("1.25:" + first.getId(), CursorPage.decode(retrievedPage.next()));
+    }
+
+    @Test
+    public void Search_ShouldReturnLastPage_IfNoMoreArticlesRead() {
+        final Article article = new Article("test-article", "test-article-content");
+        article.setId(new ObjectId().toHexString());
+
+        when(searchEngine.search("test", null, null, 6, fields))
+                .thenReturn(List.of(new ScoredArticle(article, 1.0)));
+
+        CursorPage<Article> retrievedPage = articleService.search("test", null, null, 5, fields);
+
+        assertEquals(List.of(article), retrievedPage.content());
+        assertNull(retrievedPage.next());
+    }
+
+    @Test
+    public void Search_ShouldThrowException_IfCursorInvalid() {
+        final String id = new ObjectId().toHexString();
+
+        assertThrows(InvalidCursorException.class, () -> articleService.search("test", null, CursorPage.encode(id), 5, fields));
+        assertThrows(InvalidCursorException.class, () -> articleService.search("test", null, CursorPage.encode("x:" + id), 5, fields));
+        assertThrows(InvalidCursorException.class, () -> articleService.search("test", null, CursorPage.encode("1.0:not-an-id"), 5, fields));
+
+        verifyNoInteractions(searchEngine);
+    }
+
+    @Test
+    public void Search_ShouldReturnEmptyPage_IfTextBlank() {
+        CursorPage<Article> retrievedPage = articleService.search(" ", null, null, 5, fields);
+
+        assertEquals(List.of(), retrievedPage.content());
+        assertNull(retrievedPage.next());
+        verifyNoInteractions(searchEngine);
+    }
+
     @Test
     public void Update_UpdatesShouldBeSaved() {
         when(articleRepo.save(testArticle))
@@ -165,27 +309,28 @@ public class ArticleServiceTests {
         assertEquals(testArticle.getTitle(), updatedArticle.getTitle());
 
         verify(articleRepo, times(1)).save(testArticle);
+        verify(searchEngine, times(1)).index(testArticle);
     }
 
     @Test
     public void Delete_ResultShouldBeSaved() {
         ReflectionTestUtils.setField(testArticle, "id", "test-article-id");
 
-        when(articleRepo.findById(testArticle.getId()))
-                .thenReturn(Optional.of(testArticle));
+        when(articleRepo.deleteArticleById(testArticle.getId()))
+                .thenReturn(1L);
 
         articleService.delete(testArticle.getId());
 
-        verify(articleRepo, times(1)).deleteById(testArticle.getId());
+        verify(searchEngine, times(1)).remove(testArticle.getId());
     }
 
     @Test
     public void Delete_ShouldThrowException_IfArticleNotExists() {
-        when(articleRepo.findById(testArticle.getId()))
-                .thenReturn(Optional.empty());
+        when(articleRepo.deleteArticleById(testArticle.getId()))
+                .thenReturn(0L);
 
         assertThrows(NoSuchElementException.class, () -> articleService.delete(testArticle.getId()));
-        verify(articleRepo, times(0)).deleteById(testArticle.getId());
+        verifyNoInteractions(searchEngine);
     }
 
 
@@ -1,11 +1,16 @@
 package guzev.petproj.bl.services;
 
+import guzev.petproj.bl.notifications.MailDispatcher;
+import guzev.petproj.bl.pagination.CursorPage;
 import guzev.petproj.bl.services.impl.PublisherServiceImpl;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionReport;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionWriter;
 import guzev.petproj.dao.entities.Publisher;
 import guzev.petproj.dao.entities.Subscriber;
+import guzev.petproj.dao.entities.Subscription;
 import guzev.petproj.dao.repositories.PublisherRepository;
-import jakarta.mail.Session;
-import jakarta.mail.internet.MimeMessage;
+import guzev.petproj.dao.repositories.SubscriberRepository;
+import guzev.petproj.dao.repositories.SubscriptionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,10 +20,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.mail.MailSendException;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,11 +39,20 @@ public class PublisherServiceTests {
     @Mock
     private PublisherRepository publisherRepo;
 
+    @Mock
+    private SubscriptionRepository subscriptionRepo;
+
+    @Mock
+    private SubscriberRepository subscriberRepo;
+
     @Mock
     private SubscriberService subscriberService;
 
     @Mock
-    private JavaMailSender mailSender;
+    private MailDispatcher mailDispatcher;
+
+    @Mock
+    private BulkSubscriptionWriter bulkSubscriptionWriter;
 
     @InjectMocks
     private PublisherServiceImpl publisherService;
@@ -47,10 +66,7 @@ public class PublisherServiceTests {
 
     @Test
     public void Create_ResultShouldBeSaved() {
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.empty());
-
-        when(publisherRepo.save(testPublisher))
+        when(publisherRepo.insert(testPublisher))
                 .thenReturn(testPublisher);
 
         Publisher createdPublisher = publisherService.create(testPublisher);
@@ -58,13 +74,13 @@ public class PublisherServiceTests {
         assertNotNull(createdPublisher);
         assertEquals(testPublisher.getName(), createdPublisher.getName());
 
-        verify(publisherRepo, times(1)).save(testPublisher);
+        verify(publisherRepo, times(1)).insert(testPublisher);
     }
 
     @Test
     public void Create_ShouldThrowException_IfEmailDuplicated() {
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.of(testPublisher));
+        when(publisherRepo.insert(testPublisher))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
 
         assertThrows(DuplicateKeyException.class, () -> publisherService.create(testPublisher));
     }
@@ -93,8 +109,8 @@ public class PublisherServiceTests {
         List<Publisher> publishers = List.of(testPublisher,
                 new Publisher("test-publisher-2", "test-link-2", "test-redactor-2", "test-phone-2", "test-address-2"));
 
-        when(publisherRepo.findAll(PageRequest.of(0, 5)))
-                .thenReturn(new PageImpl<>(publishers));
+        when(publisherRepo.readPublishersBy(PageRequest.of(0, 5, Sort.by("name"))))
+                .thenReturn(new SliceImpl<>(publishers));
 
         List<Publisher> retrievedPublishers = publisherService.readAll(0, 5);
 
@@ -105,55 +121,170 @@ public class PublisherServiceTests {
 
     @Test
     public void ReadSubscribedPublishers_ShouldReturnPublishers() {
-        List<Publisher> publishers = List.of(testPublisher,
-                new Publisher("test-publisher-2", "test-link-2", "test-redactor-2", "test-phone-2", "test-address-2"));
-        Subscriber subscriber = new Subscriber("test-subscriber", "test-subscriber-link");
+        final Publisher secondPublisher = new Publisher("test-publisher-2", "test-link-2", "test-redactor-2", "test-phone-2", "test-address-2");
+        final Subscriber subscriber = new Subscriber("test-subscriber", "test-subscriber-link");
+        final List<String> publisherNames = List.of(testPublisher.getName(), secondPublisher.getName());
 
         when(subscriberService.readByEmail(subscriber.getEmail()))
                 .thenReturn(subscriber);
 
-        when(publisherRepo.findPublishersBySubscribersContains(subscriber, PageRequest.of(0, 5)))
-                .thenReturn(new PageImpl<>(publishers));
+        when(subscriptionRepo.findSubscriptionsBySubscriberEmail(subscriber.getEmail(), PageRequest.of(0, 5, Sort.by("publisherName"))))
+                .thenReturn(new PageImpl<>(publisherNames.stream()
+                        .map(name -> new Subscription(name, subscriber.getEmail(), Instant.now()))
+                        .toList()));
+
+        when(publisherRepo.findAllById(publisherNames))
+                .thenReturn(new ArrayList<>(List.of(secondPublisher, testPublisher)));
 
         List<Publisher> retrievedPublishers = publisherService.readSubscribedPublishers(subscriber.getEmail(), 0, 5);
 
         assertNotNull(retrievedPublishers);
-        assertEquals(2, retrievedPublishers.size());
-        assertInstanceOf(Publisher.class, retrievedPublishers.get(0));
+        assertEquals(List.of(testPublisher, secondPublisher), retrievedPublishers);
+    }
+
+    @Test
+    public void ReadSubscribedPublishersAfterCursor_ShouldTakeNextCursorFromSubscriptions() {
+        final Subscriber subscriber = new Subscriber("test-subscriber", "test-subscriber-link");
+        final PageRequest pageable = PageRequest.of(0, 2, Sort.by("publisherName"));
+        final List<String> publisherNames = List.of(testPublisher.getName(), "removed-publisher");
+
+        when(subscriberService.readByEmail(subscriber.getEmail()))
+                .thenReturn(subscriber);
+
+        when(subscriptionRepo.findSubscriptionsBySubscriberEmailAndPublisherNameGreaterThan(subscriber.getEmail(), "a", pageable))
+                .thenReturn(new SliceImpl<>(publisherNames.stream()
+                        .map(name -> new Subscription(name, subscriber.getEmail(), Instant.now()))
+                        .toList(), pageable, true));
+
+        when(publisherRepo.findAllById(publisherNames))
+                .thenReturn(new ArrayList<>(List.of(testPublisher)));
+
+        CursorPage<Publisher> retrievedPage = publisherService.readSubscribedPublishers(subscriber.getEmail(), CursorPage.encode("a"), 2);
+
+        assertEquals(List.of(testPublisher), retrievedPage.content());
+        assertEquals("removed-publisher", CursorPage.decode(retrievedPage.next()));
+    }
+
+    @Test
+    public void ReadSubscribedPublishers_ShouldThrowException_IfSubscriberNotExists() {
+        when(subscriberService.readByEmail("test-subscriber"))
+                .thenThrow(NoSuchElementException.class);
+
+        assertThrows(NoSuchElementException.class, () -> publisherService.readSubscribedPublishers("test-subscriber", 0, 5));
+        verifyNoInteractions(subscriptionRepo);
+    }
+
+    @Test
+    public void ReadSubscribers_ShouldReturnSubscribersSortedByEmail() {
+        final Subscriber first = new Subscriber("a@email.com", "test-user");
+        final Subscriber second = new Subscriber("b@email.com", "test-user-2");
+        final List<String> emails = List.of(first.getEmail(), second.getEmail());
+
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(true);
+        when(subscriptionRepo.findSubscriptionsByPublisherName(testPublisher.getName(), PageRequest.of(1, 2, Sort.by("subscriberEmail"))))
+                .thenReturn(new SliceImpl<>(emails.stream()
+                        .map(email -> new Subscription(testPublisher.getName(), email, Instant.now()))
+                        .toList()));
+        when(subscriberRepo.findAllById(emails))
+                .thenReturn(new ArrayList<>(List.of(second, first)));
+
+        assertEquals(List.of(first, second), publisherService.readSubscribers(testPublisher.getName(), 1, 2));
+    }
+
+    @Test
+    public void ReadSubscribersAfterCursor_ShouldTakeNextCursorFromSubscriptions() {
+        final Subscriber subscriber = new Subscriber("b@email.com", "test-user");
+        final PageRequest pageable = PageRequest.of(0, 2, Sort.by("subscriberEmail"));
+        final List<String> emails = List.of(subscriber.getEmail(), "removed@email.com");
+
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(true);
+        when(subscriptionRepo.findSubscriptionsByPublisherNameAndSubscriberEmailGreaterThan(testPublisher.getName(), "a@email.com", pageable))
+                .thenReturn(new SliceImpl<>(emails.stream()
+                        .map(email -> new Subscription(testPublisher.getName(), email, Instant.now()))
+                        .toList(), pageable, true));
+        when(subscriberRepo.findAllById(emails))
+                .thenReturn(new ArrayList<>(List.of(subscriber)));
+
+        CursorPage<Subscriber> retrievedPage = publisherService.readSubscribers(testPublisher.getName(), CursorPage.encode("a@email.com"), 2);
+
+        assertEquals(List.of(subscriber), retrievedPage.content());
+        assertEquals("removed@email.com", CursorPage.decode(retrievedPage.next()));
     }
 
     @Test
+    public void ReadSubscribers_ShouldThrowException_IfPublisherNotExists() {
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(false);
+
+        assertThrows(NoSuchElementException.class, () -> publisherService.readSubscribers(testPublisher.getName(), 0, 5));
+        verifyNoInteractions(subscriptionRepo, subscriberRepo);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
     public void NotifySubscribers_ShouldSendMails() {
-        Set<Subscriber> subscribers = Set.of(new Subscriber("test-subscriber", "test-subscriber-username"));
-        testPublisher.setSubscribers(subscribers);
+        final Subscription subscription = new Subscription(testPublisher.getName(), "test-subscriber", Instant.now());
 
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.of(testPublisher));
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(true);
 
-        when(mailSender.createMimeMessage())
-                .thenReturn(new MimeMessage((Session) null));
+        final AtomicBoolean streamClosed = new AtomicBoolean();
+
+        when(subscriptionRepo.streamSubscriptionsByPublisherName(testPublisher.getName()))
+                .thenReturn(Stream.of(subscription).onClose(() -> streamClosed.set(true)));
+
+        when(mailDispatcher.send(anyString(), eq("test-message"), any(), any()))
+                .thenAnswer(invocation -> {
+                    Iterator<String> recipients = invocation.getArgument(2);
+                    assertEquals("test-subscriber", recipients.next());
+                    assertFalse(recipients.hasNext());
+                    return 1;
+                });
 
         Integer res = publisherService.notifySubscribers(testPublisher.getName(), "test-message");
 
         assertEquals(res, 1);
+        assertTrue(streamClosed.get());
 
-        verify(mailSender, times(1)).send(any(MimeMessage.class));
+        verify(mailDispatcher, times(1)).send(anyString(), eq("test-message"), any(), any());
     }
 
     @Test
-    public void NotifySubscribers_ShouldThrowException_IfMessagingExceptionThrown() {
-        Set<Subscriber> subscribers = Set.of(new Subscriber("test-subscriber", "test-subscriber-username"));
-        testPublisher.setSubscribers(subscribers);
+    public void NotifySubscribers_ShouldResumeAfterLastRecipient() {
+        final MailDispatcher.Progress progress = (lastRecipient, recipients) -> {};
+
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(true);
+        when(subscriptionRepo.streamSubscriptionsByPublisherNameAfter(testPublisher.getName(), "test1@email.com"))
+                .thenReturn(Stream.of(new Subscription(testPublisher.getName(), "test2@email.com", Instant.now())));
+        when(mailDispatcher.send(anyString(), eq("test-message"), any(), eq(progress)))
+                .thenReturn(1);
+
+        assertEquals(1, publisherService.notifySubscribers(testPublisher.getName(), "test-message", "test1@email.com", progress));
+        verify(subscriptionRepo, never()).streamSubscriptionsByPublisherName(anyString());
+    }
 
-        MimeMessage mimeMessage = new MimeMessage((Session) null);
+    @Test
+    public void NotifySubscribers_ShouldThrowException_IfPublisherNotExists() {
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(false);
 
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.of(testPublisher));
+        assertThrows(NoSuchElementException.class, () -> publisherService.notifySubscribers(testPublisher.getName(), "test-message"));
+        verifyNoInteractions(mailDispatcher);
+    }
+
+    @Test
+    public void NotifySubscribers_ShouldThrowException_IfMessagingExceptionThrown() {
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(true);
 
-        when(mailSender.createMimeMessage())
-                .thenReturn(mimeMessage);
+        when(subscriptionRepo.streamSubscriptionsByPublisherName(testPublisher.getName()))
+                .thenReturn(Stream.of(new Subscription(testPublisher.getName(), "test-subscriber", Instant.now())));
 
-        doThrow(MailSendException.class).when(mailSender).send(any(MimeMessage.class));
+        when(mailDispatcher.send(anyString(), eq("test-message"), any(), any()))
+                .thenThrow(new RuntimeException("Cannot send emails"));
 
         assertThrows(RuntimeException.class, () -> publisherService.notifySubscribers(testPublisher.getName(), "test-message"));
     }
@@ -172,110 +303,135 @@ public class PublisherServiceTests {
     public void Subscribe_ShouldSaveSubscriptionIfNotSubbed() {
         final Subscriber subscriber = new Subscriber("test@email.com", "test-subscriber-username");
 
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.of(testPublisher));
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(true);
 
         when(subscriberService.readByEmail(subscriber.getEmail()))
                 .thenReturn(subscriber);
 
-        when(publisherRepo.save(testPublisher))
-                .thenReturn(testPublisher);
+        when(subscriptionRepo.insertIfAbsent(testPublisher.getName(), subscriber.getEmail()))
+                .thenReturn(true);
 
         boolean result = publisherService.subscribe(testPublisher.getName(), subscriber.getEmail());
 
         assertTrue(result);
-        verify(publisherRepo, times(1)).save(testPublisher);
+        verify(subscriptionRepo, times(1)).insertIfAbsent(testPublisher.getName(), subscriber.getEmail());
+        verify(subscriptionRepo, never()).save(any(Subscription.class));
     }
 
     @Test
     public void Subscribe_ShouldNotSaveSubscriptionIfAlreadySubbed() {
         final Subscriber subscriber = new Subscriber("test@email.com", "test-subscriber-username");
-        final Set<Subscriber> subscribers = new HashSet<>();
-        subscribers.add(subscriber);
-        testPublisher.setSubscribers(subscribers);
 
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.of(testPublisher));
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(true);
 
         when(subscriberService.readByEmail(subscriber.getEmail()))
                 .thenReturn(subscriber);
 
+        when(subscriptionRepo.insertIfAbsent(testPublisher.getName(), subscriber.getEmail()))
+                .thenReturn(false);
+
         boolean result = publisherService.subscribe(testPublisher.getName(), subscriber.getEmail());
 
-        assertTrue(result);
-        verify(publisherRepo, times(0)).save(testPublisher);
+        assertFalse(result);
     }
 
     @Test
     public void Subscribe_ShouldThrowIfNotFound() {
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.empty());
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(false);
 
         assertThrows(NoSuchElementException.class, () -> publisherService.subscribe(testPublisher.getName(), "test@email.com"));
+        verifyNoInteractions(subscriptionRepo);
     }
 
     @Test
     public void Unsubscribe_ShouldSaveSubscriptionIfNotSubbed() {
         final Subscriber subscriber = new Subscriber("test@email.com", "test-subscriber-username");
-        Set<Subscriber> subscribers = new HashSet<>();
-        subscribers.add(subscriber);
-        testPublisher.setSubscribers(subscribers);
 
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.of(testPublisher));
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(true);
 
         when(subscriberService.readByEmail(subscriber.getEmail()))
                 .thenReturn(subscriber);
 
-        when(publisherRepo.save(testPublisher))
-                .thenReturn(testPublisher);
+        when(subscriptionRepo.deleteByPublisherNameAndSubscriberEmail(testPublisher.getName(), subscriber.getEmail()))
+                .thenReturn(1L);
 
         boolean result = publisherService.unsubscribe(testPublisher.getName(), subscriber.getEmail());
 
         assertTrue(result);
-        verify(publisherRepo, times(1)).save(testPublisher);
     }
 
     @Test
     public void Unsubscribe_ShouldNotSaveSubscriptionIfNotSubbed() {
         final Subscriber subscriber = new Subscriber("test@email.com", "test-subscriber-username");
 
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.of(testPublisher));
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(true);
 
         when(subscriberService.readByEmail(subscriber.getEmail()))
                 .thenReturn(subscriber);
 
+        when(subscriptionRepo.deleteByPublisherNameAndSubscriberEmail(testPublisher.getName(), subscriber.getEmail()))
+                .thenReturn(0L);
+
         boolean result = publisherService.unsubscribe(testPublisher.getName(), subscriber.getEmail());
 
         assertFalse(result);
-        verify(publisherRepo, times(0)).save(testPublisher);
+    }
+
+    @Test
+    public void SubscribeAll_ShouldWriteEmails_IfPublisherExists() {
+        final InputStream emails = new ByteArrayInputStream("test@email.com".getBytes());
+        final BulkSubscriptionReport report = BulkSubscriptionReport.of(List.of(
+                new BulkSubscriptionReport.EmailResult("test@email.com", BulkSubscriptionReport.Status.SUBSCRIBED)));
+
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(true);
+        when(bulkSubscriptionWriter.subscribe(testPublisher.getName(), emails))
+                .thenReturn(report);
+
+        assertEquals(report, publisherService.subscribeAll(testPublisher.getName(), emails));
+        verifyNoInteractions(subscriberService, subscriptionRepo);
+    }
+
+    @Test
+    public void UnsubscribeAll_ShouldThrowException_IfPublisherNotExists() {
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(false);
+
+        assertThrows(NoSuchElementException.class,
+                () -> publisherService.unsubscribeAll(testPublisher.getName(), new ByteArrayInputStream(new byte[0])));
+        verifyNoInteractions(bulkSubscriptionWriter);
     }
 
     @Test
     public void Unsubscribe_ShouldThrowIfNotFound() {
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.empty());
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(false);
 
         assertThrows(NoSuchElementException.class, () -> publisherService.unsubscribe(testPublisher.getName(), "test@email.com"));
+        verifyNoInteractions(subscriptionRepo);
     }
 
     @Test
     public void Delete_ResultShouldBeSaved() {
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.of(testPublisher));
+        when(publisherRepo.deleteByName(testPublisher.getName()))
+                .thenReturn(1L);
 
         publisherService.delete(testPublisher.getName());
 
-        verify(publisherRepo, times(1)).deleteById(testPublisher.getName());
+        verify(subscriptionRepo, times(1)).deleteByPublisherName(testPublisher.getName());
     }
 
     @Test
     public void Delete_ShouldThrowException_IfPublisherNotExists() {
-        when(publisherRepo.findById(testPublisher.getName()))
-                .thenReturn(Optional.empty());
+        when(publisherRepo.deleteByName(testPublisher.getName()))
+                .thenReturn(0L);
 
         assertThrows(NoSuchElementException.class, () -> publisherService.delete(testPublisher.getName()));
-        verify(publisherRepo, times(0)).deleteById(testPublisher.getName());
+        verify(subscriptionRepo, never()).deleteByPublisherName(testPublisher.getName());
     }
 }
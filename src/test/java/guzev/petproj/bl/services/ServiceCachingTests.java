@@ -0,0 +1,164 @@
+package guzev.petproj.bl.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import guzev.petproj.bl.notifications.MailDispatcher;
+import guzev.petproj.bl.notifications.NotificationOutbox;
+import guzev.petproj.bl.imports.ArticleImporter;
+import guzev.petproj.bl.search.ArticleSearchEngine;
+import guzev.petproj.bl.services.impl.ArticleServiceImpl;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionWriter;
+import guzev.petproj.bl.services.impl.PublisherServiceImpl;
+import guzev.petproj.bl.services.impl.SubscriberServiceImpl;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.entities.Subscriber;
+import guzev.petproj.dao.repositories.ArticleRepository;
+import guzev.petproj.dao.repositories.PublisherRepository;
+import guzev.petproj.dao.repositories.SubscriberRepository;
+import guzev.petproj.dao.repositories.SubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(ServiceCachingTests.CachingConfig.class)
+public class ServiceCachingTests {
+
+    @Configuration
+    @EnableCaching
+    @Import({PublisherServiceImpl.class, SubscriberServiceImpl.class, ArticleServiceImpl.class})
+    static class CachingConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            final CaffeineCacheManager cacheManager = new CaffeineCacheManager("publishers", "subscribers", "articles");
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+            return cacheManager;
+        }
+    }
+
+    @MockBean
+    private PublisherRepository publisherRepo;
+
+    @MockBean
+    private SubscriberRepository subscriberRepo;
+
+    @MockBean
+    private ArticleRepository articleRepo;
+
+    @MockBean
+    private SubscriptionRepository subscriptionRepo;
+
+    @MockBean
+    private MailDispatcher mailDispatcher;
+
+    @MockBean
+    private NotificationOutbox notificationOutbox;
+
+    @MockBean
+    private ArticleSearchEngine searchEngine;
+
+    @MockBean
+    private ArticleImporter articleImporter;
+
+    @MockBean
+    private BulkSubscriptionWriter bulkSubscriptionWriter;
+
+    @Autowired
+    private PublisherService publisherService;
+
+    @Autowired
+    private SubscriberService subscriberService;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Publisher testPublisher;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        testPublisher = new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address");
+    }
+
+    @Test
+    public void ReadByName_ShouldReadDbOnce_IfRepeated() {
+        when(publisherRepo.findById(testPublisher.getName()))
+                .thenReturn(Optional.of(testPublisher));
+
+        assertEquals(testPublisher, publisherService.readByName(testPublisher.getName()));
+        assertEquals(testPublisher, publisherService.readByName(testPublisher.getName()));
+
+        verify(publisherRepo, times(1)).findById(testPublisher.getName());
+    }
+
+    @Test
+    public void ReadByName_ShouldReadDbAgain_IfPublisherUpdated() {
+        when(publisherRepo.findById(testPublisher.getName()))
+                .thenReturn(Optional.of(testPublisher));
+
+        publisherService.readByName(testPublisher.getName());
+        publisherService.update(testPublisher);
+        publisherService.readByName(testPublisher.getName());
+
+        verify(publisherRepo, times(2)).findById(testPublisher.getName());
+    }
+
+    @Test
+    public void ReadByName_ShouldNotCacheMissingPublisher() {
+        when(publisherRepo.findById("test-publisher"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class, () -> publisherService.readByName("test-publisher"));
+        assertNull(cacheManager.getCache("publishers").get("test-publisher"));
+    }
+
+    @Test
+    public void ReadByEmail_ShouldBeEvicted_IfSubscriberDeleted() {
+        final Subscriber subscriber = new Subscriber("test@email.com", "test-user");
+
+        when(subscriberRepo.findById(subscriber.getEmail()))
+                .thenReturn(Optional.of(subscriber));
+        when(subscriberRepo.deleteByEmail(subscriber.getEmail()))
+                .thenReturn(1L);
+
+        subscriberService.readByEmail(subscriber.getEmail());
+        assertNotNull(cacheManager.getCache("subscribers").get(subscriber.getEmail()));
+
+        subscriberService.delete(subscriber.getEmail());
+        assertNull(cacheManager.getCache("subscribers").get(subscriber.getEmail()));
+    }
+
+    @Test
+    public void ReadById_ShouldBeEvicted_IfArticleUpdated() {
+        final Article article = new Article("test-article", "test-article-content");
+        article.setId("test-id");
+
+        when(articleRepo.findById(article.getId()))
+                .thenReturn(Optional.of(article));
+
+        articleService.readById(article.getId());
+        articleService.readById(article.getId());
+        verify(articleRepo, times(1)).findById(article.getId());
+
+        articleService.update(article);
+        assertNull(cacheManager.getCache("articles").get(article.getId()));
+    }
+
+}
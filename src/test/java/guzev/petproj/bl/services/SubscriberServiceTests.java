@@ -1,8 +1,10 @@
 package guzev.petproj.bl.services;
 
+import guzev.petproj.bl.pagination.CursorPage;
 import guzev.petproj.bl.services.impl.SubscriberServiceImpl;
 import guzev.petproj.dao.entities.Subscriber;
 import guzev.petproj.dao.repositories.SubscriberRepository;
+import guzev.petproj.dao.repositories.SubscriptionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,8 +12,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DuplicateKeyException;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -26,6 +29,9 @@ public class SubscriberServiceTests {
     @Mock
     private SubscriberRepository subscriberRepo;
 
+    @Mock
+    private SubscriptionRepository subscriptionRepo;
+
     @InjectMocks
     private SubscriberServiceImpl subscriberService;
 
@@ -38,10 +44,7 @@ public class SubscriberServiceTests {
 
     @Test
     public void Create_ResultShouldBeSaved() {
-        when(subscriberRepo.findById(testSubscriber.getEmail()))
-                        .thenReturn(Optional.empty());
-
-        when(subscriberRepo.save(testSubscriber))
+        when(subscriberRepo.insert(testSubscriber))
                 .thenReturn(testSubscriber);
 
         Subscriber createdSubscriber = subscriberService.create(testSubscriber);
@@ -49,13 +52,13 @@ public class SubscriberServiceTests {
         assertNotNull(createdSubscriber);
         assertEquals(testSubscriber.getEmail(), createdSubscriber.getEmail());
 
-        verify(subscriberRepo, times(1)).save(testSubscriber);
+        verify(subscriberRepo, times(1)).insert(testSubscriber);
     }
 
     @Test
     public void Create_ShouldThrowException_IfEmailDuplicated() {
-        when(subscriberRepo.findById(testSubscriber.getEmail()))
-                .thenReturn(Optional.of(testSubscriber));
+        when(subscriberRepo.insert(testSubscriber))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
 
         assertThrows(DuplicateKeyException.class, () -> subscriberService.create(testSubscriber));
     }
@@ -85,8 +88,8 @@ public class SubscriberServiceTests {
                 new Subscriber("test2@email.com", "test-user2"),
                 new Subscriber("test3@email.com", "test-user3"));
 
-        when(subscriberRepo.findAll(PageRequest.of(0,5)))
-                .thenReturn(new PageImpl<>(subscribers));
+        when(subscriberRepo.readSubscribersBy(PageRequest.of(0, 5, Sort.by("email"))))
+                .thenReturn(new SliceImpl<>(subscribers));
 
         List<Subscriber> retrievedSubscribers = subscriberService.readAll(0, 5);
 
@@ -95,6 +98,35 @@ public class SubscriberServiceTests {
         assertInstanceOf(Subscriber.class, retrievedSubscribers.get(0));
     }
 
+    @Test
+    public void ReadAllAfterCursor_ShouldReadRangeAfterCursor_AndReturnNextCursor() {
+        final PageRequest pageable = PageRequest.of(0, 2, Sort.by("email"));
+        List<Subscriber> subscribers = List.of(new Subscriber("test2@email.com", "test-user2"),
+                new Subscriber("test3@email.com", "test-user3"));
+
+        when(subscriberRepo.readSubscribersByEmailGreaterThan("test1@email.com", pageable))
+                .thenReturn(new SliceImpl<>(subscribers, pageable, true));
+
+        CursorPage<Subscriber> retrievedPage = subscriberService.readAll(CursorPage.encode("test1@email.com"), 2);
+
+        assertEquals(subscribers, retrievedPage.content());
+        assertEquals("test3@email.com", CursorPage.decode(retrievedPage.next()));
+        verify(subscriberRepo, never()).count();
+    }
+
+    @Test
+    public void ReadAllAfterCursor_ShouldReadFirstPage_IfCursorEmpty() {
+        final PageRequest pageable = PageRequest.of(0, 5, Sort.by("email"));
+
+        when(subscriberRepo.readSubscribersBy(pageable))
+                .thenReturn(new SliceImpl<>(List.of(testSubscriber), pageable, false));
+
+        CursorPage<Subscriber> retrievedPage = subscriberService.readAll("", 5);
+
+        assertEquals(List.of(testSubscriber), retrievedPage.content());
+        assertNull(retrievedPage.next());
+    }
+
     @Test
     public void Update_UpdatesShouldBeSaved() {
         when(subscriberRepo.save(testSubscriber))
@@ -110,20 +142,20 @@ public class SubscriberServiceTests {
 
     @Test
     public void Delete_ResultShouldBeSaved() {
-        when(subscriberRepo.findById(testSubscriber.getEmail()))
-                .thenReturn(Optional.of(testSubscriber));
+        when(subscriberRepo.deleteByEmail(testSubscriber.getEmail()))
+                .thenReturn(1L);
 
         subscriberService.delete(testSubscriber.getEmail());
 
-        verify(subscriberRepo, times(1)).deleteById(testSubscriber.getEmail());
+        verify(subscriptionRepo, times(1)).deleteBySubscriberEmail(testSubscriber.getEmail());
     }
 
     @Test
     public void Delete_ShouldThrowException_IfSubscriberNotExists() {
-        when(subscriberRepo.findById(testSubscriber.getEmail()))
-                .thenReturn(Optional.empty());
+        when(subscriberRepo.deleteByEmail(testSubscriber.getEmail()))
+                .thenReturn(0L);
 
         assertThrows(NoSuchElementException.class, () -> subscriberService.delete(testSubscriber.getEmail()));
-        verify(subscriberRepo, times(0)).deleteById(testSubscriber.getEmail());
+        verify(subscriptionRepo, never()).deleteBySubscriberEmail(testSubscriber.getEmail());
     }
 }
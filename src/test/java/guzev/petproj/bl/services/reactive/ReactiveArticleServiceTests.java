@@ -0,0 +1,207 @@
+package guzev.petproj.bl.services.reactive;
+
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.search.ArticleSearchEngine;
+import guzev.petproj.bl.services.reactive.impl.ReactiveArticleServiceImpl;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Notification;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.repositories.reactive.ReactiveArticleReader;
+import guzev.petproj.dao.repositories.reactive.ReactiveArticleRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveArticleServiceTests {
+
+    @Mock
+    private ReactiveArticleRepository articleRepo;
+
+    @Mock
+    private ReactiveArticleReader articleReader;
+
+    @Mock
+    private ReactivePublisherService publisherService;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private ArticleSearchEngine searchEngine;
+
+    @InjectMocks
+    private ReactiveArticleServiceImpl articleService;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager("articles");
+
+    private Publisher testPublisher;
+
+    private Article testArticle;
+
+    @BeforeEach
+    public void setup() {
+        testPublisher = new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address");
+        testArticle = new Article("test-article", "test-article-content");
+        ReflectionTestUtils.setField(testArticle, "id", new ObjectId().toHexString());
+        ReflectionTestUtils.setField(articleService, "cacheManager", cacheManager);
+    }
+
+    @Test
+    public void Create_ResultShouldBeSavedAndIndexed_AndNotificationStored() {
+        when(publisherService.readByName(testPublisher.getName()))
+                .thenReturn(Mono.just(testPublisher));
+        when(articleRepo.insert(testArticle))
+                .thenReturn(Mono.just(testArticle));
+        when(mongoTemplate.insert(any(Notification.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(articleService.create(testArticle, testPublisher.getName()))
+                .expectNext(testArticle)
+                .verifyComplete();
+
+        assertEquals(testPublisher, testArticle.getPublisher());
+        verify(mongoTemplate, times(1)).insert(any(Notification.class));
+        verify(searchEngine, times(1)).index(testArticle);
+    }
+
+    @Test
+    public void Create_SignalDuplicateKeyException_IfTitleExists() {
+        when(publisherService.readByName(testPublisher.getName()))
+                .thenReturn(Mono.just(testPublisher));
+        when(articleRepo.insert(testArticle))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(articleService.create(testArticle, testPublisher.getName()))
+                .verifyErrorMessage("An article with entered title already exists in system.");
+
+        verifyNoInteractions(mongoTemplate, searchEngine);
+    }
+
+    @Test
+    public void Create_SignalNoSuchElementException_IfPublisherNotExists() {
+        when(publisherService.readByName(testPublisher.getName()))
+                .thenReturn(Mono.error(new NoSuchElementException()));
+
+        StepVerifier.create(articleService.create(testArticle, testPublisher.getName()))
+                .verifyError(NoSuchElementException.class);
+
+        verifyNoInteractions(articleRepo, mongoTemplate);
+    }
+
+    @Test
+    public void ReadById_ReadFromCache_IfAlreadyRead() {
+        final AtomicInteger reads = new AtomicInteger();
+
+        when(articleReader.findById(testArticle.getId()))
+                .thenReturn(Mono.fromCallable(() -> {
+                    reads.incrementAndGet();
+                    return testArticle;
+                }));
+
+        StepVerifier.create(articleService.readById(testArticle.getId()))
+                .expectNext(testArticle)
+                .verifyComplete();
+        StepVerifier.create(articleService.readById(testArticle.getId()))
+                .expectNext(testArticle)
+                .verifyComplete();
+
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void ReadById_SignalNoSuchElementException_IfArticleNotExists() {
+        when(articleReader.findById(testArticle.getId()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(articleService.readById(testArticle.getId()))
+                .verifyError(NoSuchElementException.class);
+
+        assertNull(cacheManager.getCache("articles").get(testArticle.getId()));
+    }
+
+    @Test
+    public void ReadByTitleAndPublisherName_SignalNoSuchElementException_IfArticleNotExists() {
+        when(articleReader.findByTitleAndPublisherName(testArticle.getTitle(), testPublisher.getName()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(articleService.readByTitleAndPublisherName(testArticle.getTitle(), testPublisher.getName()))
+                .verifyError(NoSuchElementException.class);
+    }
+
+    @Test
+    public void ReadAllByPublisherName_ReturnNextCursor_IfMoreArticlesExist() {
+        final Article next = new Article("test-article-2", "test-article-content");
+        ReflectionTestUtils.setField(next, "id", new ObjectId().toHexString());
+
+        when(articleReader.findAfter(testPublisher.getName(), null, 2))
+                .thenReturn(Flux.just(testArticle, next));
+
+        StepVerifier.create(articleService.readAllByPublisherName(testPublisher.getName(), "", 1))
+                .assertNext(page -> {
+                    assertEquals(List.of(testArticle), page.content());
+                    assertEquals(testArticle.getId(), CursorPage.decode(page.next()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void Update_EvictCachedArticle_AndIndexIt() {
+        cacheManager.getCache("articles").put(testArticle.getId(), testArticle);
+
+        when(articleRepo.save(testArticle))
+                .thenReturn(Mono.just(testArticle));
+
+        StepVerifier.create(articleService.update(testArticle))
+                .expectNext(testArticle)
+                .verifyComplete();
+
+        assertNull(cacheManager.getCache("articles").get(testArticle.getId()));
+        verify(searchEngine, times(1)).index(testArticle);
+    }
+
+    @Test
+    public void Delete_EvictCachedArticle_AndRemoveFromIndex_IfArticleExists() {
+        cacheManager.getCache("articles").put(testArticle.getId(), testArticle);
+
+        when(articleRepo.deleteArticleById(testArticle.getId()))
+                .thenReturn(Mono.just(1L));
+
+        StepVerifier.create(articleService.delete(testArticle.getId()))
+                .verifyComplete();
+
+        assertNull(cacheManager.getCache("articles").get(testArticle.getId()));
+        verify(searchEngine, times(1)).remove(testArticle.getId());
+    }
+
+    @Test
+    public void Delete_SignalNoSuchElementException_IfArticleNotExists() {
+        when(articleRepo.deleteArticleById(testArticle.getId()))
+                .thenReturn(Mono.just(0L));
+
+        StepVerifier.create(articleService.delete(testArticle.getId()))
+                .verifyError(NoSuchElementException.class);
+
+        verifyNoInteractions(searchEngine);
+    }
+
+}
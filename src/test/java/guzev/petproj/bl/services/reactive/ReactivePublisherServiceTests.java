@@ -0,0 +1,199 @@
+package guzev.petproj.bl.services.reactive;
+
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.services.reactive.impl.ReactivePublisherServiceImpl;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.dao.entities.Subscriber;
+import guzev.petproj.dao.repositories.reactive.ReactivePublisherRepository;
+import guzev.petproj.dao.repositories.reactive.ReactiveSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactivePublisherServiceTests {
+
+    @Mock
+    private ReactivePublisherRepository publisherRepo;
+
+    @Mock
+    private ReactiveSubscriptionRepository subscriptionRepo;
+
+    @Mock
+    private ReactiveSubscriberService subscriberService;
+
+    @InjectMocks
+    private ReactivePublisherServiceImpl publisherService;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager("publishers");
+
+    private Publisher testPublisher;
+
+    @BeforeEach
+    public void setup() {
+        testPublisher = new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address");
+        ReflectionTestUtils.setField(publisherService, "cacheManager", cacheManager);
+    }
+
+    @Test
+    public void Create_ResultShouldBeSaved() {
+        when(publisherRepo.insert(testPublisher))
+                .thenReturn(Mono.just(testPublisher));
+
+        StepVerifier.create(publisherService.create(testPublisher))
+                .expectNext(testPublisher)
+                .verifyComplete();
+    }
+
+    @Test
+    public void Create_SignalDuplicateKeyException_IfPublisherExists() {
+        when(publisherRepo.insert(testPublisher))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(publisherService.create(testPublisher))
+                .verifyErrorMessage("A publisher with entered name already exists in system.");
+    }
+
+    @Test
+    public void ReadByName_ReadFromCache_IfAlreadyRead() {
+        final AtomicInteger reads = new AtomicInteger();
+
+        when(publisherRepo.findById(testPublisher.getName()))
+                .thenReturn(Mono.fromCallable(() -> {
+                    reads.incrementAndGet();
+                    return testPublisher;
+                }));
+
+        StepVerifier.create(publisherService.readByName(testPublisher.getName()))
+                .expectNext(testPublisher)
+                .verifyComplete();
+        StepVerifier.create(publisherService.readByName(testPublisher.getName()))
+                .expectNext(testPublisher)
+                .verifyComplete();
+
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void ReadByName_SignalNoSuchElementException_IfPublisherNotExists() {
+        when(publisherRepo.findById(testPublisher.getName()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(publisherService.readByName(testPublisher.getName()))
+                .verifyError(NoSuchElementException.class);
+    }
+
+    @Test
+    public void ReadAll_ReturnNextCursor_IfMorePublishersExist() {
+        final Publisher next = new Publisher("test-publisher-2", "test-link", "test-redactor", "test-phone", "test-address");
+
+        when(publisherRepo.readPublishersBy(PageRequest.of(0, 2, Sort.by("name"))))
+                .thenReturn(Flux.just(testPublisher, next));
+
+        StepVerifier.create(publisherService.readAll("", 1))
+                .assertNext(page -> {
+                    assertEquals(List.of(testPublisher), page.content());
+                    assertEquals(testPublisher.getName(), CursorPage.decode(page.next()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void Update_EvictCachedPublisher() {
+        cacheManager.getCache("publishers").put(testPublisher.getName(), testPublisher);
+
+        when(publisherRepo.save(testPublisher))
+                .thenReturn(Mono.just(testPublisher));
+
+        StepVerifier.create(publisherService.update(testPublisher))
+                .expectNext(testPublisher)
+                .verifyComplete();
+
+        assertNull(cacheManager.getCache("publishers").get(testPublisher.getName()));
+    }
+
+    @Test
+    public void Subscribe_ReturnFalse_IfAlreadySubscribed() {
+        final Subscriber subscriber = new Subscriber("test@email.com", "test-user");
+
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(Mono.just(true));
+        when(subscriberService.readByEmail(subscriber.getEmail()))
+                .thenReturn(Mono.just(subscriber));
+        when(subscriptionRepo.insertIfAbsent(testPublisher.getName(), subscriber.getEmail()))
+                .thenReturn(Mono.just(false));
+
+        StepVerifier.create(publisherService.subscribe(testPublisher.getName(), subscriber.getEmail()))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    public void Subscribe_SignalNoSuchElementException_IfPublisherNotExists() {
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(Mono.just(false));
+
+        StepVerifier.create(publisherService.subscribe(testPublisher.getName(), "test@email.com"))
+                .verifyError(NoSuchElementException.class);
+
+        verify(subscriptionRepo, never()).insertIfAbsent(any(), any());
+    }
+
+    @Test
+    public void Unsubscribe_ReturnFalse_IfNotSubscribed() {
+        when(publisherRepo.existsById(testPublisher.getName()))
+                .thenReturn(Mono.just(true));
+        when(subscriberService.readByEmail("test@email.com"))
+                .thenReturn(Mono.just(new Subscriber("test@email.com", "test-user")));
+        when(subscriptionRepo.deleteByPublisherNameAndSubscriberEmail(testPublisher.getName(), "test@email.com"))
+                .thenReturn(Mono.just(0L));
+
+        StepVerifier.create(publisherService.unsubscribe(testPublisher.getName(), "test@email.com"))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    public void Delete_RemoveSubscriptions_IfPublisherExists() {
+        when(publisherRepo.deleteByName(testPublisher.getName()))
+                .thenReturn(Mono.just(1L));
+        when(subscriptionRepo.deleteByPublisherName(testPublisher.getName()))
+                .thenReturn(Mono.just(1L));
+
+        StepVerifier.create(publisherService.delete(testPublisher.getName()))
+                .verifyComplete();
+
+        verify(subscriptionRepo).deleteByPublisherName(testPublisher.getName());
+    }
+
+    @Test
+    public void Delete_SignalNoSuchElementException_IfPublisherNotExists() {
+        when(publisherRepo.deleteByName(testPublisher.getName()))
+                .thenReturn(Mono.just(0L));
+
+        StepVerifier.create(publisherService.delete(testPublisher.getName()))
+                .verifyError(NoSuchElementException.class);
+
+        verifyNoInteractions(subscriptionRepo);
+    }
+
+}
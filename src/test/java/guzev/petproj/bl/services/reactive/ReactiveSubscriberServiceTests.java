@@ -0,0 +1,157 @@
+package guzev.petproj.bl.services.reactive;
+
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.services.reactive.impl.ReactiveSubscriberServiceImpl;
+import guzev.petproj.dao.entities.Subscriber;
+import guzev.petproj.dao.repositories.reactive.ReactiveSubscriberRepository;
+import guzev.petproj.dao.repositories.reactive.ReactiveSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveSubscriberServiceTests {
+
+    @Mock
+    private ReactiveSubscriberRepository subscriberRepo;
+
+    @Mock
+    private ReactiveSubscriptionRepository subscriptionRepo;
+
+    @InjectMocks
+    private ReactiveSubscriberServiceImpl subscriberService;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager("subscribers");
+
+    private Subscriber testSubscriber;
+
+    @BeforeEach
+    public void setup() {
+        testSubscriber = new Subscriber("test@email.com", "test-user");
+        ReflectionTestUtils.setField(subscriberService, "cacheManager", cacheManager);
+    }
+
+    @Test
+    public void Create_ResultShouldBeSaved() {
+        when(subscriberRepo.insert(testSubscriber))
+                .thenReturn(Mono.just(testSubscriber));
+
+        StepVerifier.create(subscriberService.create(testSubscriber))
+                .expectNext(testSubscriber)
+                .verifyComplete();
+    }
+
+    @Test
+    public void Create_SignalDuplicateKeyException_IfSubscriberExists() {
+        when(subscriberRepo.insert(testSubscriber))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(subscriberService.create(testSubscriber))
+                .verifyErrorMessage("A user with entered email already exists in system.");
+    }
+
+    @Test
+    public void ReadByEmail_ReadFromCache_IfAlreadyRead() {
+        final AtomicInteger reads = new AtomicInteger();
+
+        when(subscriberRepo.findById(testSubscriber.getEmail()))
+                .thenReturn(Mono.fromCallable(() -> {
+                    reads.incrementAndGet();
+                    return testSubscriber;
+                }));
+
+        StepVerifier.create(subscriberService.readByEmail(testSubscriber.getEmail()))
+                .expectNext(testSubscriber)
+                .verifyComplete();
+        StepVerifier.create(subscriberService.readByEmail(testSubscriber.getEmail()))
+                .expectNext(testSubscriber)
+                .verifyComplete();
+
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void ReadByEmail_SignalNoSuchElementException_IfSubscriberNotExists() {
+        when(subscriberRepo.findById(testSubscriber.getEmail()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(subscriberService.readByEmail(testSubscriber.getEmail()))
+                .verifyError(NoSuchElementException.class);
+    }
+
+    @Test
+    public void ReadAll_ReadAfterLastEmail_IfCursorPresent() {
+        final Subscriber next = new Subscriber("test2@email.com", "test-user");
+
+        when(subscriberRepo.readSubscribersByEmailGreaterThan("a@email.com", PageRequest.of(0, 2, Sort.by("email"))))
+                .thenReturn(Flux.just(testSubscriber, next));
+
+        StepVerifier.create(subscriberService.readAll(CursorPage.encode("a@email.com"), 1))
+                .assertNext(page -> {
+                    assertEquals(List.of(testSubscriber), page.content());
+                    assertEquals(testSubscriber.getEmail(), CursorPage.decode(page.next()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void Update_EvictCachedSubscriber() {
+        cacheManager.getCache("subscribers").put(testSubscriber.getEmail(), testSubscriber);
+
+        when(subscriberRepo.save(testSubscriber))
+                .thenReturn(Mono.just(testSubscriber));
+
+        StepVerifier.create(subscriberService.update(testSubscriber))
+                .expectNext(testSubscriber)
+                .verifyComplete();
+
+        assertNull(cacheManager.getCache("subscribers").get(testSubscriber.getEmail()));
+    }
+
+    @Test
+    public void Delete_RemoveSubscriptions_IfSubscriberExists() {
+        cacheManager.getCache("subscribers").put(testSubscriber.getEmail(), testSubscriber);
+
+        when(subscriberRepo.deleteByEmail(testSubscriber.getEmail()))
+                .thenReturn(Mono.just(1L));
+        when(subscriptionRepo.deleteBySubscriberEmail(testSubscriber.getEmail()))
+                .thenReturn(Mono.just(2L));
+
+        StepVerifier.create(subscriberService.delete(testSubscriber.getEmail()))
+                .verifyComplete();
+
+        verify(subscriptionRepo).deleteBySubscriberEmail(testSubscriber.getEmail());
+        assertNull(cacheManager.getCache("subscribers").get(testSubscriber.getEmail()));
+    }
+
+    @Test
+    public void Delete_SignalNoSuchElementException_IfSubscriberNotExists() {
+        when(subscriberRepo.deleteByEmail(testSubscriber.getEmail()))
+                .thenReturn(Mono.just(0L));
+
+        StepVerifier.create(subscriberService.delete(testSubscriber.getEmail()))
+                .verifyError(NoSuchElementException.class);
+
+        verifyNoInteractions(subscriptionRepo);
+    }
+
+}
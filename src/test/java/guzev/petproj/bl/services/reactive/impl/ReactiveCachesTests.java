@@ -0,0 +1,88 @@
+package guzev.petproj.bl.services.reactive.impl;
+
+import guzev.petproj.dao.entities.Subscriber;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReactiveCachesTests {
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager("subscribers");
+
+    private final Subscriber testSubscriber = new Subscriber("test@email.com", "test-user");
+
+    @Test
+    public void ReadThrough_LoadAndCache_IfNotCached() {
+        StepVerifier.create(ReactiveCaches.readThrough(cacheManager, "subscribers", testSubscriber.getEmail(),
+                        Subscriber.class, Mono.just(testSubscriber)))
+                .expectNext(testSubscriber)
+                .verifyComplete();
+
+        assertEquals(testSubscriber, cacheManager.getCache("subscribers").get(testSubscriber.getEmail()).get());
+    }
+
+    @Test
+    public void ReadThrough_NotSubscribeLoader_IfCached() {
+        final AtomicInteger loads = new AtomicInteger();
+        cacheManager.getCache("subscribers").put(testSubscriber.getEmail(), testSubscriber);
+
+        StepVerifier.create(ReactiveCaches.readThrough(cacheManager, "subscribers", testSubscriber.getEmail(),
+                        Subscriber.class, Mono.fromCallable(() -> {
+                            loads.incrementAndGet();
+                            return testSubscriber;
+                        })))
+                .expectNext(testSubscriber)
+                .verifyComplete();
+
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    public void ReadThrough_CheckCacheOnSubscription() {
+        final Mono<Subscriber> read = ReactiveCaches.readThrough(cacheManager, "subscribers", testSubscriber.getEmail(),
+                Subscriber.class, Mono.empty());
+        cacheManager.getCache("subscribers").put(testSubscriber.getEmail(), testSubscriber);
+
+        StepVerifier.create(read)
+                .expectNext(testSubscriber)
+                .verifyComplete();
+    }
+
+    @Test
+    public void ReadThrough_NotCache_IfLoaderEmptyOrFailed() {
+        StepVerifier.create(ReactiveCaches.readThrough(cacheManager, "subscribers", testSubscriber.getEmail(),
+                        Subscriber.class, Mono.empty()))
+                .verifyComplete();
+        StepVerifier.create(ReactiveCaches.readThrough(cacheManager, "subscribers", testSubscriber.getEmail(),
+                        Subscriber.class, Mono.error(new IllegalStateException())))
+                .verifyError(IllegalStateException.class);
+
+        assertNull(cacheManager.getCache("subscribers").get(testSubscriber.getEmail()));
+    }
+
+    @Test
+    public void ReadThrough_OnlyLoad_IfCacheNotExists() {
+        StepVerifier.create(ReactiveCaches.readThrough(new ConcurrentMapCacheManager(), "unknown", testSubscriber.getEmail(),
+                        Subscriber.class, Mono.just(testSubscriber)))
+                .expectNext(testSubscriber)
+                .verifyComplete();
+    }
+
+    @Test
+    public void Evict_RemoveCachedValue_AndIgnoreNullKey() {
+        cacheManager.getCache("subscribers").put(testSubscriber.getEmail(), testSubscriber);
+
+        ReactiveCaches.evict(cacheManager, "subscribers", null);
+        assertNotNull(cacheManager.getCache("subscribers").get(testSubscriber.getEmail()));
+
+        ReactiveCaches.evict(cacheManager, "subscribers", testSubscriber.getEmail());
+        assertNull(cacheManager.getCache("subscribers").get(testSubscriber.getEmail()));
+    }
+
+}
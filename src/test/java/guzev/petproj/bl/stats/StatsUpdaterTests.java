@@ -0,0 +1,82 @@
+package guzev.petproj.bl.stats;
+
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StatsUpdaterTests {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private StatsUpdater statsUpdater;
+
+    @Test
+    public void IncreaseMailsSent_IncrementOnlyMailsSentField() {
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+
+        statsUpdater.increaseMailsSent("test-publisher", 5);
+
+        verify(mongoTemplate, times(1)).updateFirst(queryCaptor.capture(), updateCaptor.capture(), eq(Publisher.class));
+        assertEquals(new Document("_id", "test-publisher"), queryCaptor.getValue().getQueryObject());
+        assertEquals(new Document("$inc", new Document("mailsSent", 5L)), updateCaptor.getValue().getUpdateObject());
+    }
+
+    @Test
+    public void IncreaseArticleViews_IncrementOnlyViewsField() {
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+
+        statsUpdater.increaseArticleViews("test-article-id", 3);
+
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), updateCaptor.capture(), eq(Article.class));
+        assertEquals(new Document("$inc", new Document("views", 3L)), updateCaptor.getValue().getUpdateObject());
+    }
+
+    @Test
+    public void IncreasePublisherViews_NotWriteZeroDifference() {
+        statsUpdater.increasePublisherViews("test-publisher", 0);
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void IncreaseViews_WriteSingleBulkOperation() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Article.class))
+                .thenReturn(bulkOperations);
+
+        statsUpdater.increaseViews(Article.class, List.of(Map.entry("first-id", 1L), Map.entry("second-id", 2L)));
+
+        verify(bulkOperations, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    public void IncreaseViews_NotWriteIfEmpty() {
+        statsUpdater.increaseViews(Article.class, List.of());
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+}
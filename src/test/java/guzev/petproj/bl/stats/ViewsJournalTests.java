@@ -0,0 +1,109 @@
+package guzev.petproj.bl.stats;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViewsJournalTests {
+
+    private static final int capacity = 4;
+
+    @TempDir
+    private Path directory;
+
+    private ViewsJournal journal;
+
+    private record JournalRecord(int tag, String id, long count) {}
+
+    @BeforeEach
+    public void setup() {
+        journal = openJournal();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        journal.close();
+    }
+
+    @Test
+    public void Replay_ReturnAppendedRecords_AfterReopen() {
+        assertTrue(journal.append(1, "test-publisher", 1L));
+        assertTrue(journal.append(2, "64a0c3f2e4b0a1b2c3d4e5f6", 3L));
+        journal.close();
+
+        journal = openJournal();
+
+        assertEquals(List.of(new JournalRecord(1, "test-publisher", 1L), new JournalRecord(2, "64a0c3f2e4b0a1b2c3d4e5f6", 3L)),
+                replay(journal));
+        //replay truncates journal
+        assertEquals(List.of(), replay(journal));
+    }
+
+    @Test
+    public void TruncateSealed_DropOnlySealedRecords() {
+        journal.append(1, "sealed", 1L);
+        journal.rotate();
+        journal.append(1, "active", 1L);
+
+        journal.truncateSealed();
+        journal.close();
+
+        journal = openJournal();
+        assertEquals(List.of(new JournalRecord(1, "active", 1L)), replay(journal));
+    }
+
+    @Test
+    public void Append_ReturnFalse_IfSegmentFull() {
+        for (int i = 0; i < capacity; i++)
+            assertTrue(journal.append(1, "test-publisher", 1L));
+
+        assertFalse(journal.append(1, "test-publisher", 1L));
+
+        journal.rotate();
+        assertTrue(journal.append(1, "test-publisher", 1L));
+    }
+
+    @Test
+    public void Append_SkipTooLongIds() {
+        assertTrue(journal.append(1, "a".repeat(ViewsJournal.MAX_ID_LENGTH + 1), 1L));
+        assertTrue(journal.append(1, "a".repeat(ViewsJournal.MAX_ID_LENGTH), 1L));
+
+        assertEquals(List.of(new JournalRecord(1, "a".repeat(ViewsJournal.MAX_ID_LENGTH), 1L)), replay(journal));
+    }
+
+    @Test
+    public void Replay_IgnoreRecordsOfTruncatedSegment_IfSlotsReused() {
+        journal.append(1, "old-publisher", 5L);
+        journal.rotate();
+        journal.truncateSealed();
+        journal.rotate();
+        journal.append(2, "new", 1L);
+        journal.close();
+
+        journal = openJournal();
+        assertEquals(List.of(new JournalRecord(2, "new", 1L)), replay(journal));
+    }
+
+    private ViewsJournal openJournal() {
+        final ViewsJournal journal = new ViewsJournal();
+        ReflectionTestUtils.setField(journal, "path", directory.resolve("views.journal"));
+        ReflectionTestUtils.setField(journal, "capacity", capacity);
+        journal.open();
+        return journal;
+    }
+
+    private static List<JournalRecord> replay(ViewsJournal journal) {
+        final List<JournalRecord> records = new ArrayList<>();
+        journal.replay((tag, id, count) -> records.add(new JournalRecord(tag, id, count)));
+        return records;
+    }
+
+}
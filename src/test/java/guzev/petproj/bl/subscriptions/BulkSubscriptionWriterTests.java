@@ -0,0 +1,144 @@
+package guzev.petproj.bl.subscriptions;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionReport.EmailResult;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionReport.Status;
+import guzev.petproj.dao.entities.Subscriber;
+import guzev.petproj.dao.entities.Subscription;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkSubscriptionWriterTests {
+
+    private static final String PUBLISHER = "test-publisher";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private BulkSubscriptionWriter writer;
+
+    //subscribers existing in db and emails subscribed to the publisher
+    private final Set<String> subscribers = Set.of("a@email.com", "b@email.com", "c@email.com");
+    private final Set<String> subscribed = new HashSet<>(Set.of("a@email.com"));
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(writer, "chunkSize", 2);
+
+        lenient().when(mongoTemplate.getCollectionName(Subscription.class)).thenReturn("subscription");
+        lenient().when(mongoTemplate.getCollectionName(Subscriber.class)).thenReturn("subscriber");
+        lenient().when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("subscription")))
+                .thenAnswer(invocation -> matching(invocation.getArgument(0), "subscriberEmail", subscribed).stream()
+                        .map(email -> new Document("subscriberEmail", email)).toList());
+        lenient().when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("subscriber")))
+                .thenAnswer(invocation -> matching(invocation.getArgument(0), "_id", subscribers).stream()
+                        .map(email -> new Document("_id", email)).toList());
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Subscription.class))
+                .thenReturn(bulkOperations);
+        lenient().when(bulkOperations.insert(anyList()))
+                .thenAnswer(invocation -> {
+                    final List<Subscription> subscriptions = invocation.getArgument(0);
+                    subscriptions.forEach(subscription -> subscribed.add(subscription.getSubscriberEmail()));
+                    return bulkOperations;
+                });
+    }
+
+    @Test
+    public void Subscribe_ShouldInsertNewSubscriptionsByChunks_AndReportEveryEmail() {
+        final BulkSubscriptionReport report = writer.subscribe(PUBLISHER,
+                emails("a@email.com", " b@email.com ", "", "unknown@email.com", "c@email.com", "c@email.com", "b@email.com"));
+
+        assertEquals(List.of(
+                new EmailResult("a@email.com", Status.ALREADY_SUBSCRIBED),
+                new EmailResult("b@email.com", Status.SUBSCRIBED),
+                new EmailResult("unknown@email.com", Status.UNKNOWN_SUBSCRIBER),
+                new EmailResult("c@email.com", Status.SUBSCRIBED),
+                new EmailResult("c@email.com", Status.ALREADY_SUBSCRIBED),
+                new EmailResult("b@email.com", Status.ALREADY_SUBSCRIBED)), report.results());
+        assertEquals(Map.of(Status.SUBSCRIBED, 2, Status.ALREADY_SUBSCRIBED, 3, Status.UNKNOWN_SUBSCRIBER, 1), report.counts());
+
+        //one insert per chunk with new subscriptions only
+        verify(bulkOperations, times(2)).insert(anyList());
+        verify(bulkOperations, times(2)).execute();
+        assertEquals(Set.of("a@email.com", "b@email.com", "c@email.com"), subscribed);
+    }
+
+    @Test
+    public void Subscribe_ShouldReportAlreadySubscribed_IfInsertedConcurrently() {
+        when(bulkOperations.execute())
+                .thenThrow(new BulkOperationException("bulk write failed", new MongoBulkWriteException(BulkWriteResult.unacknowledged(),
+                        List.of(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 0)),
+                        null, new ServerAddress(), Set.of())));
+
+        final BulkSubscriptionReport report = writer.subscribe(PUBLISHER, emails("b@email.com", "c@email.com"));
+
+        assertEquals(List.of(new EmailResult("b@email.com", Status.ALREADY_SUBSCRIBED), new EmailResult("c@email.com", Status.SUBSCRIBED)),
+                report.results());
+    }
+
+    @Test
+    public void Unsubscribe_ShouldDeleteSubscribedOnly_AndReportEveryEmail() {
+        final ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.remove(removed.capture(), eq(Subscription.class)))
+                .thenReturn(null);
+
+        final BulkSubscriptionReport report = writer.unsubscribe(PUBLISHER,
+                emails("a@email.com", "b@email.com", "unknown@email.com"));
+
+        assertEquals(List.of(
+                new EmailResult("a@email.com", Status.UNSUBSCRIBED),
+                new EmailResult("b@email.com", Status.NOT_SUBSCRIBED),
+                new EmailResult("unknown@email.com", Status.UNKNOWN_SUBSCRIBER)), report.results());
+
+        //second chunk has no subscribed emails, so nothing is deleted
+        verify(mongoTemplate, times(1)).remove(any(Query.class), eq(Subscription.class));
+        assertEquals(Set.of("a@email.com"), Set.copyOf(matching(removed.getValue(), "subscriberEmail", subscribed)));
+        verifyNoInteractions(bulkOperations);
+    }
+
+    private static ByteArrayInputStream emails(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return values of the set matched by {@code $in} condition of the query.
+     */
+    private static List<String> matching(Query query, String field, Set<String> values) {
+        final Collection<?> in = (Collection<?>) ((Document) query.getQueryObject().get(field)).get("$in");
+
+        return in.stream().map(String.class::cast).filter(values::contains).toList();
+    }
+
+}
@@ -0,0 +1,153 @@
+package guzev.petproj.dao.repositories;
+
+import com.mongodb.DBRef;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.dao.entities.Publisher;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArticleProjectionRepositoryTests {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private ArticleProjectionRepositoryImpl articleRepo;
+
+    private final Publisher firstPublisher = new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address");
+    private final Publisher secondPublisher = new Publisher("test-publisher2", "test-link", "test-redactor", "test-phone", "test-address");
+
+    @BeforeEach
+    public void setup() {
+        final MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+
+        lenient().when(mongoTemplate.getConverter())
+                .thenReturn(converter);
+    }
+
+    @Test
+    public void ReadArticles_ReadPublishersOfPageByOneQuery() {
+        final List<Document> documents = IntStream.range(0, 10)
+                .mapToObj(i -> articleDocument("test-article" + i, i % 2 == 0 ? firstPublisher : secondPublisher))
+                .toList();
+
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("article")))
+                .thenReturn(new ArrayList<>(documents));
+        when(mongoTemplate.find(any(Query.class), eq(Publisher.class)))
+                .thenReturn(List.of(firstPublisher, secondPublisher));
+
+        final List<Article> articles = articleRepo.readArticles(null, PageRequest.of(0, 10), Set.of("id", "title", "publisher"));
+
+        assertEquals(10, articles.size());
+        assertEquals(firstPublisher, articles.get(0).getPublisher());
+        assertEquals(secondPublisher, articles.get(1).getPublisher());
+        assertEquals("test-article3", articles.get(3).getTitle());
+
+        //one query for articles and one for all their publishers instead of one per article
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Document.class), eq("article"));
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Publisher.class));
+    }
+
+    @Test
+    public void ReadArticles_NotReadPublishers_IfPublisherNotSelected() {
+        final ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        final Document document = articleDocument("test-article", null);
+
+        when(mongoTemplate.find(query.capture(), eq(Document.class), eq("article")))
+                .thenReturn(List.of(document));
+
+        final List<Article> articles = articleRepo.readArticles("test-publisher", PageRequest.of(0, 5), Set.of("id", "title"));
+
+        assertEquals(1, articles.size());
+        assertNull(articles.get(0).getPublisher());
+        assertEquals(new Document("_id", 1).append("title", 1), query.getValue().getFieldsObject());
+        assertEquals("test-publisher", query.getValue().getQueryObject().get("publisher.$id"));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Publisher.class));
+    }
+
+    @Test
+    public void ReadArticlesAfter_ReturnSliceWithNext_IfMoreArticlesRead() {
+        final ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        final ObjectId lastId = new ObjectId();
+
+        when(mongoTemplate.find(query.capture(), eq(Document.class), eq("article")))
+                .thenReturn(List.of(articleDocument("test-article", null), articleDocument("test-article2", null)));
+
+        final Slice<Article> slice = articleRepo.readArticlesAfter(null, lastId.toHexString(), 1, Set.of("id", "title"));
+
+        assertEquals(1, slice.getContent().size());
+        assertTrue(slice.hasNext());
+        assertEquals(2, query.getValue().getLimit());
+        assertEquals(new Document("$gt", lastId), query.getValue().getQueryObject().get("_id"));
+    }
+
+    @Test
+    public void SearchArticles_ReturnScores_AndMatchAfterLastScoreAndId() {
+        final ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        final ObjectId lastId = new ObjectId();
+        final Document document = articleDocument("test-article", firstPublisher).append("score", 0.5);
+
+        when(mongoTemplate.aggregate(aggregation.capture(), eq("article"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(document), new Document()));
+        when(mongoTemplate.find(any(Query.class), eq(Publisher.class)))
+                .thenReturn(List.of(firstPublisher));
+
+        final List<ArticleProjectionRepository.ScoredArticle> articles = articleRepo.searchArticles("test", "test-publisher",
+                new ArticleProjectionRepository.ScoredArticle.Key(1.5, lastId.toHexString()), 6, Set.of("id", "title", "publisher"));
+
+        assertEquals(1, articles.size());
+        assertEquals(0.5, articles.get(0).score());
+        assertEquals("test-article", articles.get(0).article().getTitle());
+        assertEquals(firstPublisher, articles.get(0).article().getPublisher());
+
+        final List<Document> stages = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(new Document("$text", new Document("$search", "test")).append("publisher.$id", "test-publisher"),
+                stages.get(0).get("$match"));
+        assertEquals(new Document("$or", List.of(
+                        new Document("score", new Document("$lt", 1.5)),
+                        new Document("score", 1.5).append("_id", new Document("$gt", lastId)))),
+                stages.get(2).get("$match"));
+        assertEquals(new Document("score", -1).append("_id", 1), stages.get(3).get("$sort"));
+        assertEquals(6, stages.get(4).get("$limit"));
+    }
+
+    private static Document articleDocument(String title, Publisher publisher) {
+        final Document document = new Document("_id", new ObjectId())
+                .append("title", title)
+                .append("views", 0L);
+
+        if (publisher != null)
+            document.append("publisher", new DBRef("publisher", publisher.getName()));
+
+        return document;
+    }
+
+}
@@ -0,0 +1,186 @@
+package guzev.petproj.dao.repositories;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import guzev.petproj.dao.entities.*;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs repository queries with profiler enabled and checks their plans don't scan whole collections.
+ * Skipped if docker is not available.*/
+@Testcontainers(disabledWithoutDocker = true)
+public class RepositoryIndexTests {
+
+    private static final String DATABASE = "publishing";
+
+    @Container
+    private static final MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    private static MongoClient mongoClient;
+
+    private static MongoTemplate mongoTemplate;
+
+    private static ArticleRepository articleRepo;
+    private static PublisherRepository publisherRepo;
+    private static SubscriberRepository subscriberRepo;
+    private static SubscriptionRepository subscriptionRepo;
+
+    private static final Set<String> fields = Set.of("id", "title", "publisher");
+
+    private static String firstArticleId;
+
+    @BeforeAll
+    public static void setup() {
+        mongoClient = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, DATABASE);
+
+        final IndexResolver indexResolver = IndexResolver.create(
+                (MongoMappingContext) mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : List.of(Article.class, Publisher.class, Subscriber.class, Subscription.class))
+            indexResolver.resolveIndexFor(type).forEach(index -> mongoTemplate.indexOps(type).ensureIndex(index));
+
+        final MongoRepositoryFactory repositoryFactory = new MongoRepositoryFactory(mongoTemplate);
+        articleRepo = TestRepositories.articleRepository(mongoTemplate);
+        publisherRepo = repositoryFactory.getRepository(PublisherRepository.class);
+        subscriberRepo = repositoryFactory.getRepository(SubscriberRepository.class);
+        subscriptionRepo = TestRepositories.subscriptionRepository(mongoTemplate);
+
+        final List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final Publisher publisher = publisherRepo.save(
+                    new Publisher("test-publisher" + i, "test-link", "test-redactor", "test-phone", "test-address"));
+            final Subscriber subscriber = subscriberRepo.save(new Subscriber("test" + i + "@email.com", "test-user"));
+            subscriptionRepo.save(new Subscription(publisher.getName(), subscriber.getEmail(), Instant.now()));
+
+            final Article article = new Article("test-article" + i, "test-article-content");
+            article.setPublisher(publisher);
+            articles.add(article);
+        }
+        firstArticleId = articleRepo.saveAll(articles).get(0).getId();
+    }
+
+    @AfterAll
+    public static void cleanup() {
+        mongoClient.close();
+    }
+
+    @Test
+    public void ArticleQueries_ShouldUseIndexes() {
+        assertIndexed("findById", () -> articleRepo.findById(firstArticleId));
+        assertIndexed("readArticleByTitleAndPublisherName",
+                () -> articleRepo.readArticleByTitleAndPublisherName("test-article1", "test-publisher1"));
+        assertIndexed("readArticles", () -> articleRepo.readArticles(null, PageRequest.of(1, 5), fields));
+        assertIndexed("readArticles by publisher",
+                () -> articleRepo.readArticles("test-publisher1", PageRequest.of(0, 5), fields));
+        assertIndexed("readArticlesAfter", () -> articleRepo.readArticlesAfter(null, firstArticleId, 5, fields));
+        assertIndexed("readArticlesAfter by publisher",
+                () -> articleRepo.readArticlesAfter("test-publisher0", firstArticleId, 5, fields));
+        assertIndexed("searchArticles", () -> articleRepo.searchArticles("article1", null, null, 5, fields));
+        assertIndexed("searchArticles by publisher",
+                () -> articleRepo.searchArticles("content", "test-publisher1", null, 5, fields));
+    }
+
+    @Test
+    public void PublisherAndSubscriberQueries_ShouldUseIndexes() {
+        final PageRequest byName = PageRequest.of(0, 5, Sort.by("name"));
+        final PageRequest byEmail = PageRequest.of(0, 5, Sort.by("email"));
+
+        assertIndexed("readPublishersBy", () -> publisherRepo.readPublishersBy(byName));
+        assertIndexed("readPublishersByNameGreaterThan", () -> publisherRepo.readPublishersByNameGreaterThan("test-publisher1", byName));
+        assertIndexed("findAllById publishers", () -> publisherRepo.findAllById(List.of("test-publisher1", "test-publisher2")));
+        assertIndexed("readSubscribersBy", () -> subscriberRepo.readSubscribersBy(byEmail));
+        assertIndexed("readSubscribersByEmailGreaterThan", () -> subscriberRepo.readSubscribersByEmailGreaterThan("test1@email.com", byEmail));
+        assertIndexed("findAllById subscribers", () -> subscriberRepo.findAllById(List.of("test1@email.com", "test2@email.com")));
+    }
+
+    @Test
+    public void SubscriptionQueries_ShouldUseIndexes() {
+        final PageRequest byPublisherName = PageRequest.of(0, 5, Sort.by("publisherName"));
+        final PageRequest bySubscriberEmail = PageRequest.of(0, 5, Sort.by("subscriberEmail"));
+
+        assertIndexed("insertIfAbsent",
+                () -> subscriptionRepo.insertIfAbsent("test-publisher1", "test1@email.com"));
+        assertIndexed("streamSubscriptionsByPublisherName", () -> {
+            try (Stream<Subscription> subscriptions = subscriptionRepo.streamSubscriptionsByPublisherName("test-publisher1")) {
+                subscriptions.forEach(subscription -> {});
+            }
+        });
+        assertIndexed("streamSubscriptionsByPublisherNameAfter", () -> {
+            try (Stream<Subscription> subscriptions = subscriptionRepo.streamSubscriptionsByPublisherNameAfter("test-publisher1", "a")) {
+                subscriptions.forEach(subscription -> {});
+            }
+        });
+        assertIndexed("findSubscriptionsByPublisherName",
+                () -> subscriptionRepo.findSubscriptionsByPublisherName("test-publisher1", bySubscriberEmail));
+        assertIndexed("findSubscriptionsByPublisherNameAndSubscriberEmailGreaterThan",
+                () -> subscriptionRepo.findSubscriptionsByPublisherNameAndSubscriberEmailGreaterThan("test-publisher1", "a", bySubscriberEmail));
+        assertIndexed("findSubscriptionsBySubscriberEmail",
+                () -> subscriptionRepo.findSubscriptionsBySubscriberEmail("test1@email.com", byPublisherName));
+        assertIndexed("findSubscriptionsBySubscriberEmailAndPublisherNameGreaterThan",
+                () -> subscriptionRepo.findSubscriptionsBySubscriberEmailAndPublisherNameGreaterThan("test1@email.com", "a", byPublisherName));
+        assertIndexed("deleteByPublisherNameAndSubscriberEmail",
+                () -> subscriptionRepo.deleteByPublisherNameAndSubscriberEmail("unknown-publisher", "test1@email.com"));
+        assertIndexed("deleteByPublisherName", () -> subscriptionRepo.deleteByPublisherName("unknown-publisher"));
+        assertIndexed("deleteBySubscriberEmail", () -> subscriptionRepo.deleteBySubscriberEmail("unknown@email.com"));
+    }
+
+    @Test
+    public void DeleteQueries_ShouldUseIndexes() {
+        final Publisher publisher = publisherRepo.save(
+                new Publisher("deleted-publisher", "test-link", "test-redactor", "test-phone", "test-address"));
+        final Article article = new Article("deleted-article", "test-article-content");
+        article.setPublisher(publisher);
+        final String articleId = articleRepo.save(article).getId();
+        subscriptionRepo.save(new Subscription(publisher.getName(), "test1@email.com", Instant.now()));
+        subscriptionRepo.save(new Subscription(publisher.getName(), "test2@email.com", Instant.now()));
+
+        assertIndexed("deleteArticleById", () -> assertEquals(1, articleRepo.deleteArticleById(articleId)));
+        assertIndexed("deleteByPublisherNameAndSubscriberEmail",
+                () -> assertEquals(1, subscriptionRepo.deleteByPublisherNameAndSubscriberEmail(publisher.getName(), "test1@email.com")));
+        assertIndexed("deleteByName", () -> assertEquals(1, publisherRepo.deleteByName(publisher.getName())));
+        assertIndexed("deleteByPublisherName", () -> assertEquals(1, subscriptionRepo.deleteByPublisherName(publisher.getName())));
+    }
+
+    /**
+     * Runs query with profiler enabled and checks plans of all profiled operations.*/
+    private static synchronized void assertIndexed(String name, Runnable query) {
+        mongoTemplate.getDb().runCommand(new Document("profile", 0));
+        mongoTemplate.getDb().getCollection("system.profile").drop();
+        mongoTemplate.getDb().runCommand(new Document("profile", 2));
+
+        try {
+            query.run();
+        } finally {
+            mongoTemplate.getDb().runCommand(new Document("profile", 0));
+        }
+
+        final List<Document> operations = mongoTemplate.getDb().getCollection("system.profile")
+                .find(new Document("planSummary", new Document("$exists", true)))
+                .into(new ArrayList<>());
+
+        assertFalse(operations.isEmpty(), name + " was not profiled");
+        operations.forEach(operation -> assertFalse(operation.getString("planSummary").startsWith("COLLSCAN"),
+                name + " scans collection: " + operation.toJson()));
+    }
+
+}
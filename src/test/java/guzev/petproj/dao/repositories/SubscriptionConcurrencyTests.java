@@ -0,0 +1,132 @@
+package guzev.petproj.dao.repositories;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import guzev.petproj.dao.entities.Subscription;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires parallel subscribes against a real db and checks none of them is lost or doubled.
+ * Skipped if docker is not available.*/
+@Testcontainers(disabledWithoutDocker = true)
+public class SubscriptionConcurrencyTests {
+
+    private static final String PUBLISHER = "test-publisher";
+    private static final int THREADS = 32;
+
+    @Container
+    private static final MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    private static MongoClient mongoClient;
+
+    private static MongoTemplate mongoTemplate;
+
+    private static SubscriptionRepository subscriptionRepo;
+
+    private ExecutorService executor;
+
+    @BeforeAll
+    public static void setup() {
+        mongoClient = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "publishing");
+
+        IndexResolver.create((MongoMappingContext) mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(Subscription.class)
+                .forEach(index -> mongoTemplate.indexOps(Subscription.class).ensureIndex(index));
+
+        subscriptionRepo = TestRepositories.subscriptionRepository(mongoTemplate);
+    }
+
+    @AfterAll
+    public static void cleanup() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    public void clear() {
+        subscriptionRepo.deleteAll();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @Test
+    public void InsertIfAbsent_ShouldNotLoseSubscriptions_IfSubscribedInParallel() throws Exception {
+        final int subscribers = 5_000;
+
+        final List<Boolean> results = subscribeInParallel(emails(subscribers, 1));
+
+        assertTrue(results.stream().allMatch(Boolean::booleanValue));
+        assertEquals(subscribers, subscriptionRepo.count());
+    }
+
+    @Test
+    public void InsertIfAbsent_ShouldCreateSubscriptionOnce_IfSameSubscriberRepeated() throws Exception {
+        final int subscribers = 200;
+        final int repeats = 20;
+        final List<String> emails = emails(subscribers, repeats);
+
+        final List<Boolean> results = subscribeInParallel(emails);
+
+        final Map<String, Long> created = new ConcurrentHashMap<>();
+        for (int i = 0; i < emails.size(); i++)
+            if (results.get(i))
+                created.merge(emails.get(i), 1L, Long::sum);
+
+        assertEquals(subscribers, created.size());
+        assertTrue(created.values().stream().allMatch(count -> count == 1));
+        assertEquals(subscribers, subscriptionRepo.count());
+    }
+
+    /**
+     * @return results of subscribes in order of emails, started at the same time.
+     */
+    private List<Boolean> subscribeInParallel(List<String> emails) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Boolean>> futures = new ArrayList<>();
+
+        for (String email : emails)
+            futures.add(executor.submit(() -> {
+                start.await();
+                return subscriptionRepo.insertIfAbsent(PUBLISHER, email);
+            }));
+
+        start.countDown();
+
+        final List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : futures)
+            results.add(future.get(1, TimeUnit.MINUTES));
+
+        executor.shutdown();
+        return results;
+    }
+
+    private static List<String> emails(int subscribers, int repeats) {
+        final List<String> emails = new ArrayList<>();
+        for (int repeat = 0; repeat < repeats; repeat++)
+            for (int i = 0; i < subscribers; i++)
+                emails.add("test" + i + "@email.com");
+
+        return emails.stream().collect(Collectors.collectingAndThen(Collectors.toList(), list -> {
+            //repeats of the same email are spread over the run
+            java.util.Collections.shuffle(list, new java.util.Random(42));
+            return list;
+        }));
+    }
+
+}
@@ -0,0 +1,65 @@
+package guzev.petproj.dao.repositories;
+
+import com.mongodb.client.result.UpdateResult;
+import guzev.petproj.dao.entities.Subscription;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SubscriptionWriteRepositoryTests {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private SubscriptionWriteRepositoryImpl subscriptionRepo;
+
+    @Test
+    public void InsertIfAbsent_ReturnTrue_IfUpserted() {
+        final ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        final ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+
+        when(mongoTemplate.upsert(query.capture(), update.capture(), eq(Subscription.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, new BsonObjectId()));
+
+        assertTrue(subscriptionRepo.insertIfAbsent("test-publisher", "test@email.com"));
+
+        assertEquals(new Document("publisherName", "test-publisher").append("subscriberEmail", "test@email.com"),
+                query.getValue().getQueryObject());
+        //existing subscription is never modified
+        assertEquals(1, update.getValue().getUpdateObject().size());
+        assertTrue(update.getValue().getUpdateObject().containsKey("$setOnInsert"));
+    }
+
+    @Test
+    public void InsertIfAbsent_ReturnFalse_IfSubscriptionExists() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(Subscription.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 0L, null));
+
+        assertFalse(subscriptionRepo.insertIfAbsent("test-publisher", "test@email.com"));
+    }
+
+    @Test
+    public void InsertIfAbsent_ReturnFalse_IfInsertedConcurrently() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(Subscription.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        assertFalse(subscriptionRepo.insertIfAbsent("test-publisher", "test@email.com"));
+    }
+
+}
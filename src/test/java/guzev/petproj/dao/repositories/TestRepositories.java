@@ -0,0 +1,24 @@
+package guzev.petproj.dao.repositories;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+
+/**
+ * Creates repositories on a template outside of spring context, for tests against a real db.*/
+public final class TestRepositories {
+
+    private TestRepositories() {
+    }
+
+    public static ArticleRepository articleRepository(MongoTemplate mongoTemplate) {
+        return new MongoRepositoryFactory(mongoTemplate).getRepository(ArticleRepository.class,
+                RepositoryComposition.RepositoryFragments.just(new ArticleProjectionRepositoryImpl(mongoTemplate)));
+    }
+
+    public static SubscriptionRepository subscriptionRepository(MongoTemplate mongoTemplate) {
+        return new MongoRepositoryFactory(mongoTemplate).getRepository(SubscriptionRepository.class,
+                RepositoryComposition.RepositoryFragments.just(new SubscriptionWriteRepositoryImpl(mongoTemplate)));
+    }
+
+}
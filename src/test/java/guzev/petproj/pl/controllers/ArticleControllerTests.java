@@ -2,9 +2,13 @@ package guzev.petproj.pl.controllers;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import guzev.petproj.bl.imports.ImportReport;
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.projections.InvalidFieldsException;
 import guzev.petproj.bl.services.ArticleService;
 import guzev.petproj.dao.entities.Article;
 import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.pl.exceptions.ExceptionResponseHandler;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,13 +16,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,6 +49,8 @@ public class ArticleControllerTests {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private final Set<String> defaultFields = Set.of("id", "title", "views");
+
     @BeforeEach
     public void setup() {
         testArticle = new Article("test-article", "test-article-content");
@@ -80,6 +91,51 @@ public class ArticleControllerTests {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void ImportArticles_ShouldReadGzipBody_AndReturnReport() throws Exception {
+        final String ndjson = "{\"title\":\"test-article\",\"content\":\"test-article-content\"}\n";
+        final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(gzip)) {
+            output.write(ndjson.getBytes(StandardCharsets.UTF_8));
+        }
+
+        when(articleService.importArticles(eq("test-publisher"), any(InputStream.class)))
+                .thenAnswer(invocation -> {
+                    final InputStream body = invocation.getArgument(1);
+                    assertEquals(ndjson, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+
+                    return ImportReport.of(List.of(new ImportReport.LineResult(1, ImportReport.Status.CREATED, "test-id", null)));
+                });
+
+        mockMvc.perform(post("/pet-proj/api/article/{publisherName}/bulk", "test-publisher")
+                        .contentType("application/x-ndjson")
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(gzip.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.lines[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.lines[0].id").value("test-id"))
+                .andExpect(jsonPath("$.lines[0].message").doesNotExist());
+
+        verify(articleService, never()).create(any(), anyString());
+    }
+
+    @Test
+    public void ImportArticles_ShouldReturnBadRequest_IfGzipBodyIsCorrupt() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(articleController)
+                .setControllerAdvice(new ExceptionResponseHandler())
+                .build();
+
+        mockMvc.perform(post("/pet-proj/api/article/{publisherName}/bulk", "test-publisher")
+                        .contentType("application/x-ndjson")
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content("{\"title\":\"test-article\"}\n".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.status").value(400));
+
+        verify(articleService, never()).importArticles(anyString(), any());
+    }
+
     @Test
     public void ReadArticleById_ShouldReturnArticle() throws Exception {
         ReflectionTestUtils.setField(testArticle, "id", "test-id");
@@ -151,23 +207,24 @@ public class ArticleControllerTests {
         articles.add(new Article("test-article2", "test-article-content2"));
         articles.forEach(article -> article.setPublisher(publisher));
 
-        when(articleService.readAllByPublisherName(publisher.getName(), 3, 2))
+        when(articleService.readAllByPublisherName(publisher.getName(), 3, 2, Set.of("title", "publisher")))
                 .thenReturn(articles);
 
         MvcResult requestResult = mockMvc.perform(get("/pet-proj/api/article")
-                        .param("publisherName", publisher.getName()).param("page", "3").param("size", "2"))
+                        .param("publisherName", publisher.getName()).param("page", "3").param("size", "2")
+                        .param("fields", "title,publisher"))
                 .andExpect(status().isOk())
                 .andReturn();
 
         String resultString = requestResult.getResponse().getContentAsString();
-        List<Article> result = objectMapper.readValue(resultString, new TypeReference<List<Article>>() {
+        List<Map<String, Object>> result = objectMapper.readValue(resultString, new TypeReference<>() {
         });
 
         assertEquals(result.size(), 2);
-        assertInstanceOf(Article.class, result.get(0));
-        assertEquals(publisher.getName(), result.get(0).getPublisher().getName());
+        assertEquals(Set.of("title", "publisher"), result.get(0).keySet());
+        assertEquals(publisher.getName(), ((Map<?, ?>) result.get(0).get("publisher")).get("name"));
 
-        verify(articleService, times(1)).readAllByPublisherName(publisher.getName(), 3, 2);
+        verify(articleService, times(1)).readAllByPublisherName(publisher.getName(), 3, 2, Set.of("title", "publisher"));
     }
 
     @Test
@@ -178,7 +235,7 @@ public class ArticleControllerTests {
         articles.add(new Article("test-article3", "test-article-content3"));
         articles.add(new Article("test-article4", "test-article-content4"));
 
-        when(articleService.readAll(10, 4))
+        when(articleService.readAll(10, 4, defaultFields))
                 .thenReturn(articles);
 
         MvcResult requestResult = mockMvc.perform(get("/pet-proj/api/article")
@@ -187,31 +244,104 @@ public class ArticleControllerTests {
                 .andReturn();
 
         String resultString = requestResult.getResponse().getContentAsString();
-        List<Article> result = objectMapper.readValue(resultString, new TypeReference<List<Article>>() {
+        List<Map<String, Object>> result = objectMapper.readValue(resultString, new TypeReference<>() {
         });
 
         assertEquals(result.size(), 4);
-        assertInstanceOf(Article.class, result.get(0));
+        assertEquals("test-article", result.get(0).get("title"));
+
+        verify(articleService, times(1)).readAll(10, 4, defaultFields);
+    }
+
+    @Test
+    public void ReadArticles_ShouldNotReturnContentAndPublisher_IfFieldsNotPresent() throws Exception {
+        final Article article = new Article("test-article", "test-article-content");
+        article.setPublisher(new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address"));
+
+        when(articleService.readAll(0, 4, defaultFields))
+                .thenReturn(List.of(article));
+
+        mockMvc.perform(get("/pet-proj/api/article")
+                        .param("size", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("test-article"))
+                .andExpect(jsonPath("$[0].views").value(0))
+                .andExpect(jsonPath("$[0].content").doesNotExist())
+                .andExpect(jsonPath("$[0].publisher").doesNotExist());
+    }
+
+    @Test
+    public void ReadArticles_ShouldThrowException_IfFieldUnknown() throws Exception {
+        try {
+            mockMvc.perform(get("/pet-proj/api/article")
+                        .param("fields", "title,unknown"))
+                    .andExpect(status().isBadRequest());
+        } catch (ServletException e) {
+            assertEquals(InvalidFieldsException.class, e.getRootCause().getClass());
+        }
+
+        verifyNoInteractions(articleService);
+    }
+
+    @Test
+    public void ReadArticles_ShouldReturnCursorPage_IfCursorPresent() throws Exception {
+        ReflectionTestUtils.setField(articleController, "defaultSize", 5);
+
+        when(articleService.readAllByPublisherName("test-publisher", "test-cursor", 5, Set.of("title", "content")))
+                .thenReturn(new CursorPage<>(List.of(testArticle), "next-cursor"));
+
+        MvcResult requestResult = mockMvc.perform(get("/pet-proj/api/article")
+                        .param("publisherName", "test-publisher").param("after", "test-cursor")
+                        .param("fields", "title,content"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next").value("next-cursor"))
+                .andReturn();
+
+        String resultString = requestResult.getResponse().getContentAsString();
+        List<Article> result = objectMapper.readValue(objectMapper.readTree(resultString).get("content").toString(),
+                new TypeReference<List<Article>>() {
+                });
+
+        assertEquals(List.of(testArticle), result);
+
+        verify(articleService, never()).readAllByPublisherName(anyString(), anyInt(), anyInt(), anyCollection());
+    }
+
+    @Test
+    public void SearchArticles_ShouldReturnCursorPageOfSelectedFields() throws Exception {
+        ReflectionTestUtils.setField(articleController, "defaultSize", 5);
+        ReflectionTestUtils.setField(testArticle, "id", "test-id");
+
+        when(articleService.search("test query", "test-publisher", null, 5, Set.of("id", "title", "views")))
+                .thenReturn(new CursorPage<>(List.of(testArticle), "next-cursor"));
+
+        mockMvc.perform(get("/pet-proj/api/article/search")
+                        .param("q", "test query").param("publisherName", "test-publisher"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next").value("next-cursor"))
+                .andExpect(jsonPath("$.content[0].id").value("test-id"))
+                .andExpect(jsonPath("$.content[0].title").value(testArticle.getTitle()))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist());
 
-        verify(articleService, times(1)).readAll(10, 4);
+        verify(articleService, never()).readById(anyString());
     }
 
     @Test
     public void ReadArticles_SetDefaultParams_IfParamsNotPresent() throws Exception {
         ReflectionTestUtils.setField(articleController, "defaultSize", 5);
 
-        when(articleService.readAll(0, 5))
+        when(articleService.readAll(0, 5, defaultFields))
                 .thenReturn(new ArrayList<>());
 
         mockMvc.perform(get("/pet-proj/api/article"))
                 .andExpect(status().isOk());
 
-        verify(articleService, times(1)).readAll(0, 5);
+        verify(articleService, times(1)).readAll(0, 5, defaultFields);
     }
 
     @Test
     public void ReadArticles_ShouldThrowException_IfParamsLessThanZero() throws Exception {
-        when(articleService.readAll(-1, 5))
+        when(articleService.readAll(-1, 5, defaultFields))
                 .thenThrow(IllegalArgumentException.class);
 
         try {
@@ -2,9 +2,12 @@ package guzev.petproj.pl.controllers;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import guzev.petproj.bl.pagination.CursorPage;
 import guzev.petproj.bl.services.PublisherService;
+import guzev.petproj.bl.subscriptions.BulkSubscriptionReport;
 import guzev.petproj.dao.entities.Publisher;
 import guzev.petproj.dao.entities.Subscriber;
+import guzev.petproj.pl.exceptions.ExceptionResponseHandler;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,13 +15,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -157,15 +167,47 @@ public class PublisherControllerTests {
         }
     }
 
+    @Test
+    public void ReadSubscribers_ShouldReturnListOfPublisherSubscribers() throws Exception {
+        final List<Subscriber> subscribers = List.of(new Subscriber("a@email.com", "test-user"),
+                new Subscriber("b@email.com", "test-user-2"));
+
+        when(publisherService.readSubscribers(testPublisher.getName(), 1, 2))
+                .thenReturn(subscribers);
+
+        MvcResult requestResult = mockMvc.perform(get("/pet-proj/api/publisher/{name}/subscribers", testPublisher.getName())
+                        .param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String resultString = requestResult.getResponse().getContentAsString();
+        List<Subscriber> result = objectMapper.readValue(resultString, new TypeReference<List<Subscriber>>() {});
+
+        assertEquals(subscribers, result);
+    }
+
+    @Test
+    public void ReadSubscribers_ShouldReturnCursorPage_IfCursorPresent() throws Exception {
+        ReflectionTestUtils.setField(publisherController, "defaultSize", 5);
+
+        when(publisherService.readSubscribers(testPublisher.getName(), "", 5))
+                .thenReturn(new CursorPage<>(List.of(new Subscriber("a@email.com", "test-user")), "next-cursor"));
+
+        mockMvc.perform(get("/pet-proj/api/publisher/{name}/subscribers", testPublisher.getName())
+                        .param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value("a@email.com"))
+                .andExpect(jsonPath("$.next").value("next-cursor"));
+
+        verify(publisherService, never()).readSubscribers(anyString(), anyInt(), anyInt());
+    }
+
     @Test
     public void ReadSubscribedPublishers_ShouldReturnListOfSubscriberPublishers() throws Exception {
         final List<Publisher> publishers = new ArrayList<>(2);
         publishers.add(new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address"));
         publishers.add(new Publisher("test-publisher-2", "test-link-2", "test-redactor-2", "test-phone-2", "test-address-2"));
         final Subscriber subscriber = new Subscriber("test@email.com", "test-user");
-        final Set<Subscriber> subscribers = new HashSet<>(1);
-        subscribers.add(subscriber);
-        publishers.forEach(publisher -> publisher.setSubscribers(subscribers));
 
         when(publisherService.readSubscribedPublishers(subscriber.getEmail(), 3, 2))
                 .thenReturn(publishers);
@@ -180,11 +222,27 @@ public class PublisherControllerTests {
 
         assertEquals(result.size(), 2);
         assertInstanceOf(Publisher.class, result.get(0));
-        assertTrue(result.get(0).getSubscribers().contains(subscriber));
+        assertEquals(publishers, result);
 
         verify(publisherService, times(1)).readSubscribedPublishers(subscriber.getEmail(), 3, 2);
     }
 
+    @Test
+    public void ReadSubscribedPublishers_ShouldReturnCursorPage_IfCursorPresent() throws Exception {
+        ReflectionTestUtils.setField(publisherController, "defaultSize", 5);
+
+        when(publisherService.readSubscribedPublishers("test@email.com", "", 5))
+                .thenReturn(new CursorPage<>(List.of(testPublisher), null));
+
+        mockMvc.perform(get("/pet-proj/api/publisher/subscribed")
+                        .param("email", "test@email.com").param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value(testPublisher.getName()))
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        verify(publisherService, never()).readSubscribedPublishers(anyString(), anyInt(), anyInt());
+    }
+
     @Test
     public void ReadSubscribedPublishers_SetDefaultParams_IfParamsNotPresent() throws Exception {
         ReflectionTestUtils.setField(publisherController, "defaultSize", 5);
@@ -336,6 +394,77 @@ public class PublisherControllerTests {
         }
     }
     
+    @Test
+    public void SubscribeAll_ShouldReturnReport() throws Exception {
+        final String emails = "test@email.com\nunknown@email.com\n";
+
+        when(publisherService.subscribeAll(eq(testPublisher.getName()), any(InputStream.class)))
+                .thenAnswer(invocation -> {
+                    final InputStream body = invocation.getArgument(1);
+                    assertEquals(emails, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+
+                    return BulkSubscriptionReport.of(List.of(
+                            new BulkSubscriptionReport.EmailResult("test@email.com", BulkSubscriptionReport.Status.SUBSCRIBED),
+                            new BulkSubscriptionReport.EmailResult("unknown@email.com", BulkSubscriptionReport.Status.UNKNOWN_SUBSCRIBER)));
+                });
+
+        mockMvc.perform(patch("/pet-proj/api/publisher/{name}/subscribe/bulk", testPublisher.getName())
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(emails))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.SUBSCRIBED").value(1))
+                .andExpect(jsonPath("$.results[1].email").value("unknown@email.com"))
+                .andExpect(jsonPath("$.results[1].status").value("UNKNOWN_SUBSCRIBER"));
+
+        verify(publisherService, never()).subscribe(anyString(), anyString());
+    }
+
+    @Test
+    public void SubscribeAll_ShouldReturnBadRequest_IfGzipBodyIsCorrupt() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(publisherController)
+                .setControllerAdvice(new ExceptionResponseHandler())
+                .build();
+
+        mockMvc.perform(patch("/pet-proj/api/publisher/{name}/subscribe/bulk", testPublisher.getName())
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content("test@email.com\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.status").value(400));
+
+        verify(publisherService, never()).subscribeAll(anyString(), any());
+    }
+
+    @Test
+    public void UnsubscribeAll_ShouldReturnBadRequest_IfGzipBodyIsTruncated() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(publisherController)
+                .setControllerAdvice(new ExceptionResponseHandler())
+                .build();
+
+        final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(gzip)) {
+            output.write("test@email.com\nunknown@email.com\n".getBytes(StandardCharsets.UTF_8));
+        }
+        final byte[] truncated = Arrays.copyOf(gzip.toByteArray(), gzip.size() / 2);
+
+        when(publisherService.unsubscribeAll(eq(testPublisher.getName()), any(InputStream.class)))
+                .thenAnswer(invocation -> {
+                    try {
+                        invocation.<InputStream>getArgument(1).readAllBytes();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot read emails", e);
+                    }
+                    return BulkSubscriptionReport.of(List.of());
+                });
+
+        mockMvc.perform(patch("/pet-proj/api/publisher/{name}/unsubscribe/bulk", testPublisher.getName())
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(truncated))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.status").value(400));
+    }
+
     @Test
     public void DeletePublisher_ResponseShouldBeTrue() throws Exception {
         MvcResult requestResult = mockMvc.perform(delete("/pet-proj/api/publisher/{name}", testPublisher.getName()))
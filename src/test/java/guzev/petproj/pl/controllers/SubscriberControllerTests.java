@@ -2,6 +2,7 @@ package guzev.petproj.pl.controllers;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import guzev.petproj.bl.pagination.CursorPage;
 import guzev.petproj.bl.services.SubscriberService;
 import guzev.petproj.dao.entities.Subscriber;
 import jakarta.servlet.ServletException;
@@ -127,6 +128,20 @@ public class SubscriberControllerTests {
         verify(subscriberService, times(1)).readAll(1, 3);
     }
 
+    @Test
+    public void ReadSubscribers_ShouldReturnCursorPage_IfCursorPresent() throws Exception {
+        when(subscriberService.readAll("test-cursor", 3))
+                .thenReturn(new CursorPage<>(List.of(testSubscriber), "next-cursor"));
+
+        mockMvc.perform(get("/pet-proj/api/subscriber")
+                        .param("size", "3").param("after", "test-cursor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value(testSubscriber.getEmail()))
+                .andExpect(jsonPath("$.next").value("next-cursor"));
+
+        verify(subscriberService, never()).readAll(anyInt(), anyInt());
+    }
+
     @Test
     public void ReadSubscribers_SetDefaultParams_IfParamsNotPresent() throws Exception {
         ReflectionTestUtils.setField(subscriberController, "defaultSize", 5);
@@ -0,0 +1,183 @@
+package guzev.petproj.pl.controllers.reactive;
+
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.services.reactive.ReactiveArticleService;
+import guzev.petproj.dao.entities.Article;
+import guzev.petproj.pl.exceptions.ReactiveExceptionResponseHandler;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveArticleControllerTests {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private ReactiveArticleService articleService;
+
+    @InjectMocks
+    private ReactiveArticleController articleController;
+
+    private Article testArticle;
+
+    //controller is bound to an application context that resolves @Value from environment
+    @BeforeAll
+    public static void setupEnvironment() {
+        System.setProperty("page.result.size", "10");
+    }
+
+    @AfterAll
+    public static void cleanupEnvironment() {
+        System.clearProperty("page.result.size");
+    }
+
+    @BeforeEach
+    public void setup() {
+        testArticle = new Article("test-article", "test-article-content");
+        ReflectionTestUtils.setField(testArticle, "id", "test-id");
+        webTestClient = WebTestClient.bindToController(articleController)
+                .controllerAdvice(new ReactiveExceptionResponseHandler())
+                .build();
+    }
+
+    @Test
+    public void CreateArticle_ReturnCreatedArticle_IfRequestIsOk() {
+        when(articleService.create(testArticle, "test-publisher"))
+                .thenReturn(Mono.just(testArticle));
+
+        webTestClient.post().uri("/pet-proj/api/article/{publisherName}", "test-publisher")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testArticle)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Article.class).isEqualTo(testArticle);
+    }
+
+    @Test
+    public void CreateArticle_ReturnBadRequest_IfTitleExists() {
+        when(articleService.create(testArticle, "test-publisher"))
+                .thenReturn(Mono.error(new DuplicateKeyException("An article with entered title already exists in system.")));
+
+        webTestClient.post().uri("/pet-proj/api/article/{publisherName}", "test-publisher")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testArticle)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error.message").isEqualTo("An article with entered title already exists in system.")
+                .jsonPath("$.error.status").isEqualTo(400);
+    }
+
+    @Test
+    public void ReadById_ReturnArticle_IfArticleExists() {
+        when(articleService.readById(testArticle.getId()))
+                .thenReturn(Mono.just(testArticle));
+
+        webTestClient.get().uri("/pet-proj/api/article/{id}", testArticle.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Article.class).isEqualTo(testArticle);
+    }
+
+    @Test
+    public void ReadById_ReturnNotFound_IfArticleNotExists() {
+        when(articleService.readById(testArticle.getId()))
+                .thenReturn(Mono.error(new NoSuchElementException()));
+
+        webTestClient.get().uri("/pet-proj/api/article/{id}", testArticle.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error.status").isEqualTo(404);
+    }
+
+    @Test
+    public void ReadByTitleAndPublisherName_ReturnArticle_IfArticleExists() {
+        when(articleService.readByTitleAndPublisherName(testArticle.getTitle(), "test-publisher"))
+                .thenReturn(Mono.just(testArticle));
+
+        webTestClient.get().uri("/pet-proj/api/article/{publisherName}/{title}", "test-publisher", testArticle.getTitle())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Article.class).isEqualTo(testArticle);
+    }
+
+    @Test
+    public void Read_ReturnPublisherArticlesList_IfPublisherPresent() {
+        when(articleService.readAllByPublisherName("test-publisher", 0, 10))
+                .thenReturn(Flux.just(testArticle));
+
+        webTestClient.get().uri("/pet-proj/api/article?publisherName=test-publisher")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Article.class).isEqualTo(List.of(testArticle));
+
+        verify(articleService, never()).readAll(anyInt(), anyInt());
+    }
+
+    @Test
+    public void Read_ReturnCursorPage_IfCursorPresent() {
+        when(articleService.readAll("", 1))
+                .thenReturn(Mono.just(new CursorPage<>(List.of(testArticle), CursorPage.encode(testArticle.getId()))));
+
+        webTestClient.get().uri("/pet-proj/api/article?after=&size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].title").isEqualTo(testArticle.getTitle())
+                .jsonPath("$.next").isEqualTo(CursorPage.encode(testArticle.getId()));
+    }
+
+    @Test
+    public void UpdateArticle_ReturnUpdatedArticle() {
+        when(articleService.update(testArticle))
+                .thenReturn(Mono.just(testArticle));
+
+        webTestClient.put().uri("/pet-proj/api/article")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testArticle)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Article.class).isEqualTo(testArticle);
+    }
+
+    @Test
+    public void Delete_ReturnDeletedFlag_IfArticleExists() {
+        when(articleService.delete(testArticle.getId()))
+                .thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/pet-proj/api/article/{id}", testArticle.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.deleted").isEqualTo(true);
+    }
+
+    @Test
+    public void Delete_ReturnNotFound_IfArticleNotExists() {
+        when(articleService.delete(testArticle.getId()))
+                .thenReturn(Mono.error(new NoSuchElementException()));
+
+        webTestClient.delete().uri("/pet-proj/api/article/{id}", testArticle.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+}
@@ -0,0 +1,166 @@
+package guzev.petproj.pl.controllers.reactive;
+
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.services.reactive.ReactivePublisherService;
+import guzev.petproj.dao.entities.Publisher;
+import guzev.petproj.pl.exceptions.ReactiveExceptionResponseHandler;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactivePublisherControllerTests {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private ReactivePublisherService publisherService;
+
+    @InjectMocks
+    private ReactivePublisherController publisherController;
+
+    private Publisher testPublisher;
+
+    //controller is bound to an application context that resolves @Value from environment
+    @BeforeAll
+    public static void setupEnvironment() {
+        System.setProperty("page.result.size", "10");
+    }
+
+    @AfterAll
+    public static void cleanupEnvironment() {
+        System.clearProperty("page.result.size");
+    }
+
+    @BeforeEach
+    public void setup() {
+        testPublisher = new Publisher("test-publisher", "test-link", "test-redactor", "test-phone", "test-address");
+        webTestClient = WebTestClient.bindToController(publisherController)
+                .controllerAdvice(new ReactiveExceptionResponseHandler())
+                .build();
+    }
+
+    @Test
+    public void CreatePublisher_ReturnCreatedPublisher_IfRequestIsOk() {
+        when(publisherService.create(testPublisher))
+                .thenReturn(Mono.just(testPublisher));
+
+        webTestClient.post().uri("/pet-proj/api/publisher")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testPublisher)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Publisher.class).isEqualTo(testPublisher);
+    }
+
+    @Test
+    public void CreatePublisher_ReturnBadRequest_IfPublisherExists() {
+        when(publisherService.create(testPublisher))
+                .thenReturn(Mono.error(new DuplicateKeyException("A publisher with entered name already exists in system.")));
+
+        webTestClient.post().uri("/pet-proj/api/publisher")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testPublisher)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error.message").isEqualTo("A publisher with entered name already exists in system.")
+                .jsonPath("$.error.status").isEqualTo(400);
+    }
+
+    @Test
+    public void ReadByName_ReturnPublisher_IfPublisherExists() {
+        when(publisherService.readByName(testPublisher.getName()))
+                .thenReturn(Mono.just(testPublisher));
+
+        webTestClient.get().uri("/pet-proj/api/publisher/{name}", testPublisher.getName())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Publisher.class).isEqualTo(testPublisher);
+    }
+
+    @Test
+    public void ReadByName_ReturnNotFound_IfPublisherNotExists() {
+        when(publisherService.readByName(testPublisher.getName()))
+                .thenReturn(Mono.error(new NoSuchElementException()));
+
+        webTestClient.get().uri("/pet-proj/api/publisher/{name}", testPublisher.getName())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error.status").isEqualTo(404);
+    }
+
+    @Test
+    public void Read_ReturnPublishersList_IfCursorNotPresent() {
+        when(publisherService.readAll(0, 10))
+                .thenReturn(Flux.just(testPublisher));
+
+        webTestClient.get().uri("/pet-proj/api/publisher")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Publisher.class).isEqualTo(List.of(testPublisher));
+    }
+
+    @Test
+    public void Read_ReturnCursorPage_IfCursorPresent() {
+        when(publisherService.readAll("", 1))
+                .thenReturn(Mono.just(new CursorPage<>(List.of(testPublisher), CursorPage.encode(testPublisher.getName()))));
+
+        webTestClient.get().uri("/pet-proj/api/publisher?after=&size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].name").isEqualTo(testPublisher.getName())
+                .jsonPath("$.next").isEqualTo(CursorPage.encode(testPublisher.getName()));
+    }
+
+    @Test
+    public void SubscribePublisher_ReturnSubscribedFlag() {
+        when(publisherService.subscribe(testPublisher.getName(), "test@email.com"))
+                .thenReturn(Mono.just(true));
+
+        webTestClient.patch().uri("/pet-proj/api/publisher/{name}/subscribe?email=test@email.com", testPublisher.getName())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.subscribed").isEqualTo(true);
+    }
+
+    @Test
+    public void SubscribePublisher_ReturnBadRequest_IfEmailNotPresent() {
+        webTestClient.patch().uri("/pet-proj/api/publisher/{name}/subscribe", testPublisher.getName())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(publisherService);
+    }
+
+    @Test
+    public void Delete_ReturnDeletedFlag_IfPublisherExists() {
+        when(publisherService.delete(testPublisher.getName()))
+                .thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/pet-proj/api/publisher/{name}", testPublisher.getName())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.deleted").isEqualTo(true);
+    }
+
+}
@@ -0,0 +1,145 @@
+package guzev.petproj.pl.controllers.reactive;
+
+import guzev.petproj.bl.pagination.CursorPage;
+import guzev.petproj.bl.services.reactive.ReactiveSubscriberService;
+import guzev.petproj.dao.entities.Subscriber;
+import guzev.petproj.pl.exceptions.ReactiveExceptionResponseHandler;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveSubscriberControllerTests {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private ReactiveSubscriberService subscriberService;
+
+    @InjectMocks
+    private ReactiveSubscriberController subscriberController;
+
+    private Subscriber testSubscriber;
+
+    //controller is bound to an application context that resolves @Value from environment
+    @BeforeAll
+    public static void setupEnvironment() {
+        System.setProperty("page.result.size", "10");
+    }
+
+    @AfterAll
+    public static void cleanupEnvironment() {
+        System.clearProperty("page.result.size");
+    }
+
+    @BeforeEach
+    public void setup() {
+        testSubscriber = new Subscriber("test@email.com", "test-user");
+        webTestClient = WebTestClient.bindToController(subscriberController)
+                .controllerAdvice(new ReactiveExceptionResponseHandler())
+                .build();
+    }
+
+    @Test
+    public void CreateSubscriber_ReturnCreatedSubscriber_IfRequestIsOk() {
+        when(subscriberService.create(testSubscriber))
+                .thenReturn(Mono.just(testSubscriber));
+
+        webTestClient.post().uri("/pet-proj/api/subscriber")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testSubscriber)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Subscriber.class).isEqualTo(testSubscriber);
+    }
+
+    @Test
+    public void CreateSubscriber_ReturnBadRequest_IfSubscriberExists() {
+        when(subscriberService.create(testSubscriber))
+                .thenReturn(Mono.error(new DuplicateKeyException("A user with entered email already exists in system.")));
+
+        webTestClient.post().uri("/pet-proj/api/subscriber")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(testSubscriber)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error.message").isEqualTo("A user with entered email already exists in system.")
+                .jsonPath("$.error.status").isEqualTo(400);
+    }
+
+    @Test
+    public void ReadByEmail_ReturnSubscriber_IfSubscriberExists() {
+        when(subscriberService.readByEmail(testSubscriber.getEmail()))
+                .thenReturn(Mono.just(testSubscriber));
+
+        webTestClient.get().uri("/pet-proj/api/subscriber/{email}", testSubscriber.getEmail())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Subscriber.class).isEqualTo(testSubscriber);
+    }
+
+    @Test
+    public void ReadByEmail_ReturnNotFound_IfSubscriberNotExists() {
+        when(subscriberService.readByEmail(testSubscriber.getEmail()))
+                .thenReturn(Mono.error(new NoSuchElementException()));
+
+        webTestClient.get().uri("/pet-proj/api/subscriber/{email}", testSubscriber.getEmail())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error.status").isEqualTo(404);
+    }
+
+    @Test
+    public void Read_ReturnSubscribersList_IfCursorNotPresent() {
+        when(subscriberService.readAll(0, 10))
+                .thenReturn(Flux.just(testSubscriber));
+
+        webTestClient.get().uri("/pet-proj/api/subscriber")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Subscriber.class).isEqualTo(List.of(testSubscriber));
+    }
+
+    @Test
+    public void Read_ReturnCursorPage_IfCursorPresent() {
+        when(subscriberService.readAll("", 1))
+                .thenReturn(Mono.just(new CursorPage<>(List.of(testSubscriber), CursorPage.encode(testSubscriber.getEmail()))));
+
+        webTestClient.get().uri("/pet-proj/api/subscriber?after=&size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].email").isEqualTo(testSubscriber.getEmail())
+                .jsonPath("$.next").isEqualTo(CursorPage.encode(testSubscriber.getEmail()));
+    }
+
+    @Test
+    public void Delete_ReturnDeletedFlag_IfSubscriberExists() {
+        when(subscriberService.delete(testSubscriber.getEmail()))
+                .thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/pet-proj/api/subscriber/{email}", testSubscriber.getEmail())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.deleted").isEqualTo(true);
+    }
+
+}
@@ -2,6 +2,7 @@ package guzev.petproj.pl.exceptions;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import guzev.petproj.bl.pagination.InvalidCursorException;
 import guzev.petproj.pl.controllers.SubscriberController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.EOFException;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.util.HashMap;
 import java.util.Map;
@@ -89,8 +92,39 @@ public class ExceptionResponseHandlerTests {
         assertEquals(400, errorInfo.get("status"));
     }
 
+    @Test
+    public void InvalidCursorException_Handled() throws Exception {
+        setupException(subscriberController, new InvalidCursorException("test-cursor"));
+
+        MvcResult requestResult = mockMvc.perform(get("/pet-proj/api/subscriber")
+                        .param("page", "0").param("size", "5"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        Map<String, Object> errorInfo = fetchErrorInfoFromString(requestResult);
+
+        assertEquals("Invalid page cursor: test-cursor", errorInfo.get("message"));
+        assertEquals(400, errorInfo.get("status"));
+    }
+
+    @Test
+    public void CorruptBodyException_Handled_IfCauseOfUncheckedIOException() throws Exception {
+        setupException(subscriberController, new UncheckedIOException("Cannot read emails",
+                new EOFException("Unexpected end of ZLIB input stream")));
+
+        MvcResult requestResult = mockMvc.perform(get("/pet-proj/api/subscriber")
+                        .param("page", "0").param("size", "5"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        Map<String, Object> errorInfo = fetchErrorInfoFromString(requestResult);
+
+        assertEquals("Cannot read request body: Unexpected end of ZLIB input stream", errorInfo.get("message"));
+        assertEquals(400, errorInfo.get("status"));
+    }
+
     private static void setupException(SubscriberController subscriberController, Throwable exception) {
-        when(subscriberController.read(0, Optional.of(5)))
+        when(subscriberController.read(0, Optional.of(5), null))
                 .thenThrow(exception);
     }
 